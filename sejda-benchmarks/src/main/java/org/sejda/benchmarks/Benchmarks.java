@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.commons.io.FileUtils;
+import org.sejda.impl.sambox.component.SyntheticDocumentGenerator;
+import org.sejda.impl.sambox.component.SyntheticDocumentGenerator.Profile;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Utility methods shared by the benchmarks
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public final class Benchmarks {
+
+    /**
+     * Inputs of increasing size used by the benchmarks, see {@link #input(String)}. Small and medium are test documents
+     * of sejda-core, large is the {@link SyntheticDocumentGenerator#LARGE} synthetic document (10,000 pages, 2,000 form
+     * fields, 4 levels outline).
+     */
+    public static final String SMALL = "pdf/test_file.pdf";
+    public static final String MEDIUM = "pdf/medium_test.pdf";
+    public static final String LARGE = "LARGE";
+
+    private Benchmarks() {
+        // hide
+    }
+
+    /**
+     * @param input
+     *            a classpath resource or the name of a {@link SyntheticDocumentGenerator} profile
+     * @return a temporary file with the given input
+     */
+    public static File input(String input) throws IOException, TaskException {
+        if (input.endsWith(".pdf")) {
+            return copyOf(input);
+        }
+        return synthetic(input);
+    }
+
+    /**
+     * @param resource
+     * @return a temporary copy of the given classpath resource
+     * @throws IOException
+     */
+    public static File copyOf(String resource) throws IOException {
+        File file = File.createTempFile("benchmark", ".pdf");
+        file.deleteOnExit();
+        try (InputStream stream = Benchmarks.class.getClassLoader().getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IOException("Unable to find " + resource);
+            }
+            Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * @param profile
+     *            name of one of the {@link SyntheticDocumentGenerator} profiles
+     * @return a temporary file containing a synthetic document of the given profile, always generated with the same
+     *         seed
+     */
+    public static File synthetic(String profile) throws IOException, TaskException {
+        try {
+            Profile size = (Profile) SyntheticDocumentGenerator.class.getField(profile).get(null);
+            File file = File.createTempFile("synthetic", ".pdf");
+            file.deleteOnExit();
+            return new SyntheticDocumentGenerator(size, 1).generate(file);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unknown synthetic document profile " + profile, e);
+        }
+    }
+
+    public static PDDocument load(File file) throws IOException {
+        return PDFParser.parse(SeekableSources.seekableSourceFrom(file));
+    }
+
+    public static File temporaryDirectory() throws IOException {
+        File directory = Files.createTempDirectory("benchmark").toFile();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    public static void clean(File directory) throws IOException {
+        FileUtils.cleanDirectory(directory);
+    }
+
+    /**
+     * Executes the task the same way the execution service does, without validation and notifications
+     */
+    public static <T extends TaskParameters> void execute(Task<T> task, T parameters) throws TaskException {
+        TaskExecutionContext executionContext = new TaskExecutionContext(task, false);
+        task.before(parameters, executionContext);
+        try {
+            task.execute(parameters);
+        } finally {
+            task.after();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.component.TextWithFont;
+import org.sejda.impl.sambox.util.FontUtils;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+
+/**
+ * Resolution of the fonts needed to display a text, mixing scripts that the Helvetica standard font cannot display,
+ * both on a new document, where fallback fonts have to be loaded, and on a document where fonts are already loaded
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FontUtilsBenchmark {
+
+    // latin, latin and cyrillic, latin and japanese, arabic
+    @Param({ "Chuck Norris", "Chuck Norris \u0427\u0430\u043a \u041d\u043e\u0440\u0440\u0438\u0441",
+            "Chuck Norris \u30c1\u30e3\u30c3\u30af\u30fb\u30ce\u30ea\u30b9",
+            "\u062a\u0634\u0627\u0643 \u0646\u0648\u0631\u064a\u0633" })
+    public String text;
+
+    private PDDocument cold;
+    private PDDocument warm;
+
+    @Setup
+    public void setUp() {
+        warm = new PDDocument();
+        FontUtils.resolveFonts(text, PDType1Font.HELVETICA, warm);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FontUtils.clearLoadedFontCache(warm);
+        warm.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void newDocument() {
+        cold = new PDDocument();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeDocument() throws IOException {
+        FontUtils.clearLoadedFontCache(cold);
+        cold.close();
+    }
+
+    @Benchmark
+    public List<TextWithFont> resolveFontsNewDocument() {
+        return FontUtils.resolveFonts(text, PDType1Font.HELVETICA, cold);
+    }
+
+    @Benchmark
+    public List<TextWithFont> resolveFontsLoadedFonts() {
+        return FontUtils.resolveFonts(text, PDType1Font.HELVETICA, warm);
+    }
+}
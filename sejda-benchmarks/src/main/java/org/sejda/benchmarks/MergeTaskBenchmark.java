@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.MergeTask;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.MergeParameters;
+
+/**
+ * Merge of a number of copies of the same document
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MergeTaskBenchmark {
+
+    @Param({ Benchmarks.SMALL, Benchmarks.MEDIUM, Benchmarks.LARGE })
+    public String input;
+    @Param({ "2", "20" })
+    public int documents;
+
+    private File source;
+    private File output;
+
+    @Setup
+    public void setUp() throws IOException, TaskException {
+        source = Benchmarks.input(input);
+        output = File.createTempFile("merged", ".pdf");
+        output.deleteOnExit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Benchmark
+    public void merge() throws TaskException {
+        MergeParameters parameters = new MergeParameters();
+        for (int i = 0; i < documents; i++) {
+            parameters.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(source)));
+        }
+        parameters.setOutput(new FileTaskOutput(output));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        Benchmarks.execute(new MergeTask(), parameters);
+    }
+}
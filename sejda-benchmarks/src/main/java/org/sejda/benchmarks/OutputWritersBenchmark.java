@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import static org.sejda.core.support.io.model.FileOutput.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.core.support.io.MultipleOutputWriter;
+import org.sejda.core.support.io.OutputWriters;
+import org.sejda.impl.sambox.SplitBySizeTask;
+import org.sejda.model.exception.TaskOutputVisitException;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.task.TaskExecutionContext;
+
+/**
+ * Writing of the temporary outputs of a task to the destination directory
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputWritersBenchmark {
+
+    @Param({ "10", "1000" })
+    public int outputs;
+    @Param({ "10240", "1048576" })
+    public int size;
+
+    private final List<File> buffers = new ArrayList<>();
+    private File destination;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        destination = Benchmarks.temporaryDirectory();
+        content = new byte[size];
+        new Random(42).nextBytes(content);
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() throws IOException {
+        buffers.clear();
+        for (int i = 0; i < outputs; i++) {
+            File buffer = File.createTempFile("buffer", ".pdf");
+            Files.write(buffer.toPath(), content);
+            buffers.add(buffer);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clean() throws IOException {
+        buffers.forEach(File::delete);
+        Benchmarks.clean(destination);
+    }
+
+    @Benchmark
+    public void write() throws TaskOutputVisitException {
+        MultipleOutputWriter writer = OutputWriters.newMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                new TaskExecutionContext(new SplitBySizeTask(), false));
+        for (int i = 0; i < buffers.size(); i++) {
+            writer.addOutput(file(buffers.get(i)).name(i + ".pdf"));
+        }
+        FileOrDirectoryTaskOutput.directory(destination).accept(writer);
+    }
+}
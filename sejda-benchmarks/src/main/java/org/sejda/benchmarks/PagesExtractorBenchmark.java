@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.ExtractPagesTask;
+import org.sejda.impl.sambox.component.PagesExtractor;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Optimization of a document made of all the pages of the input, where unused resources are removed
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PagesExtractorBenchmark {
+
+    @Param({ Benchmarks.SMALL, Benchmarks.MEDIUM, Benchmarks.LARGE })
+    public String input;
+
+    private File source;
+    private PDDocument document;
+    private PagesExtractor extractor;
+
+    @Setup
+    public void setUp() throws IOException, TaskException {
+        source = Benchmarks.input(input);
+    }
+
+    @Setup(Level.Invocation)
+    public void retain() throws IOException, TaskException {
+        document = Benchmarks.load(source);
+        extractor = new PagesExtractor(document);
+        Set<Integer> pages = IntStream.rangeClosed(1, document.getNumberOfPages()).boxed()
+                .collect(Collectors.toSet());
+        extractor.retain(pages, new TaskExecutionContext(new ExtractPagesTask(), false));
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() throws IOException {
+        extractor.close();
+        document.close();
+    }
+
+    @Benchmark
+    public void optimize() {
+        extractor.optimize();
+    }
+}
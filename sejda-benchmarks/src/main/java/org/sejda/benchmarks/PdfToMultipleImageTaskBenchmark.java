@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.PdfToMultipleImageTask;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.parameter.image.PdfToPngParameters;
+
+/**
+ * Rendering of all the pages of a document to PNG images. The rendering time is proportional to the number of pages,
+ * the large synthetic document would only add hours to a run without telling more than the medium one.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfToMultipleImageTaskBenchmark {
+
+    @Param({ Benchmarks.SMALL, Benchmarks.MEDIUM })
+    public String input;
+    @Param({ "72", "150" })
+    public int dpi;
+    @Param({ "COLOR_RGB", "GRAY_SCALE" })
+    public ImageColorType colorType;
+
+    private File source;
+    private File output;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = Benchmarks.copyOf(input);
+        output = Benchmarks.temporaryDirectory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        Benchmarks.clean(output);
+    }
+
+    @Benchmark
+    public void render() throws TaskException {
+        PdfToPngParameters parameters = new PdfToPngParameters(colorType);
+        parameters.setResolutionInDpi(dpi);
+        parameters.addSource(PdfFileSource.newInstanceNoPassword(source));
+        parameters.setOutput(FileOrDirectoryTaskOutput.directory(output));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        Benchmarks.execute(new PdfToMultipleImageTask<>(), parameters);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.SplitBySizeTask;
+import org.sejda.impl.sambox.component.split.SizePdfSplitter;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.parameter.SplitBySizeParameters;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Split by size of a document, the size predictor saves every page to estimate the size of the output
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SizePdfSplitterBenchmark {
+
+    @Param({ Benchmarks.SMALL, Benchmarks.MEDIUM, Benchmarks.LARGE })
+    public String input;
+    @Param({ "10000", "100000" })
+    public long size;
+    @Param({ "false", "true" })
+    public boolean optimize;
+
+    private File source;
+    private PDDocument document;
+    private File output;
+
+    @Setup
+    public void setUp() throws IOException, TaskException {
+        source = Benchmarks.input(input);
+        document = Benchmarks.load(source);
+        output = Benchmarks.temporaryDirectory();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        document.close();
+        Benchmarks.clean(output);
+    }
+
+    @Benchmark
+    public void split() throws TaskException {
+        SplitBySizeParameters parameters = new SplitBySizeParameters(size);
+        parameters.setOutput(FileOrDirectoryTaskOutput.directory(output));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        new SizePdfSplitter(document, parameters, optimize).split(
+                new TaskExecutionContext(new SplitBySizeTask(), false), "[BASENAME]_[FILENUMBER]",
+                PdfFileSource.newInstanceNoPassword(source));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.component.SyntheticDocumentGenerator;
+import org.sejda.model.exception.TaskException;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Opening of large synthetic documents of increasing number of pages. Objects are lazily parsed so pages, outline items
+ * and fields should not be loaded and, when run with the gc profiler ({@code -prof gc}), the normalized allocation rate
+ * should grow sub-linearly with the number of pages.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyntheticDocumentOpenBenchmark {
+
+    @Param({ "5000", "10000", "20000" })
+    public int pages;
+
+    private File source;
+
+    @Setup
+    public void setUp() throws IOException, TaskException {
+        source = File.createTempFile("synthetic", ".pdf");
+        source.deleteOnExit();
+        new SyntheticDocumentGenerator(SyntheticDocumentGenerator.LARGE.withPages(pages), 1).generate(source);
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.delete();
+    }
+
+    @Benchmark
+    public int open() throws IOException {
+        try (PDDocument document = Benchmarks.load(source)) {
+            return document.getNumberOfPages();
+        }
+    }
+}
@@ -27,16 +27,27 @@ import org.slf4j.LoggerFactory;
 public class DefaultTaskWarningsEventListener implements EventListener<TaskExecutionWarningEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultTaskWarningsEventListener.class);
 
-    private List<String> warnings = new ArrayList<>();
+    // tasks are executed and notify their warnings on the calling thread, possibly concurrently when serving
+    private final ThreadLocal<List<String>> warnings = ThreadLocal.withInitial(ArrayList::new);
 
     @Override
     public void onEvent(TaskExecutionWarningEvent event) {
         LOG.warn(event.getWarning());
 
-        warnings.add(event.getWarning());
+        warnings.get().add(event.getWarning());
     }
 
+    /**
+     * @return the warnings notified on the current thread
+     */
     public List<String> getWarnings() {
-        return warnings;
+        return warnings.get();
+    }
+
+    /**
+     * Discards the warnings notified on the current thread
+     */
+    public void clear() {
+        warnings.remove();
     }
 }
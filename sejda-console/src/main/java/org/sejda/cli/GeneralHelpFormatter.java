@@ -55,6 +55,13 @@ public final class GeneralHelpFormatter {
 
         helpMessage.append("Use \"sejda-console <command> -h\" for help regarding a specific command")
                 .append(DOUBLE_LINE_BREAK);
+        helpMessage.append(FormattingUtils.justifyLeft(LINE_WIDTH,
+                "Use \"sejda-console serve [--port <port>] [--threads <threads>]\" to keep the console running and "
+                        + "execute the commands read from the standard input, or from the given local port, one "
+                        + "per line. Use \"sejda-console client --port <port> <command> ...\" to execute a "
+                        + "command through a running console. Use \"sejda-console batch --file <file> "
+                        + "[--threads <threads>]\" to execute all the commands in a file, one per line."))
+                .append(DOUBLE_LINE_BREAK);
 
         return helpMessage.toString();
     }
@@ -19,9 +19,16 @@
  */
 package org.sejda.cli;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.cli.exception.ConsoleException;
+import org.sejda.cli.exception.DefaultUncaughtExceptionHandler;
 import org.sejda.core.service.DefaultTaskExecutionService;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
@@ -33,6 +40,13 @@ import org.slf4j.bridge.SLF4JBridgeHandler;
  */
 public final class Main {
 
+    private static final String SERVE = "serve";
+    private static final String CLIENT = "client";
+    private static final String BATCH = "batch";
+    private static final String FILE = "--file";
+    private static final String PORT = "--port";
+    private static final String THREADS = "--threads";
+
     private Main() {
         // don't instantiate
     }
@@ -47,7 +61,80 @@ public final class Main {
         Map<CustomizableProps, String> customs = new HashMap<>();
         customs.put(CustomizableProps.APP_NAME, "Sejda Console");
         customs.put(CustomizableProps.LICENSE_PATH, "/SEJDA_LICENSE.txt");
-        new SejdaConsole(args, getTaskExecutionAdapter(), customs).execute();
+        if (args.length > 0 && SERVE.equals(args[0])) {
+            serve(ArrayUtils.subarray(args, 1, args.length), customs);
+        } else if (args.length > 0 && BATCH.equals(args[0])) {
+            Thread.setDefaultUncaughtExceptionHandler(new DefaultUncaughtExceptionHandler());
+            batch(ArrayUtils.subarray(args, 1, args.length));
+        } else if (args.length > 0 && CLIENT.equals(args[0])) {
+            Thread.setDefaultUncaughtExceptionHandler(new DefaultUncaughtExceptionHandler());
+            String[] arguments = ArrayUtils.subarray(args, 1, args.length);
+            int port = intOption(arguments, PORT, -1);
+            if (port < 0) {
+                throw new ArgumentValidationException("Option '" + PORT + "' is required");
+            }
+            new SejdaConsoleClient(port).execute(withoutOption(arguments, PORT));
+        } else {
+            new SejdaConsole(args, getTaskExecutionAdapter(), customs).execute();
+        }
+    }
+
+    /**
+     * Keeps the console running, executing the commands received from the given port or from the standard input if no
+     * port is specified
+     */
+    private static void serve(String[] arguments, Map<CustomizableProps, String> customs) {
+        int threads = intOption(arguments, THREADS, Runtime.getRuntime().availableProcessors());
+        int port = intOption(arguments, PORT, -1);
+        try (SejdaConsoleServer server = new SejdaConsoleServer(getTaskExecutionAdapter(), customs, threads)) {
+            if (port >= 0) {
+                server.listen(port);
+                Thread.currentThread().join();
+            } else {
+                server.serve(System.in, System.out);
+            }
+        } catch (IOException e) {
+            throw new ConsoleException("An error occurred while serving the commands", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executes all the commands in the given file
+     */
+    private static void batch(String[] arguments) {
+        int index = Arrays.asList(arguments).indexOf(FILE);
+        if (index < 0 || index + 1 >= arguments.length) {
+            throw new ArgumentValidationException("Option '" + FILE + "' is required");
+        }
+        int threads = intOption(arguments, THREADS, Runtime.getRuntime().availableProcessors());
+        try {
+            int failed = new SejdaConsoleBatch(getTaskExecutionAdapter(), threads)
+                    .execute(Paths.get(arguments[index + 1]), System.out);
+            if (failed > 0) {
+                throw new ConsoleException(failed + " commands failed");
+            }
+        } catch (IOException e) {
+            throw new ConsoleException("Unable to execute the commands in " + arguments[index + 1], e);
+        }
+    }
+
+    private static int intOption(String[] arguments, String option, int defaultValue) {
+        int index = Arrays.asList(arguments).indexOf(option);
+        if (index < 0) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(arguments[index + 1]);
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new ArgumentValidationException("Option '" + option + "' requires a number");
+        }
+    }
+
+    private static String[] withoutOption(String[] arguments, String option) {
+        int index = Arrays.asList(arguments).indexOf(option);
+        return ArrayUtils.removeAll(arguments, index, index + 1);
     }
 
     private static TaskExecutionAdapter getTaskExecutionAdapter() {
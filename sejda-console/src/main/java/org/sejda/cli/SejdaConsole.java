@@ -26,9 +26,7 @@ import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.commons.lang3.StringUtils;
 import org.sejda.cli.command.CliCommand;
-import org.sejda.cli.exception.ArgumentValidationException;
 import org.sejda.cli.exception.DefaultUncaughtExceptionHandler;
 import org.sejda.cli.exception.ExceptionUtils;
 import org.sejda.core.Sejda;
@@ -87,7 +85,7 @@ public class SejdaConsole {
             if (isCommandHelpRequested()) {
                 printCommandHelp(command);
             } else {
-                validateNoDuplicateCommandArguments();
+                arguments.validateNoDuplicateCommandArguments();
                 try {
                     executeCommand(command);
                 } finally {
@@ -103,22 +101,6 @@ public class SejdaConsole {
 
     }
 
-    /**
-     * throws an exception if there are duplicate option:value pairs specified, that would override each other silently otherwise
-     * 
-     */
-    private void validateNoDuplicateCommandArguments() {
-        Map<String, Object> uniqueArguments = new HashMap<>();
-        for (final String eachArgument : arguments.getCommandArguments()) {
-            if (uniqueArguments.containsKey(eachArgument) && StringUtils.startsWith(eachArgument, "-")) {
-                throw new ArgumentValidationException("Option '" + eachArgument
-                        + "' is specified twice. Please note that the correct way to specify a list of values for an option is to repeat the values after the option, without re-stating the option name. Example: --files /tmp/file1.pdf /tmp/files2.pdf");
-            }
-            uniqueArguments.put(eachArgument, eachArgument);
-        }
-
-    }
-
     private void executeCommand(CliCommand command) {
         getTaskExecutionAdapter().execute(command.parseTaskParameters(arguments.getCommandArguments()));
     }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.cli.command.CliCommand;
+import org.sejda.cli.util.CommandLineUtils;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a file of sejda console command lines, one per line, in the same JVM. All the command lines are parsed
+ * before any of them is executed, then the valid ones are executed concurrently on a pool of threads. Blank lines and
+ * lines starting with {@code #} are ignored. For every command a status line is written, in the form
+ * {@code STATUS <n> OK <millis>ms} or {@code STATUS <n> FAILED <reason>} where {@code n} is the one based line
+ * number of the command. The prefix tells status lines apart from the log messages written to the same output.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class SejdaConsoleBatch {
+    private static final Logger LOG = LoggerFactory.getLogger(SejdaConsoleBatch.class);
+
+    private final TaskExecutionAdapter taskExecutionAdapter;
+    private final int threads;
+
+    /**
+     * @param taskExecutionAdapter
+     *            adapter used to execute all the commands
+     * @param threads
+     *            number of commands executed concurrently
+     */
+    public SejdaConsoleBatch(TaskExecutionAdapter taskExecutionAdapter, int threads) {
+        requireNotNullArg(taskExecutionAdapter, "Task execution adapter cannot be null");
+        requireArg(threads > 0, "The number of threads must be a positive number");
+        this.taskExecutionAdapter = taskExecutionAdapter;
+        this.threads = threads;
+    }
+
+    /**
+     * Executes the commands in the given file writing the status of every command to the given output
+     *
+     * @param commands
+     * @param output
+     * @return the number of commands that failed, either because they are not valid or because their execution failed
+     * @throws IOException
+     *             if the commands file cannot be read
+     */
+    public int execute(Path commands, OutputStream output) throws IOException {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        List<String> lines = Files.readAllLines(commands, StandardCharsets.UTF_8);
+        List<BatchCommand> parsed = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (StringUtils.isNotBlank(line) && !line.startsWith("#")) {
+                BatchCommand command = new BatchCommand(i + 1, line);
+                if (command.isValid()) {
+                    parsed.add(command);
+                } else {
+                    failed++;
+                    reply(writer, command);
+                }
+            }
+        }
+        LOG.debug("Parsed {} valid commands out of {}", parsed.size(), parsed.size() + failed);
+
+        long start = System.nanoTime();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "sejda-console-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<BatchCommand>> results = new ArrayList<>();
+            for (BatchCommand command : parsed) {
+                results.add(executor.submit(() -> {
+                    command.execute(taskExecutionAdapter);
+                    reply(writer, command);
+                    return command;
+                }));
+            }
+            for (Future<BatchCommand> result : results) {
+                if (!result.get().isSuccessful()) {
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while executing the commands", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unexpected error executing the commands", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        LOG.info("Executed {} commands in {}ms, {} failed", parsed.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed);
+        return failed;
+    }
+
+    private static void reply(PrintWriter writer, BatchCommand command) {
+        synchronized (writer) {
+            if (command.isSuccessful()) {
+                writer.println(StatusLines.ok(command.line, command.millis + "ms"));
+            } else {
+                writer.println(StatusLines.failed(command.line, command.failure));
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * A command line of the batch and its parsed parameters
+     */
+    private static class BatchCommand {
+        private final int line;
+        private TaskParameters parameters;
+        private String failure;
+        private long millis;
+
+        BatchCommand(int line, String commandLine) {
+            this.line = line;
+            try {
+                RawArguments arguments = new RawArguments(CommandLineUtils.translateCommandline(commandLine));
+                CliCommand command = arguments.getCliCommand();
+                if (isNull(command) || arguments.isHelpRequest() || arguments.isEmptyCommandArguments()) {
+                    failure = "Not a command: " + commandLine;
+                } else {
+                    arguments.validateNoDuplicateCommandArguments();
+                    parameters = command.parseTaskParameters(arguments.getCommandArguments());
+                }
+            } catch (RuntimeException e) {
+                failure = StatusLines.failureOf(e);
+            }
+        }
+
+        boolean isValid() {
+            return nonNull(parameters);
+        }
+
+        boolean isSuccessful() {
+            return isNull(failure);
+        }
+
+        void execute(TaskExecutionAdapter adapter) {
+            long start = System.nanoTime();
+            try {
+                adapter.execute(parameters);
+            } catch (RuntimeException e) {
+                failure = StatusLines.failureOf(e);
+            }
+            millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.util.Objects.isNull;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.cli.StatusLines.Status;
+import org.sejda.cli.exception.ConsoleException;
+
+/**
+ * Thin client sending a command line to a {@link SejdaConsoleServer} listening on the loopback address and waiting for
+ * its completion. The working directory of the client is sent before the command, so that relative paths are resolved
+ * by the server as they would be by a console running in the client directory.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class SejdaConsoleClient {
+
+    private final int port;
+    private final Path workingDirectory;
+
+    public SejdaConsoleClient(int port) {
+        this(port, Paths.get(""));
+    }
+
+    /**
+     * @param port
+     * @param workingDirectory
+     *            directory relative paths in the command line are resolved against
+     */
+    public SejdaConsoleClient(int port, Path workingDirectory) {
+        requireNotNullArg(workingDirectory, "Working directory cannot be null");
+        this.port = port;
+        this.workingDirectory = workingDirectory.toAbsolutePath();
+    }
+
+    /**
+     * Sends the command to the server and waits for it to complete
+     *
+     * @param arguments
+     *            the command line arguments
+     * @throws ConsoleException
+     *             if the server cannot be reached or the command failed
+     */
+    public void execute(String[] arguments) {
+        String commandLine = Arrays.stream(arguments).map(SejdaConsoleClient::quote).collect(Collectors.joining(" "));
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            PrintWriter writer = new PrintWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            writer.println("cd " + quote(workingDirectory.toString()));
+            writer.println(commandLine);
+            writer.flush();
+            socket.shutdownOutput();
+            // the working directory status comes first, the command is not executed if it failed
+            for (int i = 0; i < 2; i++) {
+                Status status = Status.parse(reader.readLine());
+                if (isNull(status)) {
+                    throw new ConsoleException("No response from the server");
+                }
+                if (!status.ok) {
+                    throw new ConsoleException(StringUtils.defaultIfBlank(status.details, "Command failed"));
+                }
+            }
+        } catch (IOException e) {
+            throw new ConsoleException("Unable to reach the console server on port " + port, e);
+        }
+    }
+
+    /**
+     * Quotes the argument so that the server tokenizes it back as a single argument. The server command line syntax has
+     * no escape character, arguments containing both single and double quotes or line breaks cannot be sent.
+     */
+    private static String quote(String argument) {
+        if (StringUtils.containsAny(argument, '\n', '\r')) {
+            throw new ConsoleException("Arguments containing line breaks cannot be sent to the console server");
+        }
+        if (argument.contains("\"")) {
+            if (argument.contains("'")) {
+                throw new ConsoleException(
+                        "Arguments containing both single and double quotes cannot be sent to the console server: "
+                                + argument);
+            }
+            return "'" + argument + "'";
+        }
+        if (argument.isEmpty() || StringUtils.containsAny(argument, ' ', '\t', '\'')) {
+            return "\"" + argument + "\"";
+        }
+        return argument;
+    }
+}
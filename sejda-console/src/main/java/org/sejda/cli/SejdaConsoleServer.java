@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.cli.exception.ConsoleException;
+import org.sejda.cli.util.CommandLineUtils;
+import org.sejda.conversion.WorkingDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A resident sejda console that executes command lines, one per line, received from an input stream or from
+ * connections to a local socket. Commands are executed concurrently on a pool of threads sharing the same
+ * {@link TaskExecutionAdapter}, sparing the JVM startup and the warm up for every command. For every command a status
+ * line is written back, in the form {@code STATUS <n> OK} or {@code STATUS <n> FAILED <reason>} where {@code n} is the
+ * one based index of the command line in the stream it was read from. Since commands complete concurrently, status
+ * lines are not necessarily in the order of the commands.
+ * <p>
+ * Relative paths are resolved against the working directory of the server unless a {@code cd <directory>} line, with
+ * an absolute directory, sets a different one for the commands that follow it in the same stream. Clients running in a
+ * different directory send their working directory this way. If the directory is not valid, the commands that follow
+ * fail until a valid one is set.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class SejdaConsoleServer implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(SejdaConsoleServer.class);
+
+    private static final String CD = "cd ";
+
+    private final TaskExecutionAdapter taskExecutionAdapter;
+    private final Map<CustomizableProps, String> customs;
+    private final ExecutorService executor;
+    private ServerSocket serverSocket;
+
+    /**
+     * @param taskExecutionAdapter
+     *            adapter used to execute all the commands
+     * @param customs
+     * @param threads
+     *            number of commands executed concurrently
+     */
+    public SejdaConsoleServer(TaskExecutionAdapter taskExecutionAdapter, Map<CustomizableProps, String> customs,
+            int threads) {
+        requireNotNullArg(taskExecutionAdapter, "Task execution adapter cannot be null");
+        requireArg(threads > 0, "The number of threads must be a positive number");
+        this.taskExecutionAdapter = taskExecutionAdapter;
+        this.customs = ofNullable(customs).map(HashMap::new).orElseGet(HashMap::new);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "sejda-console-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executes the command lines read from the given input until the end of the stream is reached, writing the status
+     * of every command to the given output. It returns once all the commands are completed, streams are not closed.
+     *
+     * @param input
+     * @param output
+     * @throws IOException
+     */
+    public void serve(InputStream input, OutputStream output) throws IOException {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<Future<?>> pending = new ArrayList<>();
+        try {
+            int index = 0;
+            Path workingDirectory = null;
+            String invalidDirectory = null;
+            String line;
+            while (nonNull(line = reader.readLine())) {
+                index++;
+                if (StringUtils.isNotBlank(line)) {
+                    String commandLine = line.trim();
+                    int commandIndex = index;
+                    if (commandLine.startsWith(CD)) {
+                        try {
+                            workingDirectory = workingDirectory(commandLine.substring(CD.length()));
+                            invalidDirectory = null;
+                            reply(writer, commandIndex, null);
+                        } catch (ConsoleException e) {
+                            invalidDirectory = StatusLines.failureOf(e);
+                            reply(writer, commandIndex, invalidDirectory);
+                        }
+                    } else if (nonNull(invalidDirectory)) {
+                        // resolving paths against a directory different from the requested one is not an option
+                        reply(writer, commandIndex, invalidDirectory);
+                    } else {
+                        Path directory = workingDirectory;
+                        pending.add(
+                                executor.submit(() -> reply(writer, commandIndex, execute(commandLine, directory))));
+                    }
+                }
+            }
+        } finally {
+            awaitAll(pending);
+        }
+    }
+
+    /**
+     * Starts listening for connections on the given port of the loopback address. Command lines received by every
+     * connection are served as in {@link #serve(InputStream, OutputStream)} and the status lines are written back to
+     * the same connection.
+     *
+     * @param port
+     *            the port, 0 to use an ephemeral one
+     * @return the port the server is listening to
+     * @throws IOException
+     */
+    public synchronized int listen(int port) throws IOException {
+        requireArg(serverSocket == null, "The server is already listening");
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        ServerSocket current = serverSocket;
+        Thread acceptor = new Thread(() -> accept(current), "sejda-console-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        LOG.info("Listening for commands on {}", current.getLocalSocketAddress());
+        return current.getLocalPort();
+    }
+
+    private void accept(ServerSocket current) {
+        while (!current.isClosed()) {
+            try {
+                Socket connection = current.accept();
+                Thread handler = new Thread(() -> handle(connection), "sejda-console-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!current.isClosed()) {
+                    LOG.warn("Unable to accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket connection) {
+        try (Socket socket = connection) {
+            serve(socket.getInputStream(), socket.getOutputStream());
+        } catch (IOException e) {
+            LOG.warn("An error occurred serving a connection", e);
+        }
+    }
+
+    private static Path workingDirectory(String argument) {
+        String[] tokens = CommandLineUtils.translateCommandline(argument);
+        if (tokens.length != 1) {
+            throw new ConsoleException("A single working directory is expected: " + argument);
+        }
+        Path directory = Paths.get(tokens[0]);
+        if (!directory.isAbsolute() || !Files.isDirectory(directory)) {
+            throw new ConsoleException("The working directory must be an absolute path to a directory: " + tokens[0]);
+        }
+        return directory;
+    }
+
+    /**
+     * @param commandLine
+     * @param workingDirectory
+     *            directory relative paths are resolved against, null for the working directory of the server
+     * @return null if the command completed successfully, the failure reason otherwise
+     */
+    private String execute(String commandLine, Path workingDirectory) {
+        WorkingDirectory.set(workingDirectory);
+        try {
+            new SejdaConsole(CommandLineUtils.translateCommandline(commandLine), taskExecutionAdapter, customs)
+                    .execute();
+            return null;
+        } catch (RuntimeException e) {
+            return StatusLines.failureOf(e);
+        } finally {
+            WorkingDirectory.clear();
+        }
+    }
+
+    private static void reply(PrintWriter writer, int index, String failure) {
+        synchronized (writer) {
+            if (nonNull(failure)) {
+                writer.println(StatusLines.failed(index, failure));
+            } else {
+                writer.println(StatusLines.ok(index));
+            }
+            writer.flush();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                LOG.error("Unexpected error executing a command", e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        executor.shutdownNow();
+        if (nonNull(serverSocket)) {
+            serverSocket.close();
+        }
+    }
+}
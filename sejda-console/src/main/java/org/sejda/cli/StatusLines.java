@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.util.Objects.nonNull;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+/**
+ * Status lines written by the console server and the batch for every command. Status lines start with
+ * {@value #PREFIX}, so that they can be told apart from the log messages when they are written to the same output, and
+ * are in the form {@code STATUS <n> OK [details]} or {@code STATUS <n> FAILED <reason>}, where {@code n} is the one
+ * based index of the command.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+final class StatusLines {
+
+    static final String PREFIX = "STATUS";
+    static final String OK = "OK";
+    static final String FAILED = "FAILED";
+    private static final Pattern STATUS = Pattern.compile(PREFIX + " (\\d+) (" + OK + "|" + FAILED + ")(?: (.*))?");
+
+    private StatusLines() {
+        // hide
+    }
+
+    static String ok(int index) {
+        return PREFIX + " " + index + " " + OK;
+    }
+
+    static String ok(int index, String details) {
+        return ok(index) + " " + details;
+    }
+
+    static String failed(int index, String reason) {
+        return PREFIX + " " + index + " " + FAILED + " " + reason;
+    }
+
+    /**
+     * @return the failure reason to report in a status line for the given exception, on a single line
+     */
+    static String failureOf(RuntimeException e) {
+        return StringUtils.defaultIfBlank(StringUtils.normalizeSpace(e.getMessage()), ExceptionUtils.getMessage(e));
+    }
+
+    /**
+     * A parsed status line
+     */
+    static class Status {
+        final int index;
+        final boolean ok;
+        final String details;
+
+        private Status(int index, boolean ok, String details) {
+            this.index = index;
+            this.ok = ok;
+            this.details = StringUtils.defaultString(details);
+        }
+
+        /**
+         * @return the parsed status or null if the line is not a status line
+         */
+        static Status parse(String line) {
+            if (nonNull(line)) {
+                Matcher matcher = STATUS.matcher(line);
+                if (matcher.matches()) {
+                    return new Status(Integer.parseInt(matcher.group(1)), OK.equals(matcher.group(2)),
+                            matcher.group(3));
+                }
+            }
+            return null;
+        }
+    }
+}
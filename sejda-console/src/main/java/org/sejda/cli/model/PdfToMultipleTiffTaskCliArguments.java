@@ -36,4 +36,7 @@ public interface PdfToMultipleTiffTaskCliArguments extends CliArgumentsWithImage
 
     @Option(shortName = "x", description = "image compression type: {none, ccitt_group_3_1d, ccitt_group_3_2d, ccitt_group_4, lzw, jpeg_ttn2, packbits, deflate, zlib}. Default is 'none' (optional)", defaultValue = "none")
     TiffCompressionTypeAdapter getCompressionType();
+
+    @Option(shortName = "l", description = "deflate compression level used with deflate and zlib compression types, between 1 (fastest) and 9 (smallest files, slowest). Default is the image writer default. (optional)", defaultValue = "-1")
+    Integer getCompressionLevel();
 }
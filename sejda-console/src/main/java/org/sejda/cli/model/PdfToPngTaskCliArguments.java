@@ -19,6 +19,7 @@
 package org.sejda.cli.model;
 
 import com.lexicalscope.jewel.cli.CommandLineInterface;
+import com.lexicalscope.jewel.cli.Option;
 
 /**
  * CLI interface for the PdfToPng task
@@ -29,5 +30,6 @@ import com.lexicalscope.jewel.cli.CommandLineInterface;
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " pdftopng")
 public interface PdfToPngTaskCliArguments extends CliArgumentsWithImageAndDirectoryOutput,
         CliArgumentsWithPrefixableOutput, MultiplePdfSourceTaskCliArguments {
-    // nothing
+    @Option(shortName = "l", description = "deflate compression level, between 0 (no compression, fastest) and 9 (smallest files, slowest). Default is the image writer default. Requires Java 9 or later, ignored with a warning on Java 8. (optional)", defaultValue = "-1")
+    Integer getCompressionLevel();
 }
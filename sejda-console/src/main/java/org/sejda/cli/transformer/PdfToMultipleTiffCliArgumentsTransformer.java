@@ -43,6 +43,7 @@ public class PdfToMultipleTiffCliArgumentsTransformer extends BaseCliArgumentsTr
                 .getEnumValue());
 
         parameters.setCompressionType(taskCliArguments.getCompressionType().getEnumValue());
+        parameters.setCompressionLevel(taskCliArguments.getCompressionLevel());
 
         populateSourceParameters(parameters, taskCliArguments);
         populateAbstractMultipleImageParameters(parameters, taskCliArguments);
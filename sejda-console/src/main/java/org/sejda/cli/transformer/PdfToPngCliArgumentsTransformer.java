@@ -41,6 +41,7 @@ public class PdfToPngCliArgumentsTransformer extends BaseCliArgumentsTransformer
         populateSourceParameters(parameters, taskCliArguments);
         populateAbstractMultipleImageParameters(parameters, taskCliArguments);
         populateOutputPrefix(parameters, taskCliArguments);
+        parameters.setCompressionLevel(taskCliArguments.getCompressionLevel());
 
         if (taskCliArguments.isPageSelection()) {
             parameters.addAllPageRanges(taskCliArguments.getPageSelection().getPageRangeSet());
@@ -43,6 +43,7 @@ public class PdfToSingleTiffCliArgumentsTransformer extends BaseCliArgumentsTran
                 .getEnumValue());
 
         parameters.setCompressionType(taskCliArguments.getCompressionType().getEnumValue());
+        parameters.setCompressionLevel(taskCliArguments.getCompressionLevel());
 
         populateSourceParameters(parameters, taskCliArguments);
         populateAbstractSingleImageParameters(parameters, taskCliArguments);
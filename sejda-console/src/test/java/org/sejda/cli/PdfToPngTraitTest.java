@@ -65,4 +65,12 @@ public class PdfToPngTraitTest extends AbstractTaskTraitTest {
         assertContainsAll(parameters.getPageSelection(), Arrays.asList(new PageRange(3, 3), new PageRange(5, 5),
                 new PageRange(8, 10), new PageRange(2, 2), new PageRange(9, 9), new PageRange(30)));
     }
+
+    @Test
+    public void compressionLevel() {
+        PdfToPngParameters defaults = defaultCommandLine().invokeSejdaConsole();
+        assertThat(defaults.getCompressionLevel(), is(-1));
+        PdfToPngParameters result = defaultCommandLine().with("-l", "1").invokeSejdaConsole();
+        assertThat(result.getCompressionLevel(), is(1));
+    }
 }
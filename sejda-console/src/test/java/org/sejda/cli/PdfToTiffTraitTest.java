@@ -64,4 +64,17 @@ public class PdfToTiffTraitTest extends AbstractTaskTraitTest {
         assertThat(result.getCompressionType(), is(TiffCompressionType.JPEG_TTN2));
     }
 
+    @Test
+    public void compressionLevel_default() {
+        PdfToTiffParameters result = defaultCommandLine().invokeSejdaConsole();
+        assertThat(result.getCompressionLevel(), is(-1));
+    }
+
+    @Test
+    public void compressionLevel() {
+        PdfToTiffParameters result = defaultCommandLine().with("--compressionType", "deflate")
+                .with("--compressionLevel", "9").invokeSejdaConsole();
+        assertThat(result.getCompressionLevel(), is(9));
+    }
+
 }
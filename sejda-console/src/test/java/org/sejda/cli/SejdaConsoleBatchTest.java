@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.parameter.RotateParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SejdaConsoleBatchTest extends AbstractTestSuite {
+
+    private static final String MERGE = "merge -f ./inputs/input.pdf ./inputs/second_input.pdf "
+            + "-o ./outputs/fileOutput.pdf";
+    private static final String ROTATE = "rotate -f ./inputs/input.pdf -o ./outputs -r 90 -m all";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private TaskExecutionService service;
+
+    @Before
+    public void setUp() {
+        createTestPdfFile("./inputs/input.pdf");
+        createTestPdfFile("./inputs/second_input.pdf");
+        createTestFolder("./outputs");
+        service = mock(TaskExecutionService.class);
+    }
+
+    @Test
+    public void execute() throws IOException {
+        Path commands = folder.newFile().toPath();
+        Files.write(commands, Arrays.asList("# nightly", MERGE, "", "merge --chuck norris", ROTATE, "chuck"),
+                StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int failed = new SejdaConsoleBatch(new DefaultTaskExecutionAdapter(service), 2).execute(commands, out);
+        List<String> status = Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+        assertEquals(2, failed);
+        assertThat(status.size(), is(4));
+        assertThat(status, hasItem(startsWith("STATUS 2 OK")));
+        assertThat(status, hasItem(startsWith("STATUS 4 FAILED")));
+        assertThat(status, hasItem(startsWith("STATUS 5 OK")));
+        assertThat(status, hasItem(startsWith("STATUS 6 FAILED")));
+        verify(service).execute(isA(MergeParameters.class));
+        verify(service).execute(isA(RotateParameters.class));
+    }
+
+    @Test
+    public void executionFailure() throws IOException {
+        doThrow(new RuntimeException("Chuck")).when(service).execute(isA(MergeParameters.class));
+        Path commands = folder.newFile().toPath();
+        Files.write(commands, Arrays.asList(MERGE, MERGE, ROTATE), StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int failed = new SejdaConsoleBatch(new DefaultTaskExecutionAdapter(service), 1).execute(commands, out);
+        List<String> status = Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+        assertEquals(2, failed);
+        assertThat(status, hasItem("STATUS 1 FAILED Chuck"));
+        assertThat(status, hasItem(startsWith("STATUS 3 OK")));
+        verify(service, times(2)).execute(isA(MergeParameters.class));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.sejda.cli.exception.ConsoleException;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.parameter.MergeParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SejdaConsoleServerTest extends AbstractTestSuite {
+
+    private static final String MERGE = "merge -f ./inputs/input.pdf ./inputs/second_input.pdf "
+            + "-o ./outputs/fileOutput.pdf";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskExecutionService service;
+    private SejdaConsoleServer victim;
+
+    @Before
+    public void setUp() {
+        createTestPdfFile("./inputs/input.pdf");
+        createTestPdfFile("./inputs/second_input.pdf");
+        createTestFolder("./outputs");
+        service = mock(TaskExecutionService.class);
+        victim = new SejdaConsoleServer(new DefaultTaskExecutionAdapter(service), new HashMap<>(), 2);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        victim.close();
+    }
+
+    @Test
+    public void serve() throws IOException {
+        String commands = MERGE + "\n\n" + "merge --chuck norris\n" + MERGE + "\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        victim.serve(new ByteArrayInputStream(commands.getBytes(StandardCharsets.UTF_8)), out);
+        List<String> status = Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+        assertThat(status.size(), is(3));
+        assertThat(status, hasItem("STATUS 1 OK"));
+        assertThat(status, hasItem(startsWith("STATUS 3 FAILED")));
+        assertThat(status, hasItem("STATUS 4 OK"));
+        verify(service, times(2)).execute(isA(MergeParameters.class));
+    }
+
+    @Test
+    public void client() throws IOException {
+        int port = victim.listen(0);
+        new SejdaConsoleClient(port).execute(MERGE.split(" "));
+        verify(service).execute(isA(MergeParameters.class));
+    }
+
+    @Test
+    public void serveInvalidWorkingDirectory() throws IOException {
+        String commands = "cd ./inputs\n" + MERGE + "\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        victim.serve(new ByteArrayInputStream(commands.getBytes(StandardCharsets.UTF_8)), out);
+        List<String> status = Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+        assertThat(status, hasItem(startsWith("STATUS 1 FAILED")));
+        assertThat(status, hasItem(startsWith("STATUS 2 FAILED")));
+        verify(service, never()).execute(any());
+    }
+
+    @Test
+    public void clientInDifferentDirectory() throws IOException {
+        File directory = folder.newFolder();
+        createTestPdfFile(new File(directory, "input.pdf").getAbsolutePath());
+        createTestPdfFile(new File(directory, "second input.pdf").getAbsolutePath());
+        int port = victim.listen(0);
+        new SejdaConsoleClient(port, directory.toPath())
+                .execute(new String[] { "merge", "-f", "input.pdf", "second input.pdf", "-o", "merged.pdf" });
+        ArgumentCaptor<MergeParameters> parameters = ArgumentCaptor.forClass(MergeParameters.class);
+        verify(service).execute(parameters.capture());
+        assertThat(parameters.getValue().getPdfInputList().get(0).getSource().getSource(),
+                is(new File(directory, "input.pdf")));
+        assertThat(parameters.getValue().getPdfInputList().get(1).getSource().getSource(),
+                is(new File(directory, "second input.pdf")));
+        assertThat(parameters.getValue().getOutput().getDestination(), is(new File(directory, "merged.pdf")));
+    }
+
+    @Test
+    public void clientQuotesArguments() throws IOException {
+        createTestPdfFile("./inputs/it's a test.pdf");
+        createTestPdfFile("./inputs/say \"hi\"\t.pdf");
+        int port = victim.listen(0);
+        new SejdaConsoleClient(port).execute(new String[] { "merge", "-f", "./inputs/it's a test.pdf",
+                "./inputs/say \"hi\"\t.pdf", "-o", "./outputs/fileOutput.pdf" });
+        ArgumentCaptor<MergeParameters> parameters = ArgumentCaptor.forClass(MergeParameters.class);
+        verify(service).execute(parameters.capture());
+        assertThat(parameters.getValue().getPdfInputList().get(0).getSource().getName(), is("it's a test.pdf"));
+        assertThat(parameters.getValue().getPdfInputList().get(1).getSource().getName(), is("say \"hi\"\t.pdf"));
+    }
+
+    @Test(expected = ConsoleException.class)
+    public void clientRejectsArgumentsWithBothQuotes() throws IOException {
+        int port = victim.listen(0);
+        new SejdaConsoleClient(port).execute(new String[] { "merge", "-f", "./inputs/it's \"a\".pdf" });
+    }
+
+    @Test
+    public void clientFailure() throws IOException {
+        int port = victim.listen(0);
+        try {
+            new SejdaConsoleClient(port).execute(new String[] { "merge", "--chuck", "norris" });
+            fail("Exception expected");
+        } catch (ConsoleException e) {
+            assertThat(e.getMessage(), containsString("chuck"));
+        }
+    }
+}
@@ -22,14 +22,13 @@ package org.sejda.conversion;
 import org.sejda.model.output.FileOrDirectoryTaskOutput;
 
 import java.nio.file.Path;
-import java.nio.file.Paths;
 
 public class FileOrDirectoryOutputAdapter {
 
     private final FileOrDirectoryTaskOutput output;
 
     public FileOrDirectoryOutputAdapter(String path) {
-        Path p = Paths.get(path).toAbsolutePath().normalize();
+        Path p = WorkingDirectory.path(path).toAbsolutePath().normalize();
         this.output = new FileOrDirectoryTaskOutput(p.toFile());
     }
 
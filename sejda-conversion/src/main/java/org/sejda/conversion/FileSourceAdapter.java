@@ -18,8 +18,6 @@
  */
 package org.sejda.conversion;
 
-import java.io.File;
-
 import org.sejda.model.input.FileSource;
 
 /**
@@ -33,7 +31,7 @@ public class FileSourceAdapter {
     private FileSource source;
 
     public FileSourceAdapter(String path) {
-        this.source = FileSource.newInstance(new File(path));
+        this.source = FileSource.newInstance(WorkingDirectory.file(path));
     }
 
     public FileSource getSource() {
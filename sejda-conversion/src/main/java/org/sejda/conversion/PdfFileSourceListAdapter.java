@@ -69,7 +69,7 @@ public class PdfFileSourceListAdapter {
     private Pattern pattern = Pattern.compile(".+");
 
     public PdfFileSourceListAdapter(String filePath) {
-        file = new File(filePath);
+        file = WorkingDirectory.file(filePath);
 
         if (!file.exists()) {
             throw new ConversionException("File '" + file.getPath() + "' does not exist");
@@ -25,7 +25,6 @@ import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -45,7 +44,7 @@ public class WildcardsPdfFileSourceAdapter {
 
     public WildcardsPdfFileSourceAdapter(String path) {
         if (getName(path).equalsIgnoreCase("*.pdf")) {
-            Path directory = Paths.get(getFullPath(path)).toAbsolutePath().normalize();
+            Path directory = WorkingDirectory.path(getFullPath(path)).toAbsolutePath().normalize();
 
             if (!Files.isDirectory(directory)) {
                 throw new ConversionException("Path '" + directory.toString() + "' is not an existing directory");
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.conversion;
+
+import static java.util.Objects.isNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Directory relative paths given to the adapters are resolved against. By default it's the working directory of the
+ * JVM, a different one can be set for the current thread, ex. when executing a command received from a client running
+ * in a different directory.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public final class WorkingDirectory {
+
+    private static final ThreadLocal<Path> CURRENT = new ThreadLocal<>();
+
+    private WorkingDirectory() {
+        // hide
+    }
+
+    /**
+     * Sets the directory relative paths are resolved against by the current thread
+     * 
+     * @param directory
+     *            absolute path of the directory, null to use the working directory of the JVM
+     */
+    public static void set(Path directory) {
+        if (isNull(directory)) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(directory);
+        }
+    }
+
+    /**
+     * Restores the working directory of the JVM for the current thread
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @param path
+     * @return a file for the given path, resolved against the directory of the current thread if relative
+     */
+    public static File file(String path) {
+        File file = new File(path);
+        Path directory = CURRENT.get();
+        if (isNull(directory) || file.isAbsolute()) {
+            return file;
+        }
+        return new File(directory.toFile(), path);
+    }
+
+    /**
+     * @param path
+     * @return the given path, resolved against the directory of the current thread if relative
+     */
+    public static Path path(String path) {
+        Path resolved = Paths.get(path);
+        Path directory = CURRENT.get();
+        if (isNull(directory) || resolved.isAbsolute()) {
+            return resolved;
+        }
+        return directory.resolve(resolved);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.conversion;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class WorkingDirectoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        WorkingDirectory.clear();
+    }
+
+    @Test
+    public void defaultsToJvmWorkingDirectory() {
+        assertThat(WorkingDirectory.file("chuck.pdf"), is(new File("chuck.pdf")));
+        assertThat(WorkingDirectory.path("chuck.pdf"), is(Paths.get("chuck.pdf")));
+    }
+
+    @Test
+    public void relativeResolved() throws IOException {
+        File directory = folder.newFolder();
+        WorkingDirectory.set(directory.toPath());
+        assertThat(WorkingDirectory.file("chuck.pdf"), is(new File(directory, "chuck.pdf")));
+        assertThat(WorkingDirectory.path("chuck.pdf"), is(directory.toPath().resolve("chuck.pdf")));
+    }
+
+    @Test
+    public void absoluteUntouched() throws IOException {
+        File file = folder.newFile();
+        WorkingDirectory.set(folder.newFolder().toPath());
+        assertThat(WorkingDirectory.file(file.getAbsolutePath()), is(file.getAbsoluteFile()));
+        assertThat(WorkingDirectory.path(file.getAbsolutePath()), is(file.toPath().toAbsolutePath()));
+    }
+
+    @Test
+    public void relativeOutputAdapter() throws IOException {
+        File directory = folder.newFolder();
+        WorkingDirectory.set(directory.toPath());
+        assertThat(new FileOutputAdapter("chuck.pdf").getFileOutput().getDestination(),
+                is(new File(directory, "chuck.pdf")));
+    }
+}
@@ -31,6 +31,7 @@ import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 import org.sejda.model.notification.event.TaskExecutionStartedEvent;
 import org.sejda.model.notification.event.TaskExecutionWarningEvent;
 import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +81,11 @@ public final class ApplicationEventsNotifier implements Notifier, OngoingNotific
         notifyListeners(new TaskExecutionCompletedEvent(executionTime, taskMetadata));
     }
 
+    @Override
+    public void taskCompleted(long executionTime, TaskMetrics metrics) {
+        notifyListeners(new TaskExecutionCompletedEvent(executionTime, metrics, taskMetadata));
+    }
+
     @Override
     public void taskStarted() {
         notifyListeners(new TaskExecutionStartedEvent(taskMetadata));
@@ -26,11 +26,15 @@ import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEv
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import javax.validation.ConstraintViolation;
 
 import org.sejda.core.context.DefaultSejdaContext;
 import org.sejda.core.context.SejdaContext;
+import org.sejda.core.support.jfr.EventScope;
+import org.sejda.core.support.jfr.FlightRecorderEvents;
+import org.sejda.core.support.util.Cancellation;
 import org.sejda.core.validation.DefaultValidationContext;
 import org.sejda.model.exception.InvalidTaskParametersException;
 import org.sejda.model.exception.TaskException;
@@ -130,7 +134,7 @@ public final class DefaultTaskExecutionService implements TaskExecutionService {
      */
     private void postExecution(TaskExecutionContext context) {
         context.taskEnded();
-        notifyEvent(context.notifiableTaskMetadata()).taskCompleted(context.executionTime());
+        notifyEvent(context.notifiableTaskMetadata()).taskCompleted(context.executionTime(), context.metrics());
     }
 
     /**
@@ -143,14 +147,21 @@ public final class DefaultTaskExecutionService implements TaskExecutionService {
     @SuppressWarnings("unchecked")
     private void actualExecution(TaskParameters parameters, TaskExecutionContext executionContext)
             throws TaskException {
-        try {
-            executionContext.task().before(parameters, executionContext);
-            executionContext.task().execute(parameters);
-        } finally {
+        try (EventScope event = FlightRecorderEvents.taskExecution(executionContext.notifiableTaskMetadata());
+                Cancellation.Scope cancellation = Cancellation.bind(executionContext)) {
             try {
-                executionContext.task().after();
-            } catch (RuntimeException e) {
-                LOG.warn("An unexpected error occurred during the execution of the 'after' phase.", e);
+                executionContext.task().before(parameters, executionContext);
+                executionContext.task().execute(parameters);
+            } catch (CancellationException e) {
+                LOG.debug("Task execution stopped", e);
+                executionContext.assertTaskNotCancelled();
+                throw e;
+            } finally {
+                try {
+                    executionContext.task().after();
+                } catch (RuntimeException e) {
+                    LOG.warn("An unexpected error occurred during the execution of the 'after' phase.", e);
+                }
             }
         }
     }
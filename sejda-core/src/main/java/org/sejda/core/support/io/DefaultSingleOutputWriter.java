@@ -28,6 +28,7 @@ import static org.sejda.model.output.ExistingOutputPolicy.SKIP;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 
 import org.sejda.model.output.DirectoryTaskOutput;
 import org.sejda.model.output.ExistingOutputPolicy;
@@ -69,6 +70,7 @@ class DefaultSingleOutputWriter implements SingleOutputWriter {
         if (isNull(taskOutput)) {
             throw new IOException("No task output set");
         }
+        OutputWriterHelper.tempSpace(Collections.singleton(taskOutput), executionContext);
         moveFile(taskOutput, output.getDestination(), existingOutputPolicy, executionContext);
     }
 
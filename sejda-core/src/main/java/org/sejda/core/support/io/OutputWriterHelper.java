@@ -33,6 +33,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.zip.ZipEntry;
@@ -42,6 +43,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +82,7 @@ final class OutputWriterHelper {
                     String.format("Wrong files map size %d, must be 1 to copy to the selected destination %s",
                             files.size(), outputFile));
         }
+        tempSpace(files.values(), executionContext);
         for (Entry<String, File> entry : files.entrySet()) {
             moveFile(entry.getValue(), outputFile, of(existingOutputPolicy).filter(p -> p != SKIP).orElseGet(() -> {
                 LOG.debug("Cannot use {} output policy for single output, replaced with {}", SKIP, FAIL);
@@ -107,6 +110,7 @@ final class OutputWriterHelper {
         if (!outputDirectory.isDirectory()) {
             throw new IOException(String.format("Wrong output destination %s, must be a directory.", outputDirectory));
         }
+        tempSpace(files.values(), executionContext);
         for (Entry<String, File> entry : files.entrySet()) {
             if (isBlank(entry.getKey())) {
                 throw new IOException(String.format(
@@ -131,18 +135,21 @@ final class OutputWriterHelper {
      */
     static void moveFile(File input, File output, ExistingOutputPolicy existingOutputPolicy,
             TaskExecutionContext executionContext) throws IOException {
+        long length = input.length();
         if (output.exists()) {
             switch (existingOutputPolicy) {
             case OVERWRITE:
                 LOG.debug("Moving {} to {}.", input, output);
                 Files.move(input.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 executionContext.notifiableTaskMetadata().addTaskOutput(output);
+                written(length, executionContext);
                 break;
             case RENAME:
                 File newNamedOutput = findNewNameThatDoesNotExist(output);
                 LOG.debug("Output exists {}, will use new name {}.", output, newNamedOutput);
                 doMoveFile(input, newNamedOutput);
                 executionContext.notifiableTaskMetadata().addTaskOutput(newNamedOutput);
+                written(length, executionContext);
                 break;
             case SKIP:
                 LOG.info("Skipping already existing output file {}", output);
@@ -156,9 +163,26 @@ final class OutputWriterHelper {
             LOG.debug("Moving {} to {}.", input, output);
             doMoveFile(input, output);
             executionContext.notifiableTaskMetadata().addTaskOutput(output);
+            written(length, executionContext);
         }
     }
 
+    /**
+     * Updates the peak of temporary space with the size of the given temporary buffers, waiting to be moved to the
+     * task output
+     * 
+     * @param buffers
+     * @param executionContext
+     */
+    static void tempSpace(Collection<File> buffers, TaskExecutionContext executionContext) {
+        executionContext.metrics().max(TaskMetrics.PEAK_TEMP_SPACE, buffers.stream().mapToLong(File::length).sum());
+    }
+
+    private static void written(long length, TaskExecutionContext executionContext) {
+        executionContext.metrics().increment(TaskMetrics.OUTPUTS);
+        executionContext.metrics().add(TaskMetrics.BYTES_WRITTEN, length);
+    }
+
     private static void doMoveFile(File input, File output) throws IOException {
         try {
             FileUtils.moveFile(input, output);
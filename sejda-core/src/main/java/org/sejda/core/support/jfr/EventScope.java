@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.jfr;
+
+/**
+ * A Java Flight Recorder event that began when it was created and that is committed when closed. Closing it more than
+ * once has no effect.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public interface EventScope extends AutoCloseable {
+
+    /**
+     * An event scope that records nothing, used when Java Flight Recorder is not available
+     */
+    EventScope NOOP = () -> {
+        // nothing
+    };
+
+    @Override
+    void close();
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.jfr;
+
+import static java.util.Objects.isNull;
+
+import java.io.File;
+
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entry point to emit Java Flight Recorder events around task executions and documents I/O, so that latency spikes can
+ * be correlated with specific tasks and documents in continuous recordings. Events are emitted only if the runtime
+ * supports Java Flight Recorder (Java 8u272+ or Java 11+) and they have a negligible cost when not recorded. Events can
+ * be disabled altogether setting the {@value #DISABLED_PROPERTY} system property to true.
+ * <p>
+ * Events carry the identifier of the task executed by the current thread, when there's one.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public final class FlightRecorderEvents {
+    private static final Logger LOG = LoggerFactory.getLogger(FlightRecorderEvents.class);
+
+    public static final String DISABLED_PROPERTY = "sejda.jfr.disabled";
+    static final boolean ENABLED = enabled();
+
+    private static final ThreadLocal<String> CURRENT_TASK = new ThreadLocal<>();
+
+    private FlightRecorderEvents() {
+        // hide
+    }
+
+    private static boolean enabled() {
+        if (Boolean.getBoolean(DISABLED_PROPERTY)) {
+            return false;
+        }
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOG.debug("Java Flight Recorder is not available, events will not be emitted");
+            return false;
+        }
+    }
+
+    /**
+     * Begins the event of a task execution. Until the returned event is closed, the task is the one executed by the
+     * current thread.
+     * 
+     * @param taskMetadata
+     * @return the event
+     */
+    public static EventScope taskExecution(NotifiableTaskMetadata taskMetadata) {
+        if (ENABLED) {
+            String previous = CURRENT_TASK.get();
+            CURRENT_TASK.set(taskMetadata.getTaskIdentifier().toString());
+            EventScope event = JfrEvents.taskExecution(taskMetadata.getQualifiedName());
+            return () -> {
+                event.close();
+                if (isNull(previous)) {
+                    CURRENT_TASK.remove();
+                } else {
+                    CURRENT_TASK.set(previous);
+                }
+            };
+        }
+        return EventScope.NOOP;
+    }
+
+    /**
+     * @return the identifier of the task executed by the current thread or null
+     */
+    public static String currentTaskId() {
+        return CURRENT_TASK.get();
+    }
+
+    /**
+     * Begins the event of a PDF source opening
+     * 
+     * @param source
+     *            name of the source
+     * @param bytes
+     *            size of the source or -1 if unknown
+     * @return the event
+     */
+    public static EventScope sourceOpening(String source, long bytes) {
+        if (ENABLED) {
+            return JfrEvents.sourceOpening(source, bytes);
+        }
+        return EventScope.NOOP;
+    }
+
+    /**
+     * Begins the event of a page import
+     * 
+     * @param page
+     *            number of the page in the destination document
+     * @return the event
+     */
+    public static EventScope pageImport(int page) {
+        if (ENABLED) {
+            return JfrEvents.pageImport(page);
+        }
+        return EventScope.NOOP;
+    }
+
+    /**
+     * Begins the event of a page rendering
+     * 
+     * @param page
+     *            page number
+     * @param dpi
+     * @return the event
+     */
+    public static EventScope pageRendering(int page, int dpi) {
+        if (ENABLED) {
+            return JfrEvents.pageRendering(page, dpi);
+        }
+        return EventScope.NOOP;
+    }
+
+    /**
+     * Begins the event of an OCR of an image
+     * 
+     * @param taskId
+     *            identifier of the task the OCR is for, since OCR can be performed by threads other than the one
+     *            executing the task
+     * @param width
+     *            image width
+     * @param height
+     *            image height
+     * @return the event
+     */
+    public static EventScope ocr(String taskId, int width, int height) {
+        if (ENABLED) {
+            return JfrEvents.ocr(taskId, width, height);
+        }
+        return EventScope.NOOP;
+    }
+
+    /**
+     * Begins the event of a document save, the size of the file is recorded when the event is closed
+     * 
+     * @param file
+     *            the destination
+     * @return the event
+     */
+    public static EventScope documentSave(File file) {
+        if (ENABLED) {
+            return JfrEvents.documentSave(file);
+        }
+        return EventScope.NOOP;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.jfr;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events. This class is loaded only if Java Flight Recorder is available.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+final class JfrEvents {
+
+    private static final String CATEGORY = "Sejda";
+
+    private JfrEvents() {
+        // hide
+    }
+
+    static EventScope taskExecution(String task) {
+        TaskExecutionEvent event = new TaskExecutionEvent();
+        event.task = task;
+        event.begin();
+        return event;
+    }
+
+    static EventScope sourceOpening(String source, long bytes) {
+        SourceOpeningEvent event = new SourceOpeningEvent();
+        event.source = source;
+        event.bytes = bytes;
+        event.begin();
+        return event;
+    }
+
+    static EventScope pageImport(int page) {
+        PageImportEvent event = new PageImportEvent();
+        event.page = page;
+        event.begin();
+        return event;
+    }
+
+    static EventScope pageRendering(int page, int dpi) {
+        PageRenderingEvent event = new PageRenderingEvent();
+        event.page = page;
+        event.dpi = dpi;
+        event.begin();
+        return event;
+    }
+
+    static EventScope ocr(String taskId, int width, int height) {
+        OcrEvent event = new OcrEvent();
+        event.taskId = taskId;
+        event.width = width;
+        event.height = height;
+        event.begin();
+        return event;
+    }
+
+    static EventScope documentSave(File file) {
+        DocumentSaveEvent event = new DocumentSaveEvent();
+        event.file = file;
+        event.begin();
+        return event;
+    }
+
+    abstract static class SejdaEvent extends Event implements EventScope {
+        @Label("Task Id")
+        String taskId = FlightRecorderEvents.currentTaskId();
+        private transient boolean closed = false;
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                end();
+                if (shouldCommit()) {
+                    beforeCommit();
+                    commit();
+                }
+            }
+        }
+
+        /**
+         * Called before the event is committed, to populate fields that are expensive to compute
+         */
+        void beforeCommit() {
+            // nothing
+        }
+    }
+
+    @Name("org.sejda.TaskExecution")
+    @Label("Task Execution")
+    @Category(CATEGORY)
+    static class TaskExecutionEvent extends SejdaEvent {
+        @Label("Task")
+        String task;
+    }
+
+    @Name("org.sejda.SourceOpening")
+    @Label("PDF Source Opening")
+    @Category(CATEGORY)
+    static class SourceOpeningEvent extends SejdaEvent {
+        @Label("Source")
+        String source;
+        @Label("Size")
+        @Description("Size of the source, -1 if unknown")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("org.sejda.PageImport")
+    @Label("Page Import")
+    @Category(CATEGORY)
+    static class PageImportEvent extends SejdaEvent {
+        @Label("Page")
+        @Description("Page number in the destination document")
+        int page;
+    }
+
+    @Name("org.sejda.PageRendering")
+    @Label("Page Rendering")
+    @Category(CATEGORY)
+    static class PageRenderingEvent extends SejdaEvent {
+        @Label("Page")
+        int page;
+        @Label("DPI")
+        int dpi;
+    }
+
+    @Name("org.sejda.Ocr")
+    @Label("OCR")
+    @Category(CATEGORY)
+    static class OcrEvent extends SejdaEvent {
+        @Label("Image Width")
+        int width;
+        @Label("Image Height")
+        int height;
+    }
+
+    @Name("org.sejda.DocumentSave")
+    @Label("Document Save")
+    @Category(CATEGORY)
+    static class DocumentSaveEvent extends SejdaEvent {
+        @Label("File")
+        String path;
+        @Label("Size")
+        @DataAmount
+        long bytes;
+        transient File file;
+
+        @Override
+        void beforeCommit() {
+            path = file.getAbsolutePath();
+            bytes = file.length();
+        }
+    }
+}
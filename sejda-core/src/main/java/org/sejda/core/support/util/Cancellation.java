@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.concurrent.CancellationException;
+
+import org.sejda.model.task.TaskExecutionContext;
+
+/**
+ * Binds the execution context of a task to the threads executing it, so that components that are not handed the
+ * context, like content stream processors, renderers or writers, can stop their long running loops as soon as the task
+ * is cancelled or its deadline has passed. Since those components are typically called by code that cannot throw a
+ * {@link org.sejda.model.exception.TaskCancelledException}, checkpoints throw an unchecked
+ * {@link CancellationException}.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public final class Cancellation {
+
+    private static final ThreadLocal<TaskExecutionContext> CURRENT = new ThreadLocal<>();
+
+    private Cancellation() {
+        // hide
+    }
+
+    /**
+     * Binds the given execution context to the current thread until the returned scope is closed
+     * 
+     * @param executionContext
+     * @return the binding scope
+     */
+    public static Scope bind(TaskExecutionContext executionContext) {
+        TaskExecutionContext previous = CURRENT.get();
+        CURRENT.set(executionContext);
+        return () -> {
+            if (isNull(previous)) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @return the execution context bound to the current thread or null
+     */
+    public static TaskExecutionContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @throws CancellationException
+     *             if the task bound to the current thread has been cancelled or has timed out
+     */
+    public static void checkpoint() {
+        checkpoint(CURRENT.get());
+    }
+
+    /**
+     * @param executionContext
+     *            a possibly null execution context
+     * @throws CancellationException
+     *             if the task of the given context has been cancelled or has timed out
+     */
+    public static void checkpoint(TaskExecutionContext executionContext) {
+        if (nonNull(executionContext) && executionContext.isTaskCancelled()) {
+            throw new CancellationException(executionContext.isTimedOut() ? "Task timed out" : "Task cancelled");
+        }
+    }
+
+    /**
+     * Scope of a binding between an execution context and a thread
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.task.TaskExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility to process a sequence of indexed work items on a pool of worker threads, consuming the results on the calling
+ * thread in the same order of the items. Only a bounded window of items is in flight at any time, so memory is
+ * proportional to the parallelism and not to the number of items. With a parallelism of 1 everything is executed
+ * sequentially on the calling thread.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public final class OrderedParallelExecution {
+    private static final Logger LOG = LoggerFactory.getLogger(OrderedParallelExecution.class);
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+
+    private OrderedParallelExecution() {
+        // hide
+    }
+
+    /**
+     * Work performed on a worker thread for a given item
+     *
+     * @param <T>
+     *            type of the result
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(int item) throws TaskException;
+    }
+
+    /**
+     * Consumer of the work results, called on the calling thread following the items order
+     *
+     * @param <T>
+     *            type of the result
+     */
+    @FunctionalInterface
+    public interface ResultConsumer<T> {
+        void accept(int item, T result) throws TaskException;
+    }
+
+    /**
+     * Executes the work for the items in the range [from, to] using the given parallelism and feeds the results to the
+     * consumer in order. Cancellation of the task is checked before consuming every result and, in case the task is
+     * cancelled, the pending work is interrupted. The execution context is bound to the worker threads, see
+     * {@link Cancellation}.
+     *
+     * @param parallelism
+     *            number of worker threads
+     * @param from
+     *            first item (inclusive)
+     * @param to
+     *            last item (inclusive)
+     * @param work
+     * @param consumer
+     * @param executionContext
+     * @throws TaskException
+     *             the first exception thrown by a work or a consumer
+     */
+    public static <T> void forEach(int parallelism, int from, int to, Work<T> work, ResultConsumer<T> consumer,
+            TaskExecutionContext executionContext) throws TaskException {
+        if (parallelism <= 1 || to <= from) {
+            for (int item = from; item <= to; item++) {
+                executionContext.assertTaskNotCancelled();
+                consumer.accept(item, work.execute(item));
+            }
+            return;
+        }
+        int workers = Math.min(parallelism, to - from + 1);
+        LOG.debug("Executing work items from {} to {} using {} workers", from, to, workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+        try {
+            Deque<Future<T>> inFlight = new ArrayDeque<>();
+            int next = from;
+            for (; next <= to && inFlight.size() < workers * 2; next++) {
+                final int item = next;
+                inFlight.add(executor.submit(() -> execute(work, item, executionContext)));
+            }
+            for (int item = from; item <= to; item++) {
+                executionContext.assertTaskNotCancelled();
+                T result = get(inFlight.poll());
+                if (next <= to) {
+                    final int nextItem = next++;
+                    inFlight.add(executor.submit(() -> execute(work, nextItem, executionContext)));
+                }
+                consumer.accept(item, result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T execute(Work<T> work, int item, TaskExecutionContext executionContext) throws TaskException {
+        try (Cancellation.Scope scope = Cancellation.bind(executionContext)) {
+            return work.execute(item);
+        }
+    }
+
+    private static <T> T get(Future<T> future) throws TaskException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskExecutionException("Interrupted while waiting for a worker", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskException) {
+                throw (TaskException) e.getCause();
+            }
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            }
+            throw new TaskExecutionException(e.getCause());
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final int poolNumber = POOL_NUMBER.getAndIncrement();
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "sejda-worker-" + poolNumber + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
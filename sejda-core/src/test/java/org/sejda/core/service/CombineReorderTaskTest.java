@@ -88,6 +88,33 @@ public abstract class CombineReorderTaskTest extends BaseTaskTest<CombineReorder
         assertPageHasText(outDocument, 10, "11b");
     }
 
+    @Test
+    public void combineAndReorderWithLimitedOpenSources() throws IOException {
+        List<PdfSource<?>> inputs = new ArrayList<PdfSource<?>>();
+        inputs.add(customInputAsFileSource("pdf/multipage-test-a.pdf"));
+        inputs.add(customInputAsFileSource("pdf/multipage-test-b.pdf"));
+        inputs.add(customInputAsFileSource("pdf/test_outline.pdf"));
+        setUpParameters(inputs);
+        parameters.setMaxOpenSources(1);
+        parameters.addPage(0, 1);
+        parameters.addPage(1, 1);
+        parameters.addPage(0, 2);
+        parameters.addPage(1, 2);
+        parameters.addPage(0, 3);
+        parameters.addPage(1, 3);
+        testContext.pdfOutputTo(parameters);
+        execute(parameters);
+        PDDocument outDocument = testContext.assertTaskCompleted();
+        testContext.assertPages(6);
+
+        assertPageHasText(outDocument, 1, "1a");
+        assertPageHasText(outDocument, 2, "1b");
+        assertPageHasText(outDocument, 3, "2a");
+        assertPageHasText(outDocument, 4, "2b");
+        assertPageHasText(outDocument, 5, "3a");
+        assertPageHasText(outDocument, 6, "3b");
+    }
+
     @Test
     public void addingBlankPages() throws IOException {
         setUpParameters(basicInputs());
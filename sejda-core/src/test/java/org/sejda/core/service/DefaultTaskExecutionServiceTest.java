@@ -20,6 +20,9 @@
  */
 package org.sejda.core.service;
 
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -29,6 +32,12 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Matchers;
@@ -39,13 +48,17 @@ import org.sejda.core.TestListenerFactory.TestListenerStart;
 import org.sejda.core.context.DefaultSejdaContext;
 import org.sejda.core.context.SejdaContext;
 import org.sejda.core.notification.context.GlobalNotificationContext;
+import org.sejda.core.notification.context.ThreadLocalNotificationContext;
 import org.sejda.core.support.io.IOUtils;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.exception.TaskTimeoutException;
+import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 import org.sejda.model.output.FileTaskOutput;
 import org.sejda.model.output.SingleTaskOutput;
 import org.sejda.model.parameter.base.TaskParameters;
 import org.sejda.model.pdf.PdfVersion;
+import org.sejda.model.task.CancellationOption;
 import org.sejda.model.task.Task;
 import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.model.task.TestTaskParameter;
@@ -72,6 +85,11 @@ public class DefaultTaskExecutionServiceTest {
         when(context.isValidation()).thenReturn(Boolean.TRUE);
     }
 
+    @After
+    public void tearDown() {
+        ThreadLocalNotificationContext.getContext().clearListeners();
+    }
+
     @Test
     public void testExecute() {
         TestListenerStart listener = TestListenerFactory.newStartListener();
@@ -103,4 +121,16 @@ public class DefaultTaskExecutionServiceTest {
         verify(task, never()).execute(parameters);
     }
 
+    @Test
+    public void timeout() throws TaskException {
+        doThrow(new CancellationException()).when(task).execute(Matchers.any(TaskParameters.class));
+        TestUtils.setProperty(victim, "context", context);
+        List<Exception> failures = new ArrayList<>();
+        ThreadLocalNotificationContext.getContext().addListener(TaskExecutionFailedEvent.class,
+                e -> failures.add(e.getFailingCause()));
+        victim.execute(parameters, new CancellationOption(1, TimeUnit.NANOSECONDS));
+        verify(task).after();
+        assertEquals(1, failures.size());
+        assertThat(failures.get(0), instanceOf(TaskTimeoutException.class));
+    }
 }
@@ -69,6 +69,46 @@ public abstract class JpegToPdfTaskTest extends BaseTaskTest<JpegToPdfParameters
         });
     }
 
+    @Test
+    public void streamImageWithExifOrientation() throws Exception {
+        JpegToPdfParameters parameters = new JpegToPdfParameters();
+        parameters.addSource(customNonPdfInput("image/with_exif_orientation.JPG"));
+
+        testContext.pdfOutputTo(parameters);
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachPdfOutput(d -> {
+           assertEquals(d.getPage(0).getRotation(), 90);
+        });
+    }
+
+    @Test
+    public void parallelConversion() throws Exception {
+        JpegToPdfParameters parameters = new JpegToPdfParameters();
+        parameters.setPageSizeMatchImageSize(true);
+        parameters.setParallelism(3);
+        for (int i = 0; i < 3; i++) {
+            parameters.addSource(customNonPdfInputAsFileSource("image/draft.tiff"));
+            parameters.addSource(customNonPdfInputAsFileSource("image/with_exif_orientation.JPG"));
+        }
+
+        testContext.pdfOutputTo(parameters);
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachPdfOutput(d -> {
+            assertThat(d.getNumberOfPages(), is(6));
+            for (int i = 0; i < 6; i += 2) {
+                assertEquals(248.0, d.getPage(i).getMediaBox().getWidth(), 0.0);
+                assertEquals(0, d.getPage(i).getRotation());
+                assertEquals(90, d.getPage(i + 1).getRotation());
+            }
+        });
+    }
+
     @Test
     public void imageWithoutExifMetadata() throws Exception {
         JpegToPdfParameters parameters = new JpegToPdfParameters();
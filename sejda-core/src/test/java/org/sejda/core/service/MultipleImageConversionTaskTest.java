@@ -82,6 +82,15 @@ public abstract class MultipleImageConversionTaskTest<T extends AbstractPdfToMul
         doExecute(parameters, 2);
     }
 
+    @Test
+    public void tiledRendering() throws IOException {
+        AbstractPdfToMultipleImageParameters parameters = getMultipleImageParametersWithoutSource(
+                ImageColorType.GRAY_SCALE);
+        parameters.addSource(shortInput());
+        parameters.setTiledRendering(true);
+        doExecute(parameters, 4);
+    }
+
     void doExecute(AbstractPdfToMultipleImageParameters parameters, int size) throws IOException {
         testContext.directoryOutputTo(parameters);
         execute(parameters);
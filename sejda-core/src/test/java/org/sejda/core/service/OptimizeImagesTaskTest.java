@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Optional.ofNullable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.parameter.OptimizeImagesParameters;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.common.PDStream;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * Abstract test unit for the optimize images task
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@Ignore
+public abstract class OptimizeImagesTaskTest extends BaseTaskTest<OptimizeImagesParameters> {
+
+    private static final String INPUT = "pdf/shared_resource_dic_w_images.pdf";
+
+    private OptimizeImagesParameters parameters;
+
+    private void setUpParameters(int dpi) {
+        parameters = new OptimizeImagesParameters();
+        parameters.setDpi(dpi);
+        parameters.addSource(customInput(INPUT));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+    }
+
+    @Test
+    public void oversizedImagesAreDownsampled() throws IOException {
+        setUpParameters(10);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        List<Integer> original = imagesWidths(originalDocument());
+        assertFalse(original.isEmpty());
+        testContext.assertPages(original.size()).forEachPdfOutput(d -> {
+            List<Integer> widths = imagesWidths(d);
+            for (int i = 0; i < widths.size(); i++) {
+                assertTrue(widths.get(i) < original.get(i));
+            }
+        });
+        testContext.forEachRawOutput(p -> assertTrue(p.toFile().length() < inputLength()));
+    }
+
+    @Test
+    public void parallelOptimization() throws IOException {
+        setUpParameters(10);
+        parameters.setParallelism(4);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        List<Integer> original = imagesWidths(originalDocument());
+        testContext.forEachPdfOutput(d -> {
+            List<Integer> widths = imagesWidths(d);
+            for (int i = 0; i < widths.size(); i++) {
+                assertTrue(widths.get(i) < original.get(i));
+            }
+        });
+    }
+
+    @Test
+    public void imagesBelowDpiAreUntouched() throws IOException {
+        setUpParameters(100000);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        List<Integer> original = imagesWidths(originalDocument());
+        testContext.forEachPdfOutput(d -> assertEquals(original, imagesWidths(d)));
+    }
+
+    @Test
+    public void indexedImagesKeepTheirColors() throws IOException {
+        parameters = new OptimizeImagesParameters();
+        parameters.setDpi(10);
+        parameters.addSource(PdfStreamSource.newInstanceNoPassword(new ByteArrayInputStream(indexedImageDocument()),
+                "indexed.pdf"));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachPdfOutput(d -> {
+            COSStream image = firstImage(d.getPage(0));
+            assertTrue(image.getInt(COSName.WIDTH) < 400);
+            assertEquals(COSName.DEVICERGB, image.getDictionaryObject(COSName.COLORSPACE));
+        });
+    }
+
+    /**
+     * @return a document with a noisy 400x400 image with a palette of 256 colors drawn on a 100x100 points area
+     */
+    private static byte[] indexedImageDocument() throws IOException {
+        Random random = new Random(42);
+        byte[] palette = new byte[256 * 3];
+        random.nextBytes(palette);
+        byte[] samples = new byte[400 * 400];
+        random.nextBytes(samples);
+        try (PDDocument document = new PDDocument()) {
+            COSStream stream = new COSStream();
+            stream.setItem(COSName.TYPE, COSName.XOBJECT);
+            stream.setItem(COSName.SUBTYPE, COSName.IMAGE);
+            stream.setInt(COSName.WIDTH, 400);
+            stream.setInt(COSName.HEIGHT, 400);
+            stream.setInt(COSName.BITS_PER_COMPONENT, 8);
+            stream.setItem(COSName.COLORSPACE, new COSArray(COSName.INDEXED, COSName.DEVICERGB, COSInteger.get(255),
+                    COSString.newInstance(palette)));
+            try (OutputStream out = stream.createFilteredStream(COSName.FLATE_DECODE)) {
+                out.write(samples);
+            }
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contents = new PDPageContentStream(document, page)) {
+                contents.drawImage(new PDImageXObject(new PDStream(stream), null), 50, 50, 100, 100);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.writeTo(out);
+            return out.toByteArray();
+        }
+    }
+
+    private PDDocument originalDocument() throws IOException {
+        return PDFParser.parse(SeekableSources
+                .inMemorySeekableSourceFrom(getClass().getClassLoader().getResourceAsStream(INPUT)));
+    }
+
+    private long inputLength() {
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream(INPUT)) {
+            return IOUtils.toByteArray(stream).length;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the widths of the first image of every page
+     */
+    private static List<Integer> imagesWidths(PDDocument document) {
+        List<Integer> widths = new ArrayList<>();
+        for (PDPage page : document.getPages()) {
+            ofNullable(firstImage(page)).ifPresent(s -> widths.add(s.getInt(COSName.WIDTH)));
+        }
+        return widths;
+    }
+
+    private static COSStream firstImage(PDPage page) {
+        COSDictionary xobjects = page.getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT,
+                COSDictionary.class);
+        return xobjects.keySet().stream().map(k -> xobjects.getDictionaryObject(k, COSStream.class))
+                .filter(s -> COSName.IMAGE.getName().equals(s.getNameAsString(COSName.SUBTYPE))).findFirst()
+                .orElse(null);
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.sejda.model.TopLeftRectangularBox;
+import org.sejda.model.input.PdfSource;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.parameter.excel.PdfToExcelParameters;
 import org.sejda.model.parameter.excel.Table;
@@ -146,6 +147,33 @@ public abstract class PdfToExcelTaskTest extends BaseTaskTest<PdfToExcelParamete
         });
     }
 
+    @Test
+    public void testMergedTablesInParallel() throws IOException {
+        PdfToExcelParameters params = getParams(customInputAsFileSource("pdf/tabular-data.pdf"));
+        params.setMergeTablesSpanningMultiplePages(true);
+        params.setParallelism(2);
+        execute(params);
+
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(1).assertOutputContainsFilenames("tabular-data.xlsx").forEachRawOutput(p -> {
+            try {
+                InputStream in = new FileInputStream(p.toFile());
+                Workbook wb = WorkbookFactory.create(in);
+
+                assertThat(wb.getNumberOfSheets(), is(1));
+
+                Sheet sheet = wb.getSheetAt(0);
+                assertThat(sheet.getPhysicalNumberOfRows(), is(44));
+                assertThat(sheet.getSheetName(), is("Table 1 (Pages 1, 2)"));
+                assertThat(getDataRow(sheet, 0), is(Arrays.asList("OrderDate", "Region", "Rep", "Item", "Units", "Unit Cost", "Total")));
+                assertThat(getDataRow(sheet, 37), is(Arrays.asList("9/10/16", "Central", "Gill", "Pencil", "7", "1.29", "9.03")));
+
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
     private List<Object> getDataRow(Sheet sheet, int i) {
         Row row = sheet.getRow(i);
         List<Object> dataRow = new ArrayList<>();
@@ -177,8 +205,12 @@ public abstract class PdfToExcelTaskTest extends BaseTaskTest<PdfToExcelParamete
     }
 
     private PdfToExcelParameters getParams() throws IOException {
+        return getParams(customInput("pdf/tabular-data.pdf", "tabular-data.pdf"));
+    }
+
+    private PdfToExcelParameters getParams(PdfSource<?> source) throws IOException {
         PdfToExcelParameters parameters = new PdfToExcelParameters();
-        parameters.addSource(customInput("pdf/tabular-data.pdf", "tabular-data.pdf"));
+        parameters.addSource(source);
         parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
 
         Table table = new Table();
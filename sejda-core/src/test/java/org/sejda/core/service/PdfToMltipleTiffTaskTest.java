@@ -19,8 +19,14 @@
  */
 package org.sejda.core.service;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.awt.image.RenderedImage;
 import java.io.IOException;
 
+import javax.imageio.ImageIO;
+
 import org.junit.Ignore;
 import org.junit.Test;
 import org.sejda.model.image.ImageColorType;
@@ -63,4 +69,23 @@ public abstract class PdfToMltipleTiffTaskTest
         }
     }
 
+    @Test
+    public void bilevelCompressionRendersBlackAndWhite() throws IOException {
+        PdfToMultipleTiffParameters parameters = getMultipleImageParametersWithoutSource(ImageColorType.GRAY_SCALE);
+        parameters.addSource(shortInput());
+        parameters.setCompressionType(TiffCompressionType.CCITT_GROUP_4);
+        parameters.setDithering(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachRawOutput(p -> {
+            try {
+                RenderedImage image = ImageIO.read(p.toFile());
+                assertEquals(1, image.getColorModel().getPixelSize());
+            } catch (IOException e) {
+                fail(e.getMessage());
+            }
+        });
+    }
+
 }
@@ -62,7 +62,17 @@ public abstract class PdfToSingleTiffTaskTest extends BaseTaskTest<PdfToSingleTi
 
     @Test
     public void testExecuteStreamToSingleTiff() throws IOException {
+        doExecute(getSingleTiffParams());
+    }
+
+    @Test
+    public void tiledRendering() throws IOException {
         AbstractPdfToSingleImageParameters parameters = getSingleTiffParams();
+        parameters.setTiledRendering(true);
+        doExecute(parameters);
+    }
+
+    private void doExecute(AbstractPdfToSingleImageParameters parameters) throws IOException {
         testContext.fileOutputTo(parameters, ".tiff");
         execute(parameters);
         testContext.assertTaskCompleted();
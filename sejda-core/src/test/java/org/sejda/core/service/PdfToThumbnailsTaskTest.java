@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.sejda.model.image.ImageType;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.parameter.image.PdfToThumbnailsParameters;
+import org.sejda.model.pdf.page.PageRange;
+
+/**
+ * Abstract test unit for the thumbnails task
+ *
+ * @author Andrea Vacondio
+ *
+ */
+@Ignore
+public abstract class PdfToThumbnailsTaskTest extends BaseTaskTest<PdfToThumbnailsParameters> {
+
+    private PdfToThumbnailsParameters parameters;
+
+    private void setUpParameters(ImageType type) {
+        parameters = new PdfToThumbnailsParameters();
+        parameters.setOutputImageType(type);
+        parameters.setSize(100);
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+    }
+
+    @Test
+    public void thumbnailPerPage() throws IOException {
+        setUpParameters(ImageType.JPEG);
+        parameters.addSource(shortInput());
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(4).forEachRawOutput(p -> {
+            BufferedImage image = read(p.toFile());
+            assertEquals(100, Math.max(image.getWidth(), image.getHeight()));
+        });
+    }
+
+    @Test
+    public void parallelPng() throws IOException {
+        setUpParameters(ImageType.PNG);
+        parameters.addSource(customInputAsFileSource("pdf/multiple-sized-pages.pdf"));
+        parameters.setParallelism(3);
+        parameters.setSkipAnnotations(true);
+        parameters.setSkipTransparencyGroups(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachRawOutput(p -> {
+            assertTrue(p.getFileName().toString().endsWith(".png"));
+            BufferedImage image = read(p.toFile());
+            assertEquals(100, Math.max(image.getWidth(), image.getHeight()));
+        });
+    }
+
+    @Test
+    public void sprite() throws IOException {
+        setUpParameters(ImageType.PNG);
+        parameters.addSource(shortInput());
+        parameters.addPageRange(new PageRange(1, 3));
+        parameters.setSprite(true);
+        parameters.setSpriteColumns(2);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(1).forEachRawOutput(p -> {
+            BufferedImage image = read(p.toFile());
+            assertEquals(200, image.getWidth());
+            assertEquals(200, image.getHeight());
+        });
+    }
+
+    private static BufferedImage read(File file) {
+        try {
+            return ImageIO.read(file);
+        } catch (IOException e) {
+            fail(e.getMessage());
+            return null;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -46,6 +47,7 @@ import org.junit.rules.TemporaryFolder;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.task.Task;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics;
 
 /**
  * Test unit for the {@link OutputWriterHelper}
@@ -204,6 +206,22 @@ public class OutputWriterHelperTest {
         return files;
     }
 
+    @Test
+    public void metrics() throws IOException {
+        File dest = folder.newFolder();
+        File first = folder.newFile();
+        FileUtils.writeByteArrayToFile(first, new byte[] { 1, 2, 3 });
+        File second = folder.newFile();
+        FileUtils.writeByteArrayToFile(second, new byte[] { 1, 2 });
+        Map<String, File> files = new HashMap<String, File>();
+        files.put("first", first);
+        files.put("second", second);
+        OutputWriterHelper.moveToDirectory(files, dest, ExistingOutputPolicy.OVERWRITE, context);
+        assertEquals(2, context.metrics().counter(TaskMetrics.OUTPUTS));
+        assertEquals(5, context.metrics().counter(TaskMetrics.BYTES_WRITTEN));
+        assertEquals(5, context.metrics().counter(TaskMetrics.PEAK_TEMP_SPACE));
+    }
+
     @Test
     public void copyFailsDirectoryMkdirs() throws IOException {
         File tempFile = folder.newFile();
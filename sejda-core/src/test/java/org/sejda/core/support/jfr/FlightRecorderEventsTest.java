@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.Task;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class FlightRecorderEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void noopClosesMoreThanOnce() {
+        EventScope event = EventScope.NOOP;
+        event.close();
+        event.close();
+    }
+
+    @Test
+    public void events() throws IOException {
+        assumeTrue(FlightRecorderEvents.ENABLED);
+        NotifiableTaskMetadata taskMetadata = new NotifiableTaskMetadata(mock(Task.class));
+        String taskId = taskMetadata.getTaskIdentifier().toString();
+        File saved = folder.newFile();
+        Files.write(saved.toPath(), new byte[] { 1, 2, 3 });
+        Path dump = folder.newFile("recording.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("org.sejda.TaskExecution");
+            recording.enable("org.sejda.PageImport");
+            recording.enable("org.sejda.DocumentSave");
+            recording.enable("org.sejda.Ocr");
+            recording.start();
+            try (EventScope task = FlightRecorderEvents.taskExecution(taskMetadata)) {
+                assertEquals(taskId, FlightRecorderEvents.currentTaskId());
+                try (EventScope page = FlightRecorderEvents.pageImport(3)) {
+                    // nothing
+                }
+                EventScope save = FlightRecorderEvents.documentSave(saved);
+                save.close();
+                save.close();
+            }
+            assertNull(FlightRecorderEvents.currentTaskId());
+            FlightRecorderEvents.ocr("anotherTask", 10, 20).close();
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().startsWith("org.sejda")).collect(Collectors.toList());
+        assertEquals(4, events.size());
+        RecordedEvent page = named(events, "org.sejda.PageImport");
+        assertEquals(3, page.getInt("page"));
+        assertEquals(taskId, page.getString("taskId"));
+        RecordedEvent save = named(events, "org.sejda.DocumentSave");
+        assertEquals(3, save.getLong("bytes"));
+        assertEquals(saved.getAbsolutePath(), save.getString("path"));
+        RecordedEvent task = named(events, "org.sejda.TaskExecution");
+        assertEquals(taskMetadata.getQualifiedName(), task.getString("task"));
+        assertEquals(taskId, task.getString("taskId"));
+        RecordedEvent ocr = named(events, "org.sejda.Ocr");
+        assertEquals("anotherTask", ocr.getString("taskId"));
+        assertEquals(20, ocr.getInt("height"));
+    }
+
+    private static RecordedEvent named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("Missing event " + name));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.util;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class CancellationTest {
+
+    @Test
+    public void noBoundContext() {
+        assertNull(Cancellation.current());
+        Cancellation.checkpoint();
+    }
+
+    @Test
+    public void bindAndRestore() {
+        TaskExecutionContext outer = new TaskExecutionContext(mock(Task.class), true);
+        TaskExecutionContext inner = new TaskExecutionContext(mock(Task.class), true);
+        try (Cancellation.Scope outerScope = Cancellation.bind(outer)) {
+            try (Cancellation.Scope innerScope = Cancellation.bind(inner)) {
+                assertSame(inner, Cancellation.current());
+            }
+            assertSame(outer, Cancellation.current());
+            Cancellation.checkpoint();
+        }
+        assertNull(Cancellation.current());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancelled() {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        try (Cancellation.Scope scope = Cancellation.bind(context)) {
+            context.cancelTask();
+            Cancellation.checkpoint();
+        }
+    }
+
+    @Test(expected = CancellationException.class)
+    public void timedOut() {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        context.timeout(1, TimeUnit.NANOSECONDS);
+        Cancellation.checkpoint(context);
+    }
+
+    @Test
+    public void workersAreBound() throws Exception {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        OrderedParallelExecution.forEach(2, 0, 3, i -> Cancellation.current(),
+                (i, bound) -> assertSame(context, bound), context);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class OrderedParallelExecutionTest {
+
+    private TaskExecutionContext context;
+
+    @Before
+    public void setUp() {
+        context = new TaskExecutionContext(mock(Task.class), false);
+    }
+
+    @Test
+    public void resultsConsumedInOrder() throws TaskException {
+        List<Integer> consumed = new ArrayList<>();
+        OrderedParallelExecution.forEach(4, 1, 50, i -> {
+            sleepRandomly();
+            return i * 2;
+        }, (i, r) -> {
+            assertEquals(i * 2, r.intValue());
+            consumed.add(i);
+        }, context);
+        assertEquals(50, consumed.size());
+        for (int i = 0; i < consumed.size(); i++) {
+            assertEquals(i + 1, consumed.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void sequential() throws TaskException {
+        Thread caller = Thread.currentThread();
+        List<Integer> consumed = new ArrayList<>();
+        OrderedParallelExecution.forEach(1, 0, 3, i -> {
+            assertEquals(caller, Thread.currentThread());
+            return i;
+        }, (i, r) -> consumed.add(r), context);
+        assertEquals(4, consumed.size());
+    }
+
+    @Test(expected = TaskIOException.class)
+    public void workFailure() throws TaskException {
+        OrderedParallelExecution.forEach(3, 1, 10, i -> {
+            if (i == 5) {
+                throw new TaskIOException("Failed");
+            }
+            return i;
+        }, (i, r) -> {
+        }, context);
+    }
+
+    @Test(expected = TaskCancelledException.class)
+    public void cancelled() throws TaskException {
+        OrderedParallelExecution.forEach(3, 1, 10, i -> i, (i, r) -> {
+            if (i == 2) {
+                context.cancelTask();
+            }
+        }, context);
+    }
+
+    private static void sleepRandomly() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
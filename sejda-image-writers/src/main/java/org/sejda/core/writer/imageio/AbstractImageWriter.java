@@ -18,8 +18,8 @@
  */
 package org.sejda.core.writer.imageio;
 
-import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeClose;
 
 import java.awt.image.RenderedImage;
@@ -27,7 +27,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
 import javax.imageio.ImageIO;
@@ -39,6 +38,7 @@ import org.sejda.core.writer.model.ImageWriter;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.image.TiffCompressionType;
 import org.sejda.model.parameter.image.PdfToImageParameters;
+import org.sejda.model.parameter.image.PdfToTiffParameters;
 
 /**
  * Abstract implementation of an adapter for an ImageIO image writer
@@ -65,15 +65,26 @@ abstract class AbstractImageWriter<T extends PdfToImageParameters> implements Im
     }
 
     private ImageOutputStream out;
+    private boolean released = false;
     protected final javax.imageio.ImageWriter writer;
 
     AbstractImageWriter(String format) {
-        Iterator<javax.imageio.ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
-        if (isNull(writers) || !writers.hasNext()) {
-            throw new IllegalArgumentException(
-                    String.format("Unable to find an ImageWriter for the format %s", format));
+        writer = ImageIOWriters.acquire(format);
+    }
+
+    /**
+     * @param params
+     * @return TIFF write parameters for the compression type and level of the given parameters
+     */
+    ImageWriteParam newTiffImageWriterParams(PdfToTiffParameters params) {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        TiffCompressionType compressionType = ofNullable(params.getCompressionType()).orElse(TiffCompressionType.NONE);
+        param.setCompressionType(TIFF_COMPRESSION_TYPE_CACHE.get(compressionType));
+        if (compressionType == TiffCompressionType.DEFLATE || compressionType == TiffCompressionType.ZLIB) {
+            ImageIOWriters.setDeflateLevel(writer, param, params.getCompressionLevel());
         }
-        writer = writers.next();
+        return param;
     }
 
     /**
@@ -109,8 +120,9 @@ abstract class AbstractImageWriter<T extends PdfToImageParameters> implements Im
 
     @Override
     public void close() throws IOException {
-        if (nonNull(writer)) {
-            writer.dispose();
+        if (!released) {
+            released = true;
+            ImageIOWriters.release(writer);
         }
     }
 
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.imageio;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.ImageWriterSpi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Registry of ImageIO writers. The writer provider for a format is looked up once and released writers are reset and
+ * pooled, to be handed out again to the next request for the same format, from any thread, without creating a new
+ * instance. The pool is shared so that writers are not retained by the short lived worker threads of parallel tasks and
+ * it's bounded, writers released when the pool for their format is full are disposed. JPEG metadata carrying the DPI
+ * is also built once per image type and resolution and reused.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public final class ImageIOWriters {
+    private static final Logger LOG = LoggerFactory.getLogger(ImageIOWriters.class);
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int MAX_METADATA_TEMPLATES = 16;
+
+    private static final Map<String, ImageWriterSpi> PROVIDERS = new ConcurrentHashMap<>();
+    static final int MAX_POOLED_WRITERS = Runtime.getRuntime().availableProcessors();
+    private static final Map<ImageWriterSpi, BlockingDeque<ImageWriter>> POOL = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<List<Object>, IIOMetadata>> JPEG_METADATA = ThreadLocal
+            .withInitial(() -> new LinkedHashMap<List<Object>, IIOMetadata>(MAX_METADATA_TEMPLATES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, IIOMetadata> eldest) {
+                    return size() > MAX_METADATA_TEMPLATES;
+                }
+            });
+
+    private ImageIOWriters() {
+        // hide
+    }
+
+    /**
+     * @param format
+     *            the informal format name
+     * @return a writer for the given format, taken from the pool when available. It should be given
+     *         back using {@link #release(ImageWriter)} once done.
+     * @throws IllegalArgumentException
+     *             if no writer is available for the format
+     */
+    public static ImageWriter acquire(String format) {
+        ImageWriterSpi provider = PROVIDERS.computeIfAbsent(format, ImageIOWriters::preferredProvider);
+        Deque<ImageWriter> pooled = POOL.get(provider);
+        ImageWriter writer = nonNull(pooled) ? pooled.pollFirst() : null;
+        if (isNull(writer)) {
+            try {
+                writer = provider.createWriterInstance();
+            } catch (IOException e) {
+                throw new IllegalArgumentException(String.format("Unable to create an ImageWriter for the format %s",
+                        format), e);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Resets the given writer and puts it back in the pool, or disposes it if the pool for its format is full
+     *
+     * @param writer
+     */
+    public static void release(ImageWriter writer) {
+        if (nonNull(writer)) {
+            writer.reset();
+            ImageWriterSpi provider = writer.getOriginatingProvider();
+            if (isNull(provider) || !POOL.computeIfAbsent(provider, k -> new LinkedBlockingDeque<>(MAX_POOLED_WRITERS))
+                    .offerFirst(writer)) {
+                writer.dispose();
+            }
+        }
+    }
+
+    /**
+     * The JDK, starting from Java 9, provides its own writers for some of the formats we write using the bundled
+     * TwelveMonkeys plugins and, since no ordering is set between them, the one returned first by ImageIO can change
+     * between executions. We prefer the bundled plugins, whose behavior we rely on.
+     */
+    private static ImageWriterSpi preferredProvider(String format) {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (isNull(writers) || !writers.hasNext()) {
+            throw new IllegalArgumentException(
+                    String.format("Unable to find an ImageWriter for the format %s", format));
+        }
+        ImageWriter first = writers.next();
+        ImageWriter current = first;
+        while (isBuiltIn(current) && writers.hasNext()) {
+            current = writers.next();
+        }
+        ImageWriter preferred = isBuiltIn(current) ? first : current;
+        LOG.debug("Using {} to write {} images", preferred.getClass().getName(), format);
+        ImageWriterSpi provider = preferred.getOriginatingProvider();
+        first.dispose();
+        if (current != first) {
+            current.dispose();
+        }
+        return provider;
+    }
+
+    /**
+     * @return true if the writer is one of the JDK built in ones
+     */
+    static boolean isBuiltIn(ImageWriter writer) {
+        return writer.getClass().getName().startsWith("com.sun.imageio.");
+    }
+
+    /**
+     * @param writer
+     *            a JPEG writer
+     * @param image
+     * @param param
+     * @param dpi
+     * @return the JPEG metadata for the given image with the JFIF density set to the given DPI or null if the metadata
+     *         cannot be created. Metadata is created once per image type, write parameters and dpi, and then reused.
+     */
+    public static IIOMetadata jpegMetadata(ImageWriter writer, RenderedImage image, ImageWriteParam param, int dpi) {
+        // the sample model is normalized since image dimensions are irrelevant for the metadata
+        ImageTypeSpecifier type = new ImageTypeSpecifier(image.getColorModel(),
+                image.getSampleModel().createCompatibleSampleModel(1, 1));
+        List<Object> key = Arrays.asList(writer.getOriginatingProvider(), type, dpi, compressionQuality(param));
+        return JPEG_METADATA.get().computeIfAbsent(key, k -> newJpegMetadata(writer, type, param, dpi));
+    }
+
+    private static Object compressionQuality(ImageWriteParam param) {
+        if (nonNull(param) && param.canWriteCompressed()
+                && param.getCompressionMode() == ImageWriteParam.MODE_EXPLICIT) {
+            return param.getCompressionQuality();
+        }
+        return null;
+    }
+
+    private static IIOMetadata newJpegMetadata(ImageWriter writer, ImageTypeSpecifier type, ImageWriteParam param,
+            int dpi) {
+        try {
+            IIOMetadata metadata = writer.getDefaultImageMetadata(type, param);
+            Element tree = (Element) metadata.getAsTree(JPEG_METADATA_FORMAT);
+            Element jfif = (Element) tree.getElementsByTagName("app0JFIF").item(0);
+            jfif.setAttribute("Xdensity", Integer.toString(dpi));
+            jfif.setAttribute("Ydensity", Integer.toString(dpi));
+            jfif.setAttribute("resUnits", "1");
+            metadata.setFromTree(JPEG_METADATA_FORMAT, tree);
+            return metadata;
+        } catch (Exception e) {
+            LOG.warn("Failed to set DPI for image, metadata manipulation failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Sets on the given parameters the compression quality that makes the given writer use the given deflate level.
+     * Writers map the quality to the deflate level differently, the JDK writers use a higher level for a higher
+     * quality while the TwelveMonkeys TIFF writer uses a lower one. Writers not supporting compression settings, like
+     * the JDK PNG writer before Java 9, ignore the level and a warning is logged.
+     *
+     * @param writer
+     * @param param
+     * @param level
+     *            deflate level between 0 and 9, 1 and 9 for TIFF writers, -1 to leave the writer default
+     */
+    static void setDeflateLevel(ImageWriter writer, ImageWriteParam param, int level) {
+        if (level < 0) {
+            return;
+        }
+        if (!param.canWriteCompressed()) {
+            LOG.warn("Writer {} doesn't support compression settings, compression level {} is ignored",
+                    writer.getClass().getName(), level);
+            return;
+        }
+        if (param.getCompressionMode() != ImageWriteParam.MODE_EXPLICIT) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        }
+        if (isBuiltIn(writer)) {
+            if (writer.getClass().getName().startsWith("com.sun.imageio.plugins.png.")) {
+                // deflate level = 9 - round(9 * quality)
+                param.setCompressionQuality((9 - level) / 9f);
+            } else {
+                // TIFF deflate level = (int) (1 + 8 * quality)
+                param.setCompressionQuality(Math.max(0, level - 1) / 8f);
+            }
+        } else {
+            // TwelveMonkeys TIFF deflate level = 9 - round(8 * quality)
+            param.setCompressionQuality(Math.min(8, 9 - level) / 8f);
+        }
+    }
+}
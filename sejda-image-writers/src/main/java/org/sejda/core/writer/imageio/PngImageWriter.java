@@ -36,6 +36,11 @@ public class PngImageWriter extends SingleImageWriter<PdfToPngParameters> {
 
     @Override
     ImageWriteParam newImageWriterParams(PdfToPngParameters params) {
-        return null;
+        if (params.getCompressionLevel() < 0) {
+            return null;
+        }
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        ImageIOWriters.setDeflateLevel(writer, param, params.getCompressionLevel());
+        return param;
     }
 }
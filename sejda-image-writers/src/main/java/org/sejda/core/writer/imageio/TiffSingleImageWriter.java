@@ -18,11 +18,8 @@
  */
 package org.sejda.core.writer.imageio;
 
-import static java.util.Optional.ofNullable;
-
 import javax.imageio.ImageWriteParam;
 
-import org.sejda.model.image.TiffCompressionType;
 import org.sejda.model.parameter.image.PdfToMultipleTiffParameters;
 
 /**
@@ -38,10 +35,6 @@ public class TiffSingleImageWriter extends SingleImageWriter<PdfToMultipleTiffPa
 
     @Override
     ImageWriteParam newImageWriterParams(PdfToMultipleTiffParameters params) {
-        ImageWriteParam param = writer.getDefaultWriteParam();
-        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-        param.setCompressionType(TIFF_COMPRESSION_TYPE_CACHE
-                .get(ofNullable(params.getCompressionType()).orElse(TiffCompressionType.NONE)));
-        return param;
+        return newTiffImageWriterParams(params);
     }
 }
@@ -26,17 +26,16 @@ import java.io.IOException;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
-import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
 import javax.imageio.metadata.IIOMetadata;
-import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
 import javax.imageio.stream.ImageOutputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.imgscalr.Scalr;
+import org.sejda.core.writer.imageio.ImageIOWriters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Element;
 
 public class ImageOptimizer {
 
@@ -75,34 +74,21 @@ public class ImageOptimizer {
             g2d.drawImage(bufferedImage, 0, 0, Color.WHITE, null);
             g2d.dispose();
 
-            ImageWriter imageWriter = ImageIO.getImageWritersBySuffix("jpeg").next();
+            ImageWriter imageWriter = ImageIOWriters.acquire("jpeg");
             ImageOutputStream ios = ImageIO.createImageOutputStream(outputFile);
-            imageWriter.setOutput(ios);
-
-            // compression
-            JPEGImageWriteParam jpegParams = (JPEGImageWriteParam) imageWriter.getDefaultWriteParam();
-            jpegParams.setCompressionMode(JPEGImageWriteParam.MODE_EXPLICIT);
-            jpegParams.setCompressionQuality(quality);
-
-            IIOMetadata imageMetaData = null;
             try {
-                // new metadata
-                imageMetaData = imageWriter.getDefaultImageMetadata(new ImageTypeSpecifier(newImage), jpegParams);
-                Element tree = (Element) imageMetaData.getAsTree("javax_imageio_jpeg_image_1.0");
-                Element jfif = (Element) tree.getElementsByTagName("app0JFIF").item(0);
-                jfif.setAttribute("Xdensity", Integer.toString(dpi));
-                jfif.setAttribute("Ydensity", Integer.toString(dpi));
-                jfif.setAttribute("resUnits", "1");
-                imageMetaData.setFromTree("javax_imageio_jpeg_image_1.0", tree);
-            } catch (Exception e) {
-                LOG.warn("Failed to set DPI for image, metadata manipulation failed", e);
-            }
+                imageWriter.setOutput(ios);
 
-            try {
+                // compression
+                ImageWriteParam jpegParams = imageWriter.getDefaultWriteParam();
+                jpegParams.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                jpegParams.setCompressionQuality(quality);
+
+                IIOMetadata imageMetaData = ImageIOWriters.jpegMetadata(imageWriter, newImage, jpegParams, dpi);
                 imageWriter.write(null, new IIOImage(newImage, null, imageMetaData), jpegParams);
             } finally {
                 IOUtils.closeQuietly(ios);
-                imageWriter.dispose();
+                ImageIOWriters.release(imageWriter);
             }
 
             return outputFile;
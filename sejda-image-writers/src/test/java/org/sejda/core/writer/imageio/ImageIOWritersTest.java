@@ -0,0 +1,139 @@
+/*
+ * Created on 02 feb 2017
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.imageio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.parameter.image.PdfToPngParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ImageIOWritersTest {
+
+    @Test
+    public void releasedWriterIsReused() {
+        ImageWriter first = ImageIOWriters.acquire("png");
+        ImageWriter second = ImageIOWriters.acquire("png");
+        assertNotSame(first, second);
+        ImageIOWriters.release(first);
+        assertSame(first, ImageIOWriters.acquire("png"));
+        ImageIOWriters.release(second);
+    }
+
+    @Test
+    public void writerReleasedByAFinishedThreadIsReused() throws InterruptedException {
+        ImageWriter[] released = new ImageWriter[1];
+        Thread worker = new Thread(() -> {
+            released[0] = ImageIOWriters.acquire("jpeg");
+            ImageIOWriters.release(released[0]);
+        });
+        worker.start();
+        worker.join();
+        ImageWriter writer = ImageIOWriters.acquire("jpeg");
+        assertSame(released[0], writer);
+        ImageIOWriters.release(writer);
+    }
+
+    @Test
+    public void poolIsBounded() {
+        List<ImageWriter> writers = new ArrayList<>();
+        for (int i = 0; i <= ImageIOWriters.MAX_POOLED_WRITERS; i++) {
+            writers.add(ImageIOWriters.acquire("bmp"));
+        }
+        writers.forEach(ImageIOWriters::release);
+        List<ImageWriter> reacquired = new ArrayList<>();
+        for (int i = 0; i <= ImageIOWriters.MAX_POOLED_WRITERS; i++) {
+            reacquired.add(ImageIOWriters.acquire("bmp"));
+        }
+        assertEquals(ImageIOWriters.MAX_POOLED_WRITERS, reacquired.stream().filter(writers::contains).count());
+        reacquired.forEach(ImageIOWriters::release);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFormat() {
+        ImageIOWriters.acquire("chuck");
+    }
+
+    @Test
+    public void pngCompressionLevel() throws IOException, TaskIOException {
+        ImageWriter writer = ImageIOWriters.acquire("png");
+        try {
+            // the JDK PNG writer supports compression settings since Java 9
+            Assume.assumeTrue(writer.getDefaultWriteParam().canWriteCompressed());
+        } finally {
+            ImageIOWriters.release(writer);
+        }
+        BufferedImage image = noisyImage();
+        File fastest = writePng(image, 1);
+        File smallest = writePng(image, 9);
+        BufferedImage result = ImageIO.read(smallest);
+        assertEquals(image.getWidth(), result.getWidth());
+        assertEquals(image.getRGB(10, 10), result.getRGB(10, 10));
+        assertTrue(fastest.length() > smallest.length());
+    }
+
+    private static File writePng(BufferedImage image, int level) throws IOException, TaskIOException {
+        File destination = File.createTempFile("test", ".png");
+        destination.deleteOnExit();
+        PdfToPngParameters params = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        params.setCompressionLevel(level);
+        PngImageWriter victim = new PngImageWriter();
+        victim.openDestination(destination, params);
+        victim.write(image, params);
+        victim.closeDestination();
+        victim.close();
+        return destination;
+    }
+
+    private static BufferedImage noisyImage() {
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 200, 200);
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(20, 20, 160, 160);
+        graphics.dispose();
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            image.setRGB(random.nextInt(200), random.nextInt(200), random.nextInt());
+        }
+        return image;
+    }
+}
@@ -20,4 +20,11 @@ package org.sejda.model.exception;
 
 public class TaskCancelledException extends TaskException {
 
+    public TaskCancelledException() {
+        super();
+    }
+
+    public TaskCancelledException(String message) {
+        super(message);
+    }
 }
@@ -29,9 +29,9 @@ import org.sejda.common.FriendlyNamed;
  */
 public enum TiffCompressionType implements FriendlyNamed {
     NONE("none"),   
-    CCITT_GROUP_3_1D("ccitt_group_3_1d"),
-    CCITT_GROUP_3_2D("ccitt_group_3_2d"),
-    CCITT_GROUP_4("ccitt_group_4"),
+    CCITT_GROUP_3_1D("ccitt_group_3_1d", true),
+    CCITT_GROUP_3_2D("ccitt_group_3_2d", true),
+    CCITT_GROUP_4("ccitt_group_4", true),
     LZW("lzw"),
     ZLIB("zlib"),
     JPEG_TTN2("jpeg_ttn2"),
@@ -39,14 +39,26 @@ public enum TiffCompressionType implements FriendlyNamed {
     DEFLATE("deflate");
 
     private String displayName;
+    private boolean bilevel;
 
     private TiffCompressionType(String displayName) {
+        this(displayName, false);
+    }
+
+    private TiffCompressionType(String displayName, boolean bilevel) {
         this.displayName = displayName;
+        this.bilevel = bilevel;
     }
 
     @Override
     public String getFriendlyName() {
         return displayName;
     }
-}
 
+    /**
+     * @return true if this compression can only encode black and white (1 bit per pixel) images
+     */
+    public boolean isBilevel() {
+        return bilevel;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.input;
+
+import javax.validation.constraints.NotNull;
+
+import org.sejda.model.exception.TaskIOException;
+
+/**
+ * {@link AbstractPdfSource} from a document that is already in memory as a byte array. The array is not copied, so it
+ * shouldn't be modified while the source is in use.
+ * 
+ * @author Andrea Vacondio
+ * 
+ */
+public final class PdfByteArraySource extends AbstractPdfSource<byte[]> {
+
+    @NotNull
+    private final byte[] bytes;
+
+    private PdfByteArraySource(byte[] bytes, String name, String password) {
+        super(name, password);
+        this.bytes = bytes;
+    }
+
+    @Override
+    public byte[] getSource() {
+        return bytes;
+    }
+
+    @Override
+    public <T> T open(PdfSourceOpener<T> opener) throws TaskIOException {
+        return opener.open(this);
+    }
+
+    /**
+     * Creates a new instance of the pdf source where a password is NOT required to open the source.
+     * 
+     * @param bytes
+     *            the pdf document
+     * @param name
+     * @return a newly created instance
+     */
+    public static PdfByteArraySource newInstanceNoPassword(byte[] bytes, String name) {
+        return PdfByteArraySource.newInstanceWithPassword(bytes, name, null);
+    }
+
+    /**
+     * Creates a new instance of the pdf source where a password is required to open the source.
+     * 
+     * @param bytes
+     *            the pdf document
+     * @param name
+     * @param password
+     * @return a newly created instance
+     * @throws IllegalArgumentException
+     *             if the bytes are null or the input name is blank.
+     */
+    public static PdfByteArraySource newInstanceWithPassword(byte[] bytes, String name, String password) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("A not null byte array and a not blank name are expected.");
+        }
+        return new PdfByteArraySource(bytes, name, password);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.input;
+
+import java.nio.ByteBuffer;
+
+import javax.validation.constraints.NotNull;
+
+import org.sejda.model.exception.TaskIOException;
+
+/**
+ * {@link AbstractPdfSource} from a document that is already in memory as a {@link ByteBuffer}, possibly a direct one
+ * allocated outside the heap. The document is the content of the buffer between its position and its limit, the
+ * buffer position and limit are not modified and its content is not copied, so it shouldn't be modified while the
+ * source is in use.
+ * 
+ * @author Andrea Vacondio
+ * 
+ */
+public final class PdfByteBufferSource extends AbstractPdfSource<ByteBuffer> {
+
+    @NotNull
+    private final ByteBuffer buffer;
+
+    private PdfByteBufferSource(ByteBuffer buffer, String name, String password) {
+        super(name, password);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public ByteBuffer getSource() {
+        return buffer;
+    }
+
+    @Override
+    public <T> T open(PdfSourceOpener<T> opener) throws TaskIOException {
+        return opener.open(this);
+    }
+
+    /**
+     * Creates a new instance of the pdf source where a password is NOT required to open the source.
+     * 
+     * @param buffer
+     *            the pdf document
+     * @param name
+     * @return a newly created instance
+     */
+    public static PdfByteBufferSource newInstanceNoPassword(ByteBuffer buffer, String name) {
+        return PdfByteBufferSource.newInstanceWithPassword(buffer, name, null);
+    }
+
+    /**
+     * Creates a new instance of the pdf source where a password is required to open the source.
+     * 
+     * @param buffer
+     *            the pdf document
+     * @param name
+     * @param password
+     * @return a newly created instance
+     * @throws IllegalArgumentException
+     *             if the buffer is null or the input name is blank.
+     */
+    public static PdfByteBufferSource newInstanceWithPassword(ByteBuffer buffer, String name, String password) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("A not null buffer and a not blank name are expected.");
+        }
+        return new PdfByteBufferSource(buffer, name, password);
+    }
+}
@@ -20,6 +20,9 @@
  */
 package org.sejda.model.input;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
 import org.sejda.model.exception.TaskIOException;
 
 /**
@@ -63,4 +66,35 @@ public interface PdfSourceOpener<T> {
      */
 
     T open(PdfStreamSource source) throws TaskIOException;
+
+    /**
+     * Opens the input {@link PdfByteArraySource}. The default implementation opens the bytes as a
+     * {@link PdfStreamSource}.
+     * 
+     * @param source
+     * @return generic result of the open action.
+     * @throws TaskIOException
+     *             if an error occurs opening the source
+     */
+    default T open(PdfByteArraySource source) throws TaskIOException {
+        return open(PdfStreamSource.newInstanceWithPassword(new ByteArrayInputStream(source.getSource()),
+                source.getName(), source.getPassword()));
+    }
+
+    /**
+     * Opens the input {@link PdfByteBufferSource}. The default implementation opens a copy of the remaining bytes of
+     * the buffer as a {@link PdfStreamSource}.
+     * 
+     * @param source
+     * @return generic result of the open action.
+     * @throws TaskIOException
+     *             if an error occurs opening the source
+     */
+    default T open(PdfByteBufferSource source) throws TaskIOException {
+        ByteBuffer buffer = source.getSource().duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return open(PdfStreamSource.newInstanceWithPassword(new ByteArrayInputStream(bytes), source.getName(),
+                source.getPassword()));
+    }
 }
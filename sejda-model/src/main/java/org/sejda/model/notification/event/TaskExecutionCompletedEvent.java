@@ -22,6 +22,7 @@ package org.sejda.model.notification.event;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
 
 /**
  * Event thrown when an execution completes without errors.
@@ -34,6 +35,7 @@ public class TaskExecutionCompletedEvent extends AbstractNotificationEvent {
     private static final long serialVersionUID = -2839444329684682481L;
 
     private long executionTime = -1;
+    private TaskMetrics metrics;
 
     /**
      * Creates an instance specifying the execution time, the number of millis from the task to complete.
@@ -42,8 +44,21 @@ public class TaskExecutionCompletedEvent extends AbstractNotificationEvent {
      * @param taskMetadata
      */
     public TaskExecutionCompletedEvent(long executionTime, NotifiableTaskMetadata taskMetadata) {
+        this(executionTime, new TaskMetrics(), taskMetadata);
+    }
+
+    /**
+     * Creates an instance specifying the execution time, the number of millis from the task to complete, and the
+     * metrics collected during the execution.
+     * 
+     * @param executionTime
+     * @param metrics
+     * @param taskMetadata
+     */
+    public TaskExecutionCompletedEvent(long executionTime, TaskMetrics metrics, NotifiableTaskMetadata taskMetadata) {
         super(taskMetadata);
         this.executionTime = executionTime;
+        this.metrics = new TaskMetrics(metrics);
     }
 
     /**
@@ -54,10 +69,17 @@ public class TaskExecutionCompletedEvent extends AbstractNotificationEvent {
         return executionTime;
     }
 
+    /**
+     * @return the metrics collected during the execution, empty if not specified.
+     */
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString())
-                .append("executionTime", executionTime).toString();
+                .append("executionTime", executionTime).append("metrics", metrics).toString();
     }
 
 }
@@ -21,6 +21,7 @@ package org.sejda.model.parameter;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -40,6 +41,8 @@ import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
 @SingleOutputAllowedExtensions
 public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParameters {
 
+    public static final int DEFAULT_MAX_OPEN_SOURCES = 100;
+
     @NotEmpty
     private List<FileIndexAndPage> pages = new ArrayList<FileIndexAndPage>();
 
@@ -49,6 +52,9 @@ public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParam
     @NotNull
     private OutlinePolicy outlinePolicy = OutlinePolicy.RETAIN;
 
+    @Min(value = 1)
+    private int maxOpenSources = DEFAULT_MAX_OPEN_SOURCES;
+
     public void addPage(int fileIndex, int page) {
         pages.add(new FileIndexAndPage(fileIndex, page));
     }
@@ -82,10 +88,23 @@ public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParam
         this.outlinePolicy = outlinePolicy;
     }
 
+    public int getMaxOpenSources() {
+        return maxOpenSources;
+    }
+
+    /**
+     * @param maxOpenSources
+     *            max number of file sources whose file is kept open at the same time. Once the limit is reached the
+     *            file of the least recently used source is closed and it's reopened when needed.
+     */
+    public void setMaxOpenSources(int maxOpenSources) {
+        this.maxOpenSources = maxOpenSources;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(this.pages).append(this.acroFormPolicy)
-                .append(outlinePolicy).toHashCode();
+                .append(outlinePolicy).append(maxOpenSources).toHashCode();
     }
 
     @Override
@@ -99,6 +118,7 @@ public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParam
         final CombineReorderParameters other = (CombineReorderParameters) obj;
         return new EqualsBuilder().appendSuper(super.equals(obj)).append(this.pages, other.pages)
                 .append(this.acroFormPolicy, other.acroFormPolicy)
-                .append(this.outlinePolicy, other.outlinePolicy).isEquals();
+                .append(this.outlinePolicy, other.outlinePolicy).append(this.maxOpenSources, other.maxOpenSources)
+                .isEquals();
     }
 }
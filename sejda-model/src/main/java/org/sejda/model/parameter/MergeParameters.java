@@ -71,6 +71,7 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
     /* Makes all pages same width as the first page */
     private boolean normalizePageSizes = false;
     private boolean firstInputCoverTitle = false;
+    private boolean deduplicateResources = false;
 
     @Override
     public SingleTaskOutput getOutput() {
@@ -188,12 +189,25 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
         this.firstInputCoverTitle = firstInputCoverTitle;
     }
 
+    public boolean isDeduplicateResources() {
+        return deduplicateResources;
+    }
+
+    /**
+     * @param deduplicateResources
+     *            if true identical fonts, images and other resources found in different inputs are written only once.
+     *            This is useful when merging documents generated from the same template.
+     */
+    public void setDeduplicateResources(boolean deduplicateResources) {
+        this.deduplicateResources = deduplicateResources;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(inputList).append(acroFormPolicy)
                 .append(blankPageIfOdd).append(outlinePolicy).append(tocPolicy).append(output).append(filenameFooter)
                 .append(normalizePageSizes).append(catalogPageLabelsPolicy).append(firstInputCoverTitle)
-                .toHashCode();
+                .append(deduplicateResources).toHashCode();
     }
 
     @Override
@@ -212,6 +226,7 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
                 .append(normalizePageSizes, params.isNormalizePageSizes())
                 .append(catalogPageLabelsPolicy, params.catalogPageLabelsPolicy)
                 .append(firstInputCoverTitle, params.firstInputCoverTitle)
+                .append(deduplicateResources, params.deduplicateResources)
                 .isEquals();
     }
 }
@@ -23,6 +23,7 @@ import java.util.*;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.common.collection.NullSafeSet;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceMultipleOutputParameters;
 import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.pdf.page.PageRangeSelection;
@@ -30,6 +31,7 @@ import org.sejda.model.pdf.page.PagesSelection;
 import org.sejda.model.validation.constraint.NotEmpty;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 
 /**
  * Parameter class to extract text by pages performing OCR
@@ -38,12 +40,14 @@ import javax.validation.Valid;
  *
  */
 public class OcrTextByPagesParameters extends SinglePdfSourceMultipleOutputParameters
-        implements PageRangeSelection, PagesSelection {
+        implements PageRangeSelection, PagesSelection, ParallelizableTaskParameters {
 
     @Valid
     private final Set<PageRange> pageSelection = new NullSafeSet<PageRange>();
     @NotEmpty
     private String textEncoding = "UTF-8";
+    @Min(value = 1)
+    private int parallelism = 1;
 
     public final Set<Locale> languages = new HashSet<>();
 
@@ -71,6 +75,21 @@ public class OcrTextByPagesParameters extends SinglePdfSourceMultipleOutputParam
         this.textEncoding = textEncoding;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            number of images recognized concurrently, pages are parsed sequentially while their images are recognized
+     *            by workers using their own OCR engine
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     /**
      * @return an unmodifiable view of the pageSelection
      */
@@ -108,7 +127,7 @@ public class OcrTextByPagesParameters extends SinglePdfSourceMultipleOutputParam
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(pageSelection).append(textEncoding)
-                .append(languages).toHashCode();
+                .append(languages).append(parallelism).toHashCode();
     }
 
     @Override
@@ -123,6 +142,7 @@ public class OcrTextByPagesParameters extends SinglePdfSourceMultipleOutputParam
         return new EqualsBuilder().appendSuper(super.equals(other)).append(pageSelection, parameter.pageSelection)
                 .append(textEncoding, parameter.getTextEncoding())
                 .append(languages, parameter.getLanguages())
+                .append(parallelism, parameter.parallelism)
                 .isEquals();
     }
 }
@@ -27,9 +27,11 @@ import org.sejda.model.output.MultipleTaskOutput;
 import org.sejda.model.parameter.base.AbstractParameters;
 import org.sejda.model.parameter.base.MultipleOutputTaskParameters;
 import org.sejda.model.parameter.base.MultiplePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.validation.constraint.NotEmpty;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 /**
@@ -38,7 +40,7 @@ import javax.validation.constraints.NotNull;
  * @author Andrea Vacondio
  */
 public class OcrTextParameters extends AbstractParameters
-        implements MultiplePdfSourceTaskParameters, MultipleOutputTaskParameters {
+        implements MultiplePdfSourceTaskParameters, MultipleOutputTaskParameters, ParallelizableTaskParameters {
 
     private String outputPrefix = "";
     @Valid
@@ -51,6 +53,8 @@ public class OcrTextParameters extends AbstractParameters
     private String textEncoding = "UTF-8";
 
     private Set<Locale> languages = new LinkedHashSet<>();
+    @Min(value = 1)
+    private int parallelism = 1;
 
     /**
      * Adds a language o the list of possible languages of the text found in the documents. This can help the OCR engine to return a more accurate result.
@@ -77,6 +81,20 @@ public class OcrTextParameters extends AbstractParameters
         this.textEncoding = textEncoding;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            number of images recognized concurrently, every worker uses its own OCR engine
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public MultipleTaskOutput getOutput() {
         return output;
@@ -118,7 +136,7 @@ public class OcrTextParameters extends AbstractParameters
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(output).append(sourceList)
-                .append(textEncoding).append(outputPrefix).append(languages).toHashCode();
+                .append(textEncoding).append(outputPrefix).append(languages).append(parallelism).toHashCode();
     }
 
     @Override
@@ -134,6 +152,7 @@ public class OcrTextParameters extends AbstractParameters
                 .append(sourceList, parameter.sourceList).append(textEncoding, parameter.textEncoding)
                 .append(outputPrefix, parameter.outputPrefix)
                 .append(languages, parameter.languages)
+                .append(parallelism, parameter.parallelism)
                 .isEquals();
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
+
+/**
+ * Parameter class for the images optimization task. Images whose resolution, as they are rendered on the page, is higher
+ * than the given DPI are downsampled to that DPI and encoded as JPEG with the given quality.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class OptimizeImagesParameters extends MultiplePdfSourceMultipleOutputParameters
+        implements ParallelizableTaskParameters {
+
+    @Min(1)
+    private int dpi = 150;
+    @Min(0)
+    @Max(100)
+    private int quality = 80;
+    @Min(1)
+    private int parallelism = 1;
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    /**
+     * @param dpi
+     *            max resolution of the images as they are rendered on the page
+     */
+    public void setDpi(int dpi) {
+        this.dpi = dpi;
+    }
+
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * The quality of the optimized images where 0 is lowest (high compression) and 100 is highest (low compression)
+     *
+     * @param quality
+     */
+    public void setQuality(int quality) {
+        this.quality = quality;
+    }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            number of images optimized concurrently
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(dpi).append(quality).append(parallelism)
+                .toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof OptimizeImagesParameters)) {
+            return false;
+        }
+        OptimizeImagesParameters parameter = (OptimizeImagesParameters) other;
+        return new EqualsBuilder().appendSuper(super.equals(other)).append(dpi, parameter.dpi)
+                .append(quality, parameter.quality).append(parallelism, parameter.parallelism).isEquals();
+    }
+}
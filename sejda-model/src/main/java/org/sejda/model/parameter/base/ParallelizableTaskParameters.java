@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.base;
+
+/**
+ * Task parameters for tasks whose work can be split across multiple worker threads
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public interface ParallelizableTaskParameters extends TaskParameters {
+
+    /**
+     * @return the max number of worker threads the task can use, 1 means the work is performed sequentially
+     */
+    int getParallelism();
+
+    void setParallelism(int parallelism);
+}
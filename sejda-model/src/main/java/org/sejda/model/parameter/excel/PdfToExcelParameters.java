@@ -21,13 +21,18 @@ package org.sejda.model.parameter.excel;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 
+import javax.validation.constraints.Min;
 import java.util.*;
 
-public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParameters {
+public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParameters
+        implements ParallelizableTaskParameters {
     private Map<Integer, List<Table>> tables = new HashMap<>();
     private boolean mergeTablesSpanningMultiplePages = false;
     private boolean csvFormat = false;
+    @Min(value = 1)
+    private int parallelism = 1;
 
     public void addTable(int pageNumber, Table table) {
         if(!this.tables.containsKey(pageNumber)) {
@@ -68,6 +73,21 @@ public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParamet
         this.csvFormat = csvFormat;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            number of pages extracted concurrently. Pages are extracted in parallel only for file sources, where
+     *            every worker can open its own copy of the document.
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -81,6 +101,7 @@ public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParamet
                 .append(tables, that.tables)
                 .append(mergeTablesSpanningMultiplePages, that.mergeTablesSpanningMultiplePages)
                 .append(csvFormat, that.csvFormat)
+                .append(parallelism, that.parallelism)
                 .isEquals();
     }
 
@@ -91,6 +112,7 @@ public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParamet
                 .append(tables)
                 .append(mergeTablesSpanningMultiplePages)
                 .append(csvFormat)
+                .append(parallelism)
                 .toHashCode();
     }
 }
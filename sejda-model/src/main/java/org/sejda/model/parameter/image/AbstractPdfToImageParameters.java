@@ -20,6 +20,7 @@
 package org.sejda.model.parameter.image;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -46,6 +47,11 @@ public abstract class AbstractPdfToImageParameters extends AbstractParameters
     private int resolutionInDpi = DEFAULT_DPI;
     @NotNull
     private ImageColorType outputImageColorType;
+    private boolean tiledRendering = false;
+    @Min(0)
+    @Max(255)
+    private int blackAndWhiteThreshold = DEFAULT_BLACK_AND_WHITE_THRESHOLD;
+    private boolean dithering = false;
     @Valid
     @NotNull
     private PdfSource<?> source;
@@ -90,10 +96,41 @@ public abstract class AbstractPdfToImageParameters extends AbstractParameters
         this.resolutionInDpi = resolutionInDpi;
     }
 
+    @Override
+    public boolean isTiledRendering() {
+        return tiledRendering;
+    }
+
+    @Override
+    public void setTiledRendering(boolean tiledRendering) {
+        this.tiledRendering = tiledRendering;
+    }
+
+    @Override
+    public int getBlackAndWhiteThreshold() {
+        return blackAndWhiteThreshold;
+    }
+
+    @Override
+    public void setBlackAndWhiteThreshold(int threshold) {
+        this.blackAndWhiteThreshold = threshold;
+    }
+
+    @Override
+    public boolean isDithering() {
+        return dithering;
+    }
+
+    @Override
+    public void setDithering(boolean dithering) {
+        this.dithering = dithering;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(resolutionInDpi).append(outputImageColorType)
-                .append(getOutputImageType()).append(source).toHashCode();
+                .append(getOutputImageType()).append(source).append(tiledRendering)
+                .append(blackAndWhiteThreshold).append(dithering).toHashCode();
     }
 
     @Override
@@ -109,6 +146,8 @@ public abstract class AbstractPdfToImageParameters extends AbstractParameters
                 .append(resolutionInDpi, parameter.getResolutionInDpi())
                 .append(outputImageColorType, parameter.getOutputImageColorType())
                 .append(getOutputImageType(), parameter.getOutputImageType()).append(source, parameter.getSource())
-                .isEquals();
+                .append(tiledRendering, parameter.isTiledRendering())
+                .append(blackAndWhiteThreshold, parameter.getBlackAndWhiteThreshold())
+                .append(dithering, parameter.isDithering()).isEquals();
     }
 }
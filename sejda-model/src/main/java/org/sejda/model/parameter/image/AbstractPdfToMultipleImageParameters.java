@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -53,6 +54,11 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
     private int resolutionInDpi = DEFAULT_DPI;
     @NotNull
     private ImageColorType outputImageColorType;
+    private boolean tiledRendering = false;
+    @Min(0)
+    @Max(255)
+    private int blackAndWhiteThreshold = DEFAULT_BLACK_AND_WHITE_THRESHOLD;
+    private boolean dithering = false;
 
     AbstractPdfToMultipleImageParameters(ImageColorType outputImageColorType) {
         this.outputImageColorType = outputImageColorType;
@@ -84,6 +90,36 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
         this.resolutionInDpi = resolutionInDpi;
     }
 
+    @Override
+    public boolean isTiledRendering() {
+        return tiledRendering;
+    }
+
+    @Override
+    public void setTiledRendering(boolean tiledRendering) {
+        this.tiledRendering = tiledRendering;
+    }
+
+    @Override
+    public int getBlackAndWhiteThreshold() {
+        return blackAndWhiteThreshold;
+    }
+
+    @Override
+    public void setBlackAndWhiteThreshold(int threshold) {
+        this.blackAndWhiteThreshold = threshold;
+    }
+
+    @Override
+    public boolean isDithering() {
+        return dithering;
+    }
+
+    @Override
+    public void setDithering(boolean dithering) {
+        this.dithering = dithering;
+    }
+
     @Valid
     private final Set<PageRange> pageSelection = new NullSafeSet<PageRange>();
 
@@ -136,6 +172,9 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
                 .append(resolutionInDpi, that.resolutionInDpi)
                 .append(outputImageColorType, that.outputImageColorType)
                 .append(pageSelection, that.pageSelection)
+                .append(tiledRendering, that.tiledRendering)
+                .append(blackAndWhiteThreshold, that.blackAndWhiteThreshold)
+                .append(dithering, that.dithering)
                 .isEquals();
     }
 
@@ -146,6 +185,9 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
                 .append(resolutionInDpi)
                 .append(outputImageColorType)
                 .append(pageSelection)
+                .append(tiledRendering)
+                .append(blackAndWhiteThreshold)
+                .append(dithering)
                 .toHashCode();
     }
 }
@@ -18,18 +18,24 @@
  */
 package org.sejda.model.parameter.image;
 
+import javax.validation.constraints.Min;
+
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.parameter.PageOrientation;
 import org.sejda.model.parameter.PageSize;
 import org.sejda.model.parameter.base.MultipleSourceSingleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 
-public class JpegToPdfParameters extends MultipleSourceSingleOutputParameters {
+public class JpegToPdfParameters extends MultipleSourceSingleOutputParameters
+        implements ParallelizableTaskParameters {
 
     private PageSize pageSize = PageSize.A4;
     private boolean pageSizeMatchImageSize = false;
     private PageOrientation pageOrientation = PageOrientation.AUTO;
     private float marginInches;
+    @Min(1)
+    private int parallelism = 1;
 
     @Override
     public boolean equals(Object o) {
@@ -44,6 +50,7 @@ public class JpegToPdfParameters extends MultipleSourceSingleOutputParameters {
                 .append(pageSize, other.pageSize)
                 .append(pageOrientation, other.pageOrientation)
                 .append(marginInches, other.marginInches)
+                .append(parallelism, other.parallelism)
                 .isEquals();
     }
 
@@ -55,6 +62,7 @@ public class JpegToPdfParameters extends MultipleSourceSingleOutputParameters {
                 .append(pageSizeMatchImageSize)
                 .append(pageOrientation)
                 .append(marginInches)
+                .append(parallelism)
                 .toHashCode();
     }
 
@@ -89,4 +97,18 @@ public class JpegToPdfParameters extends MultipleSourceSingleOutputParameters {
     public void setMarginInches(float marginInches) {
         this.marginInches = marginInches;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            number of images decoded concurrently
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
 }
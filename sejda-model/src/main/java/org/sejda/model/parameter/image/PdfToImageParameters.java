@@ -23,6 +23,11 @@ import org.sejda.model.parameter.base.TaskParameters;
 
 public interface PdfToImageParameters extends TaskParameters {
 
+    /**
+     * Gray level used as black and white threshold when none is specified
+     */
+    int DEFAULT_BLACK_AND_WHITE_THRESHOLD = 128;
+
     ImageColorType getOutputImageColorType();
 
     void setOutputImageColorType(ImageColorType outputImageColorType);
@@ -30,4 +35,42 @@ public interface PdfToImageParameters extends TaskParameters {
     int getResolutionInDpi();
 
     void setResolutionInDpi(int resolutionInDpi);
+
+    /**
+     * @return true if pages should be rendered in bands, bounding the memory used to render large pages
+     */
+    boolean isTiledRendering();
+
+    /**
+     * @param tiledRendering
+     *            if true pages are rendered and written in horizontal bands so that the memory needed is proportional to
+     *            the band size instead of the page size. Useful for very large pages or high resolutions, at the cost of
+     *            processing the page content once per band.
+     */
+    void setTiledRendering(boolean tiledRendering);
+
+    /**
+     * @return the gray level, between 0 and 255, below which a pixel is black when pages are rendered to black and
+     *         white
+     */
+    int getBlackAndWhiteThreshold();
+
+    /**
+     * @param threshold
+     *            the gray level, between 0 and 255, below which a pixel is black when pages are rendered to black and
+     *            white. It's the threshold the error is diffused around when dithering.
+     */
+    void setBlackAndWhiteThreshold(int threshold);
+
+    /**
+     * @return true if Floyd-Steinberg error diffusion is used when pages are rendered to black and white
+     */
+    boolean isDithering();
+
+    /**
+     * @param dithering
+     *            if true pages rendered to black and white use Floyd-Steinberg error diffusion, preserving shades of
+     *            gray as dots density, instead of a plain threshold
+     */
+    void setDithering(boolean dithering);
 }
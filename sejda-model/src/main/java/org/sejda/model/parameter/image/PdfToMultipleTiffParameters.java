@@ -26,6 +26,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.image.ImageType;
 import org.sejda.model.image.TiffCompressionType;
+import org.sejda.model.validation.constraint.DeflateLevel;
 
 /**
  * Parameter meant to convert an existing pdf source to multiple TIFF images.
@@ -37,6 +38,8 @@ public class PdfToMultipleTiffParameters extends AbstractPdfToMultipleImageParam
 
     @NotNull
     private TiffCompressionType compressionType = TiffCompressionType.NONE;
+    @DeflateLevel(min = 1)
+    private int compressionLevel = -1;
 
     public PdfToMultipleTiffParameters(ImageColorType outputImageColorType) {
         this(outputImageColorType, TiffCompressionType.NONE);
@@ -61,9 +64,24 @@ public class PdfToMultipleTiffParameters extends AbstractPdfToMultipleImageParam
         this.compressionType = compressionType;
     }
 
+    @Override
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @param compressionLevel
+     *            deflate compression level, from 1 (fastest) to 9 (smallest), used for the Deflate and ZLib
+     *            compression types. -1 to use the writer default.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compressionType).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compressionType).append(compressionLevel)
+                .toHashCode();
     }
 
     @Override
@@ -73,6 +91,7 @@ public class PdfToMultipleTiffParameters extends AbstractPdfToMultipleImageParam
         }
         PdfToMultipleTiffParameters parameter = (PdfToMultipleTiffParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other))
-                .append(compressionType, parameter.getCompressionType()).isEquals();
+                .append(compressionType, parameter.getCompressionType())
+                .append(compressionLevel, parameter.getCompressionLevel()).isEquals();
     }
 }
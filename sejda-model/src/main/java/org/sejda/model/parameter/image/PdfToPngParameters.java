@@ -19,8 +19,10 @@
 package org.sejda.model.parameter.image;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.image.ImageType;
+import org.sejda.model.validation.constraint.DeflateLevel;
 
 /**
  * Parameters to converta PDF to png images
@@ -30,6 +32,9 @@ import org.sejda.model.image.ImageType;
  */
 public class PdfToPngParameters extends AbstractPdfToMultipleImageParameters {
 
+    @DeflateLevel
+    private int compressionLevel = -1;
+
     public PdfToPngParameters(ImageColorType type) {
         super(type);
     }
@@ -39,6 +44,25 @@ public class PdfToPngParameters extends AbstractPdfToMultipleImageParameters {
         return ImageType.PNG;
     }
 
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @param compressionLevel
+     *            deflate compression level, from 0 (no compression, fastest) to 9 (smallest, slowest). -1 to use the
+     *            writer default. The JDK PNG writer supports compression settings only since Java 9, on Java 8 the
+     *            level is ignored.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compressionLevel).toHashCode();
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
@@ -47,6 +71,8 @@ public class PdfToPngParameters extends AbstractPdfToMultipleImageParameters {
         if (!(other instanceof PdfToPngParameters)) {
             return false;
         }
-        return new EqualsBuilder().appendSuper(super.equals(other)).isEquals();
+        PdfToPngParameters parameter = (PdfToPngParameters) other;
+        return new EqualsBuilder().appendSuper(super.equals(other)).append(compressionLevel, parameter.compressionLevel)
+                .isEquals();
     }
 }
@@ -27,6 +27,7 @@ import org.sejda.model.SejdaFileExtensions;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.image.ImageType;
 import org.sejda.model.image.TiffCompressionType;
+import org.sejda.model.validation.constraint.DeflateLevel;
 import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
 
 /**
@@ -41,6 +42,8 @@ public class PdfToSingleTiffParameters extends AbstractPdfToSingleImageParameter
 
     @NotNull
     private TiffCompressionType compressionType = TiffCompressionType.NONE;
+    @DeflateLevel(min = 1)
+    private int compressionLevel = -1;
 
     public PdfToSingleTiffParameters(ImageColorType outputImageColorType) {
         super(outputImageColorType);
@@ -60,9 +63,24 @@ public class PdfToSingleTiffParameters extends AbstractPdfToSingleImageParameter
         this.compressionType = compressionType;
     }
 
+    @Override
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @param compressionLevel
+     *            deflate compression level, from 1 (fastest) to 9 (smallest), used for the Deflate and ZLib
+     *            compression types. -1 to use the writer default.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compressionType).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compressionType).append(compressionLevel)
+                .toHashCode();
     }
 
     @Override
@@ -72,6 +90,7 @@ public class PdfToSingleTiffParameters extends AbstractPdfToSingleImageParameter
         }
         PdfToSingleTiffParameters parameter = (PdfToSingleTiffParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other))
-                .append(compressionType, parameter.getCompressionType()).isEquals();
+                .append(compressionType, parameter.getCompressionType())
+                .append(compressionLevel, parameter.getCompressionLevel()).isEquals();
     }
 }
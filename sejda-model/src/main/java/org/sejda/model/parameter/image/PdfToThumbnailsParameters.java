@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.image;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.sejda.common.collection.NullSafeSet;
+import org.sejda.model.image.ImageType;
+import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
+import org.sejda.model.pdf.page.PageRange;
+import org.sejda.model.pdf.page.PageRangeSelection;
+import org.sejda.model.pdf.page.PagesSelection;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+
+/**
+ * Parameters to generate low resolution thumbnails of the pages of a list of pdf sources. Pages are rendered so that
+ * their longest side is the given size in pixels. Thumbnails can be written one per page or, for every source, combined
+ * into a single sprite image where they are laid out in a grid of cells of the given size, left to right and top to
+ * bottom.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class PdfToThumbnailsParameters extends MultiplePdfSourceMultipleOutputParameters
+        implements PageRangeSelection, PagesSelection, ParallelizableTaskParameters {
+
+    public static final int DEFAULT_SIZE = 200;
+
+    @Min(1)
+    private int size = DEFAULT_SIZE;
+    @NotNull
+    private ImageType outputImageType = ImageType.JPEG;
+    @Min(0)
+    @Max(100)
+    private int quality = 80;
+    private boolean skipAnnotations = false;
+    private boolean skipTransparencyGroups = false;
+    private boolean sprite = false;
+    @Min(1)
+    private int spriteColumns = 10;
+    @Min(1)
+    private int parallelism = 1;
+    @Valid
+    private final Set<PageRange> pageSelection = new NullSafeSet<PageRange>();
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param size
+     *            size in pixels of the longest side of the thumbnails
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public ImageType getOutputImageType() {
+        return outputImageType;
+    }
+
+    public void setOutputImageType(ImageType outputImageType) {
+        this.outputImageType = outputImageType;
+    }
+
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * @param quality
+     *            quality of the thumbnails where 0 is lowest (high compression) and 100 is highest (low compression).
+     *            Only used for {@link ImageType#JPEG}.
+     */
+    public void setQuality(int quality) {
+        this.quality = quality;
+    }
+
+    public boolean isSkipAnnotations() {
+        return skipAnnotations;
+    }
+
+    /**
+     * @param skipAnnotations
+     *            if true the pages annotations are not rendered
+     */
+    public void setSkipAnnotations(boolean skipAnnotations) {
+        this.skipAnnotations = skipAnnotations;
+    }
+
+    public boolean isSkipTransparencyGroups() {
+        return skipTransparencyGroups;
+    }
+
+    /**
+     * @param skipTransparencyGroups
+     *            if true transparency groups, expensive to render since they are drawn on a separate image and then
+     *            composited, are not rendered
+     */
+    public void setSkipTransparencyGroups(boolean skipTransparencyGroups) {
+        this.skipTransparencyGroups = skipTransparencyGroups;
+    }
+
+    public boolean isSprite() {
+        return sprite;
+    }
+
+    /**
+     * @param sprite
+     *            if true the thumbnails of each source are combined into a single image
+     */
+    public void setSprite(boolean sprite) {
+        this.sprite = sprite;
+    }
+
+    public int getSpriteColumns() {
+        return spriteColumns;
+    }
+
+    /**
+     * @param spriteColumns
+     *            number of thumbnails per row of the sprite image
+     */
+    public void setSpriteColumns(int spriteColumns) {
+        this.spriteColumns = spriteColumns;
+    }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            number of pages rendered concurrently
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void addPageRange(PageRange range) {
+        pageSelection.add(range);
+    }
+
+    public void addAllPageRanges(Collection<PageRange> ranges) {
+        pageSelection.addAll(ranges);
+    }
+
+    /**
+     * @return an unmodifiable view of the pageSelection
+     */
+    @Override
+    public Set<PageRange> getPageSelection() {
+        return Collections.unmodifiableSet(pageSelection);
+    }
+
+    /**
+     * @param upperLimit
+     *            the number of pages of the document (upper limit).
+     * @return the selected set of pages. Iteration ordering is predictable, it is the order in which elements were
+     *         inserted into the {@link PageRange} set or the natural order in case of all pages.
+     * @see org.sejda.model.pdf.page.PagesSelection#getPages(int)
+     */
+    @Override
+    public Set<Integer> getPages(int upperLimit) {
+        if (pageSelection.isEmpty()) {
+            return PredefinedSetOfPages.ALL_PAGES.getPages(upperLimit);
+        }
+        Set<Integer> retSet = new NullSafeSet<Integer>();
+        for (PageRange range : getPageSelection()) {
+            retSet.addAll(range.getPages(upperLimit));
+        }
+        return retSet;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(size).append(outputImageType)
+                .append(quality).append(skipAnnotations).append(skipTransparencyGroups).append(sprite)
+                .append(spriteColumns).append(parallelism).append(pageSelection).toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PdfToThumbnailsParameters)) {
+            return false;
+        }
+        PdfToThumbnailsParameters parameter = (PdfToThumbnailsParameters) other;
+        return new EqualsBuilder().appendSuper(super.equals(other)).append(size, parameter.size)
+                .append(outputImageType, parameter.outputImageType).append(quality, parameter.quality)
+                .append(skipAnnotations, parameter.skipAnnotations)
+                .append(skipTransparencyGroups, parameter.skipTransparencyGroups).append(sprite, parameter.sprite)
+                .append(spriteColumns, parameter.spriteColumns).append(parallelism, parameter.parallelism)
+                .append(pageSelection, parameter.pageSelection).isEquals();
+    }
+}
@@ -32,4 +32,10 @@ public interface PdfToTiffParameters {
      * @return tiff compression type
      */
     TiffCompressionType getCompressionType();
+
+    /**
+     * @return deflate compression level, from 1 (fastest) to 9 (smallest), used for the Deflate and ZLib compression
+     *         types. -1 to use the writer default.
+     */
+    int getCompressionLevel();
 }
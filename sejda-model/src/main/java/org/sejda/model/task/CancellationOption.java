@@ -20,12 +20,47 @@ package org.sejda.model.task;
 
 import static java.util.Objects.nonNull;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Option to cancel a task execution, either explicitly or automatically once a timeout has elapsed since the execution
+ * started.
+ */
 public class CancellationOption {
 
     private TaskExecutionContext executionContext;
+    private long timeout = 0;
+    private TimeUnit timeoutUnit = TimeUnit.MILLISECONDS;
+
+    public CancellationOption() {
+        // no timeout
+    }
+
+    /**
+     * @param timeout
+     *            a positive timeout after which the execution is cancelled
+     * @param unit
+     */
+    public CancellationOption(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be a positive number");
+        }
+        this.timeout = timeout;
+        this.timeoutUnit = unit;
+    }
 
     public void setExecutionContext(TaskExecutionContext executionContext) {
         this.executionContext = executionContext;
+        if (nonNull(executionContext) && hasTimeout()) {
+            executionContext.timeout(timeout, timeoutUnit);
+        }
+    }
+
+    /**
+     * @return true if the execution is cancelled once a timeout has elapsed
+     */
+    public boolean hasTimeout() {
+        return timeout > 0;
     }
 
     public boolean isCancellable() {
@@ -20,16 +20,20 @@ package org.sejda.model.task;
 
 import static java.util.Objects.isNull;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskNonLenientExecutionException;
+import org.sejda.model.exception.TaskTimeoutException;
 import org.sejda.model.parameter.base.TaskParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Mutable context holding a task execution
+ * Mutable context holding a task execution. Cancellation and timeout can be requested by any thread and are visible to
+ * the threads executing the task.
  * 
  * @author Andrea Vacondio
  */
@@ -38,10 +42,13 @@ public class TaskExecutionContext {
 
     private StopWatch stopWatch = new StopWatch();
     private NotifiableTaskMetadata taskMetadata;
-    private boolean cancelled = false;
+    private volatile boolean cancelled = false;
+    private volatile boolean hasDeadline = false;
+    private volatile long deadline;
     private Task<? extends TaskParameters> task;
     private boolean lenient;
     private int outputDocumentsCounter = 0;
+    private final TaskMetrics metrics = new TaskMetrics();
 
     public TaskExecutionContext(Task<? extends TaskParameters> task, boolean lenient) {
         if (isNull(task)) {
@@ -60,9 +67,47 @@ public class TaskExecutionContext {
         this.cancelled = true;
     }
 
+    /**
+     * Sets a deadline for this execution, once the given timeout has elapsed the task is considered cancelled
+     * 
+     * @param timeout
+     *            a positive timeout
+     * @param unit
+     */
+    public void timeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be a positive number");
+        }
+        this.deadline = System.nanoTime() + unit.toNanos(timeout);
+        this.hasDeadline = true;
+    }
+
+    /**
+     * @return true if a deadline has been set for this execution and it has passed
+     */
+    public boolean isTimedOut() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * @throws TaskCancelledException
+     *             if the task has been cancelled or a {@link TaskTimeoutException} if its deadline has passed
+     */
     public void assertTaskNotCancelled() throws TaskCancelledException {
-        if (cancelled)
+        if (cancelled) {
             throw new TaskCancelledException();
+        }
+        if (isTimedOut()) {
+            throw new TaskTimeoutException(String.format("Task (%s) timed out", task));
+        }
+    }
+
+    /**
+     * @return true if the task has been cancelled or its deadline has passed. Useful for components that cannot throw
+     *         a {@link TaskCancelledException} but should stop their work as soon as possible.
+     */
+    public boolean isTaskCancelled() {
+        return cancelled || isTimedOut();
     }
 
     @SuppressWarnings("rawtypes")
@@ -78,12 +123,22 @@ public class TaskExecutionContext {
         stopWatch.stop();
         LOG.info("Task ({}) executed in {}", task,
                 DurationFormatUtils.formatDurationWords(stopWatch.getTime(), true, true));
+        if (!metrics.isEmpty()) {
+            LOG.debug("Task ({}) metrics {}", task, metrics);
+        }
     }
 
     public long executionTime() {
         return stopWatch.getTime();
     }
 
+    /**
+     * @return the metrics of this execution, where components can time phases and update counters
+     */
+    public TaskMetrics metrics() {
+        return metrics;
+    }
+
     public int incrementAndGetOutputDocumentsCounter() {
         return ++outputDocumentsCounter;
     }
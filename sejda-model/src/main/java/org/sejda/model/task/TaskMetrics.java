@@ -0,0 +1,240 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Metrics collected during a task execution: the time spent in named phases of the execution and named counters. The
+ * same phase can be timed multiple times, ex. once for every input document, and its time is the sum of all the
+ * timings. Metrics can be collected from multiple threads.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class TaskMetrics implements Serializable {
+
+    private static final long serialVersionUID = 4620451766519427139L;
+
+    /**
+     * Parsing of the input documents
+     */
+    public static final String PARSING = "parsing";
+    /**
+     * Import of the pages of the input documents
+     */
+    public static final String PAGES_IMPORT = "pages.import";
+    /**
+     * Annotations processing
+     */
+    public static final String ANNOTATIONS = "annotations";
+    /**
+     * Outline processing
+     */
+    public static final String OUTLINE = "outline";
+    /**
+     * AcroForms processing
+     */
+    public static final String FORMS = "forms";
+    /**
+     * Optimization of the generated documents
+     */
+    public static final String OPTIMIZATION = "optimization";
+    /**
+     * Save of the generated documents to the temporary buffers
+     */
+    public static final String SAVE = "save";
+
+    /**
+     * Number of input documents processed
+     */
+    public static final String SOURCES = "sources";
+    /**
+     * Number of pages processed
+     */
+    public static final String PAGES = "pages";
+    /**
+     * Size in bytes of the input files
+     */
+    public static final String BYTES_READ = "bytes.read";
+    /**
+     * Size in bytes of the written outputs
+     */
+    public static final String BYTES_WRITTEN = "bytes.written";
+    /**
+     * Number of written outputs
+     */
+    public static final String OUTPUTS = "outputs";
+    /**
+     * Max size in bytes of the temporary buffers waiting to be written to the task output
+     */
+    public static final String PEAK_TEMP_SPACE = "temp.space.peak";
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    public TaskMetrics() {
+        // empty
+    }
+
+    /**
+     * Copy constructor
+     * 
+     * @param other
+     */
+    public TaskMetrics(TaskMetrics other) {
+        synchronized (other) {
+            this.phases.putAll(other.phases);
+            this.counters.putAll(other.counters);
+        }
+    }
+
+    /**
+     * Starts timing the given phase, the time is added to the phase when the returned timer is closed:
+     * 
+     * <pre>
+     * {@code
+     * try (Timer timer = metrics.start(TaskMetrics.SAVE)) {
+     *     ...
+     * }
+     * }
+     * </pre>
+     * 
+     * @param phase
+     * @return the timer
+     */
+    public Timer start(String phase) {
+        if (isBlank(phase)) {
+            throw new IllegalArgumentException("Phase name cannot be blank");
+        }
+        return new Timer(phase, System.nanoTime());
+    }
+
+    /**
+     * Adds the given amount of nanoseconds to the time spent in the given phase
+     * 
+     * @param phase
+     * @param nanos
+     */
+    public synchronized void addTime(String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Adds one to the given counter
+     * 
+     * @param counter
+     */
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    /**
+     * Adds the given amount to the given counter
+     * 
+     * @param counter
+     * @param amount
+     */
+    public synchronized void add(String counter, long amount) {
+        counters.merge(counter, amount, Long::sum);
+    }
+
+    /**
+     * Sets the given counter to the given value, if the value is greater than the current one. Used for peak values.
+     * 
+     * @param counter
+     * @param value
+     */
+    public synchronized void max(String counter, long value) {
+        counters.merge(counter, value, Math::max);
+    }
+
+    /**
+     * @param phase
+     * @return the time in milliseconds spent in the given phase, 0 if the phase was never timed
+     */
+    public synchronized long time(String phase) {
+        return TimeUnit.NANOSECONDS.toMillis(phases.getOrDefault(phase, 0L));
+    }
+
+    /**
+     * @param counter
+     * @return the value of the given counter, 0 if never set
+     */
+    public synchronized long counter(String counter) {
+        return counters.getOrDefault(counter, 0L);
+    }
+
+    /**
+     * @return the timed phases and the milliseconds spent in each one of them, in the order they were first timed
+     */
+    public synchronized Map<String, Long> phases() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        phases.forEach((k, v) -> millis.put(k, TimeUnit.NANOSECONDS.toMillis(v)));
+        return Collections.unmodifiableMap(millis);
+    }
+
+    /**
+     * @return the counters and their values, in the order they were first set
+     */
+    public synchronized Map<String, Long> counters() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(counters));
+    }
+
+    public synchronized boolean isEmpty() {
+        return phases.isEmpty() && counters.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("phases", phases())
+                .append("counters", counters()).toString();
+    }
+
+    /**
+     * Timing of a phase, the elapsed time is added to the phase when closed
+     */
+    public class Timer implements AutoCloseable {
+        private final String phase;
+        private final long start;
+        private boolean closed = false;
+
+        private Timer(String phase, long start) {
+            this.phase = phase;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                addTime(phase, System.nanoTime() - start);
+            }
+        }
+    }
+}
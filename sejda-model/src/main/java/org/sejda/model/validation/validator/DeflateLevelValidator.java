@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.validation.validator;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+import org.sejda.model.validation.constraint.DeflateLevel;
+
+/**
+ * Validates a deflate compression level, -1 stands for the writer default.
+ * 
+ * @author Andrea Vacondio
+ */
+public class DeflateLevelValidator implements ConstraintValidator<DeflateLevel, Integer> {
+
+    private int min;
+
+    @Override
+    public void initialize(DeflateLevel constraintAnnotation) {
+        min = constraintAnnotation.min();
+    }
+
+    @Override
+    public boolean isValid(Integer value, ConstraintValidatorContext context) {
+        return value == null || value == -1 || (value >= min && value <= 9);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.sejda.model.exception.TaskIOException;
+
+/**
+ * @author Andrea Vacondio
+ * 
+ */
+public class PdfByteBufferSourceTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSource() {
+        PdfByteBufferSource.newInstanceWithPassword(null, "name", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullName() {
+        PdfByteBufferSource.newInstanceNoPassword(ByteBuffer.allocate(2), null);
+    }
+
+    @Test
+    public void valid() {
+        PdfByteBufferSource instance = PdfByteBufferSource.newInstanceWithPassword(ByteBuffer.allocate(2), "name",
+                "pwd");
+        assertEquals("name", instance.getName());
+        assertEquals("pwd", instance.getPassword());
+        assertEquals(2, instance.getSource().remaining());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void opener() throws TaskIOException {
+        PdfSourceOpener opener = mock(PdfSourceOpener.class);
+        PdfByteBufferSource instance = PdfByteBufferSource.newInstanceNoPassword(ByteBuffer.allocate(2), "name");
+        instance.open(opener);
+        verify(opener).open(instance);
+    }
+
+    @Test
+    public void defaultOpenerReadsAsStream() throws TaskIOException {
+        PdfSourceOpener<String> opener = new StreamOnlyOpener();
+        assertEquals("name:pwd:3", PdfByteBufferSource
+                .newInstanceWithPassword((ByteBuffer) ByteBuffer.allocate(4).position(1), "name", "pwd").open(opener));
+    }
+}
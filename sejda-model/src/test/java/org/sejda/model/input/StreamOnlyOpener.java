@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.input;
+
+import java.io.IOException;
+
+import org.sejda.model.exception.TaskIOException;
+
+/**
+ * Opener relying on the default implementations for byte sources, it describes the opened stream source
+ * 
+ * @author Andrea Vacondio
+ * 
+ */
+class StreamOnlyOpener implements PdfSourceOpener<String> {
+
+    @Override
+    public String open(PdfURLSource source) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String open(PdfFileSource source) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String open(PdfStreamSource source) throws TaskIOException {
+        try {
+            return source.getName() + ":" + source.getPassword() + ":" + source.getSource().available();
+        } catch (IOException e) {
+            throw new TaskIOException(e);
+        }
+    }
+}
@@ -19,15 +19,20 @@
  */
 package org.sejda.model.parameter.image;
 
+import java.io.InputStream;
+
 import org.junit.Test;
 import org.sejda.TestUtils;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.image.TiffCompressionType;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.SingleOrMultipleTaskOutput;
 import org.sejda.model.pdf.page.PageRange;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author Andrea Vacondio
@@ -45,6 +50,16 @@ public class PdfToMultipleTiffParametersTest {
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
 
+    @Test
+    public void testEqualsCompressionLevel() {
+        PdfToMultipleTiffParameters eq1 = new PdfToMultipleTiffParameters(ImageColorType.GRAY_SCALE);
+        PdfToMultipleTiffParameters eq2 = new PdfToMultipleTiffParameters(ImageColorType.GRAY_SCALE);
+        PdfToMultipleTiffParameters eq3 = new PdfToMultipleTiffParameters(ImageColorType.GRAY_SCALE);
+        PdfToMultipleTiffParameters diff = new PdfToMultipleTiffParameters(ImageColorType.GRAY_SCALE);
+        diff.setCompressionLevel(9);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+
     @Test
     public void testGetPageSelection() {
         PdfToMultipleTiffParameters victim = new PdfToMultipleTiffParameters(ImageColorType.GRAY_SCALE);
@@ -62,4 +77,13 @@ public class PdfToMultipleTiffParametersTest {
         victim2.addPageRange(new PageRange(12));
         assertEquals(4, victim2.getPages(15).size());
     }
+
+    @Test
+    public void invalidCompressionLevel() {
+        PdfToMultipleTiffParameters victim = new PdfToMultipleTiffParameters(ImageColorType.GRAY_SCALE);
+        victim.addSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        victim.setOutput(mock(SingleOrMultipleTaskOutput.class));
+        victim.setCompressionLevel(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
 }
@@ -18,9 +18,15 @@
  */
 package org.sejda.model.parameter.image;
 
+import static org.mockito.Mockito.mock;
+
+import java.io.InputStream;
+
 import org.junit.Test;
 import org.sejda.TestUtils;
 import org.sejda.model.image.ImageColorType;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.SingleOrMultipleTaskOutput;
 
 /**
  * @author Andrea Vacondio
@@ -36,4 +42,43 @@ public class PdfToPngParametersTest {
         diff.setResolutionInDpi(120);
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
+
+    @Test
+    public void testEqualsCompressionLevel() {
+        PdfToPngParameters eq1 = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        PdfToPngParameters eq2 = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        PdfToPngParameters eq3 = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        PdfToPngParameters diff = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        diff.setCompressionLevel(1);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+
+    @Test
+    public void invalidCompressionLevel() {
+        PdfToPngParameters victim = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        victim.addSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        victim.setOutput(mock(SingleOrMultipleTaskOutput.class));
+        victim.setCompressionLevel(10);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
+    @Test
+    public void testEqualsBlackAndWhite() {
+        PdfToPngParameters eq1 = new PdfToPngParameters(ImageColorType.BLACK_AND_WHITE);
+        PdfToPngParameters eq2 = new PdfToPngParameters(ImageColorType.BLACK_AND_WHITE);
+        PdfToPngParameters eq3 = new PdfToPngParameters(ImageColorType.BLACK_AND_WHITE);
+        PdfToPngParameters diff = new PdfToPngParameters(ImageColorType.BLACK_AND_WHITE);
+        diff.setBlackAndWhiteThreshold(100);
+        diff.setDithering(true);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+
+    @Test
+    public void invalidThreshold() {
+        PdfToPngParameters victim = new PdfToPngParameters(ImageColorType.BLACK_AND_WHITE);
+        victim.addSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        victim.setOutput(mock(SingleOrMultipleTaskOutput.class));
+        victim.setBlackAndWhiteThreshold(256);
+        TestUtils.assertInvalidParameters(victim);
+    }
 }
@@ -39,4 +39,24 @@ public class PdfToSingleTiffParametersTest {
         diff.setCompressionType(TiffCompressionType.JPEG_TTN2);
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
+
+    @Test
+    public void testEqualsCompressionLevel() {
+        PdfToSingleTiffParameters eq1 = new PdfToSingleTiffParameters(ImageColorType.GRAY_SCALE);
+        PdfToSingleTiffParameters eq2 = new PdfToSingleTiffParameters(ImageColorType.GRAY_SCALE);
+        PdfToSingleTiffParameters eq3 = new PdfToSingleTiffParameters(ImageColorType.GRAY_SCALE);
+        PdfToSingleTiffParameters diff = new PdfToSingleTiffParameters(ImageColorType.GRAY_SCALE);
+        diff.setCompressionLevel(9);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+
+    @Test
+    public void testEqualsBlackAndWhite() {
+        PdfToSingleTiffParameters eq1 = new PdfToSingleTiffParameters(ImageColorType.BLACK_AND_WHITE);
+        PdfToSingleTiffParameters eq2 = new PdfToSingleTiffParameters(ImageColorType.BLACK_AND_WHITE);
+        PdfToSingleTiffParameters eq3 = new PdfToSingleTiffParameters(ImageColorType.BLACK_AND_WHITE);
+        PdfToSingleTiffParameters diff = new PdfToSingleTiffParameters(ImageColorType.BLACK_AND_WHITE);
+        diff.setDithering(true);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
 }
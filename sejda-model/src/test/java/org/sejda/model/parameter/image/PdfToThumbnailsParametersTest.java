@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.image;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.sejda.TestUtils;
+import org.sejda.model.image.ImageType;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.SingleOrMultipleTaskOutput;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PdfToThumbnailsParametersTest {
+
+    @Test
+    public void testEquals() {
+        PdfToThumbnailsParameters eq1 = new PdfToThumbnailsParameters();
+        PdfToThumbnailsParameters eq2 = new PdfToThumbnailsParameters();
+        PdfToThumbnailsParameters eq3 = new PdfToThumbnailsParameters();
+        PdfToThumbnailsParameters diff = new PdfToThumbnailsParameters();
+        diff.setSprite(true);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+
+    @Test
+    public void invalidSize() {
+        PdfToThumbnailsParameters victim = validParameters();
+        victim.setSize(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
+    @Test
+    public void invalidQuality() {
+        PdfToThumbnailsParameters victim = validParameters();
+        victim.setQuality(101);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
+    @Test
+    public void invalidSpriteColumns() {
+        PdfToThumbnailsParameters victim = validParameters();
+        victim.setSpriteColumns(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
+    @Test
+    public void nullImageType() {
+        PdfToThumbnailsParameters victim = validParameters();
+        victim.setOutputImageType(null);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
+    private static PdfToThumbnailsParameters validParameters() {
+        PdfToThumbnailsParameters parameters = new PdfToThumbnailsParameters();
+        parameters.setOutputImageType(ImageType.PNG);
+        parameters.addSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        parameters.setOutput(mock(SingleOrMultipleTaskOutput.class));
+        return parameters;
+    }
+}
@@ -18,12 +18,17 @@
  */
 package org.sejda.model.task;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.exception.TaskNonLenientExecutionException;
+import org.sejda.model.exception.TaskTimeoutException;
 
 /**
  * @author Andrea Vacondio
@@ -49,6 +54,48 @@ public class TaskExecutionContextTest {
         victim.assertTaskNotCancelled();
     }
 
+    @Test(expected = TaskTimeoutException.class)
+    public void timedOut() throws TaskCancelledException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.timeout(1, TimeUnit.NANOSECONDS);
+        assertTrue(victim.isTimedOut());
+        assertTrue(victim.isTaskCancelled());
+        victim.assertTaskNotCancelled();
+    }
+
+    @Test
+    public void notTimedOut() throws TaskCancelledException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.timeout(1, TimeUnit.HOURS);
+        assertFalse(victim.isTimedOut());
+        assertFalse(victim.isTaskCancelled());
+        victim.assertTaskNotCancelled();
+    }
+
+    @Test
+    public void cancelledFromAnotherThread() throws InterruptedException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        Thread canceller = new Thread(victim::cancelTask);
+        canceller.start();
+        canceller.join();
+        assertTrue(victim.isTaskCancelled());
+    }
+
+    @Test
+    public void cancellationOptionTimeout() {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        CancellationOption option = new CancellationOption(1, TimeUnit.NANOSECONDS);
+        assertTrue(option.hasTimeout());
+        option.setExecutionContext(victim);
+        assertTrue(victim.isTimedOut());
+        assertFalse(new CancellationOption().hasTimeout());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTimeout() {
+        new CancellationOption(0, TimeUnit.SECONDS);
+    }
+
     @Test
     public void lenient() throws TaskExecutionException {
         TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.sejda.model.task.TaskMetrics.Timer;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TaskMetricsTest {
+
+    @Test
+    public void counters() {
+        TaskMetrics victim = new TaskMetrics();
+        assertTrue(victim.isEmpty());
+        assertEquals(0, victim.counter(TaskMetrics.PAGES));
+        victim.increment(TaskMetrics.PAGES);
+        victim.add(TaskMetrics.PAGES, 3);
+        victim.add(TaskMetrics.BYTES_WRITTEN, 10);
+        assertEquals(4, victim.counter(TaskMetrics.PAGES));
+        assertEquals(Arrays.asList(TaskMetrics.PAGES, TaskMetrics.BYTES_WRITTEN),
+                new ArrayList<>(victim.counters().keySet()));
+        assertFalse(victim.isEmpty());
+    }
+
+    @Test
+    public void max() {
+        TaskMetrics victim = new TaskMetrics();
+        victim.max(TaskMetrics.PEAK_TEMP_SPACE, 10);
+        victim.max(TaskMetrics.PEAK_TEMP_SPACE, 5);
+        assertEquals(10, victim.counter(TaskMetrics.PEAK_TEMP_SPACE));
+        victim.max(TaskMetrics.PEAK_TEMP_SPACE, 20);
+        assertEquals(20, victim.counter(TaskMetrics.PEAK_TEMP_SPACE));
+    }
+
+    @Test
+    public void phases() throws InterruptedException {
+        TaskMetrics victim = new TaskMetrics();
+        try (Timer timer = victim.start(TaskMetrics.SAVE)) {
+            Thread.sleep(20);
+        }
+        Timer timer = victim.start(TaskMetrics.SAVE);
+        Thread.sleep(20);
+        timer.close();
+        timer.close();
+        victim.addTime(TaskMetrics.PARSING, 5_000_000);
+        assertTrue(victim.time(TaskMetrics.SAVE) >= 40);
+        assertEquals(5, victim.time(TaskMetrics.PARSING));
+        assertEquals(0, victim.time(TaskMetrics.FORMS));
+        assertEquals(Arrays.asList(TaskMetrics.SAVE, TaskMetrics.PARSING), new ArrayList<>(victim.phases().keySet()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blankPhase() {
+        new TaskMetrics().start(" ");
+    }
+
+    @Test
+    public void copy() {
+        TaskMetrics victim = new TaskMetrics();
+        victim.increment(TaskMetrics.OUTPUTS);
+        TaskMetrics copy = new TaskMetrics(victim);
+        victim.increment(TaskMetrics.OUTPUTS);
+        assertEquals(1, copy.counter(TaskMetrics.OUTPUTS));
+        assertEquals(2, victim.counter(TaskMetrics.OUTPUTS));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.validation.validator;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.validation.constraint.DeflateLevel;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class DeflateLevelValidatorTest {
+    private DeflateLevelValidator victim = new DeflateLevelValidator();
+
+    @Before
+    public void setUp() {
+        DeflateLevel constraint = mock(DeflateLevel.class);
+        when(constraint.min()).thenReturn(1);
+        victim.initialize(constraint);
+    }
+
+    @Test
+    public void writerDefault() {
+        assertTrue(victim.isValid(-1, null));
+        assertTrue(victim.isValid(null, null));
+    }
+
+    @Test
+    public void inRange() {
+        assertTrue(victim.isValid(1, null));
+        assertTrue(victim.isValid(9, null));
+    }
+
+    @Test
+    public void outOfRange() {
+        assertFalse(victim.isValid(0, null));
+        assertFalse(victim.isValid(10, null));
+        assertFalse(victim.isValid(-2, null));
+    }
+}
@@ -30,6 +30,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
@@ -38,7 +40,9 @@ import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
-import org.sejda.impl.sambox.ocr.component.OCR;
+import org.sejda.impl.sambox.ocr.component.OCRPool;
+import org.sejda.impl.sambox.ocr.component.OcrExecutor;
+import org.sejda.impl.sambox.ocr.component.OcrResultsCache;
 import org.sejda.impl.sambox.ocr.component.OcrTextExtractor;
 import org.sejda.model.SejdaFileExtensions;
 import org.sejda.model.exception.TaskException;
@@ -64,12 +68,17 @@ public class OcrTextByPagesTask extends BaseTask<OcrTextByPagesParameters> {
     private PDDocumentHandler documentHandler = null;
     private MultipleOutputWriter outputWriter;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private OCRPool ocrEngines;
+    private OcrExecutor ocrExecutor;
+    private int totalSteps;
 
     @Override
     public void before(OcrTextByPagesParameters parameters, TaskExecutionContext executionContext)
             throws TaskException {
         super.before(parameters, executionContext);
         documentLoader = new DefaultPdfSourceOpener();
+        ocrEngines = new OCRPool(parameters.getParallelism());
+        ocrExecutor = new OcrExecutor(ocrEngines, parameters.getParallelism());
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
     }
 
@@ -89,37 +98,48 @@ public class OcrTextByPagesTask extends BaseTask<OcrTextByPagesParameters> {
         }
 
         int currentStep = 0;
-        int totalSteps = pages.size();
-
-        for (Integer current : pages) {
-            executionContext().assertTaskNotCancelled();
-            currentStep++;
-            LOG.debug("Extracting text from page {}", current);
-
-            File tmpFile = createTemporaryBuffer();
-            LOG.debug("Created output on temporary buffer {}", tmpFile);
-            // add the language if the doc has one set
-            ofNullable(documentHandler.getUnderlyingPDDocument().getDocumentCatalog().getLanguage())
-                    .map(l -> new Locale.Builder().setLanguageTag(l).build()).filter(Objects::nonNull)
-                    .ifPresent(parameters::addLanguage);
-
-            try (OcrTextExtractor ocrExtractor = new OcrTextExtractor(
-                    Files.newBufferedWriter(tmpFile.toPath(), Charset.forName(parameters.getTextEncoding())),
-                    new OCR())) {
-                ocrExtractor.setLanguage(parameters.getLanguages());
-                ocrExtractor.accept(documentHandler.getPage(current));
-            } catch (IOException e) {
-                throw new TaskExecutionException("An error occurred creating a file writer", e);
-            } catch (UnsatisfiedLinkError err) {
-                throw new TaskExecutionException("Unable to find Tesseract native libraries", err);
+        totalSteps = pages.size();
+        // pages whose images may still be recognized by the OCR workers while we move to the next pages
+        Deque<PageInProgress> inProgress = new ArrayDeque<>();
+        // images repeated in the document are recognized once
+        OcrResultsCache resultsCache = new OcrResultsCache(true);
+
+        try {
+            for (Integer current : pages) {
+                executionContext().assertTaskNotCancelled();
+                currentStep++;
+                LOG.debug("Extracting text from page {}", current);
+
+                File tmpFile = createTemporaryBuffer();
+                LOG.debug("Created output on temporary buffer {}", tmpFile);
+                // add the language if the doc has one set
+                ofNullable(documentHandler.getUnderlyingPDDocument().getDocumentCatalog().getLanguage())
+                        .map(l -> new Locale.Builder().setLanguageTag(l).build()).filter(Objects::nonNull)
+                        .ifPresent(parameters::addLanguage);
+
+                try {
+                    OcrTextExtractor ocrExtractor = new OcrTextExtractor(
+                            Files.newBufferedWriter(tmpFile.toPath(), Charset.forName(parameters.getTextEncoding())),
+                            ocrExecutor);
+                    inProgress.add(new PageInProgress(ocrExtractor, tmpFile, current, currentStep));
+                    ocrExtractor.setLanguage(parameters.getLanguages());
+                    ocrExtractor.setCancellation(executionContext()::isTaskCancelled);
+                    ocrExtractor.setResultsCache(resultsCache);
+                    ocrExtractor.accept(documentHandler.getPage(current));
+                } catch (IOException e) {
+                    throw new TaskExecutionException("An error occurred creating a file writer", e);
+                }
+                while (inProgress.size() > parameters.getParallelism()) {
+                    complete(inProgress.poll(), parameters);
+                }
             }
-
-            String outName = nameGenerator(parameters.getOutputPrefix())
-                    .generate(nameRequest(SejdaFileExtensions.TXT_EXTENSION).page(current)
-                            .originalName(parameters.getSource().getName()).fileNumber(currentStep));
-            outputWriter.addOutput(file(tmpFile).name(outName));
-            // close resource
-            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep).outOf(totalSteps);
+            while (!inProgress.isEmpty()) {
+                complete(inProgress.poll(), parameters);
+            }
+        } catch (UnsatisfiedLinkError err) {
+            throw new TaskExecutionException("Unable to find Tesseract native libraries", err);
+        } finally {
+            inProgress.forEach(p -> nullSafeCloseQuietly(p.extractor));
         }
 
         parameters.getOutput().accept(outputWriter);
@@ -127,9 +147,41 @@ public class OcrTextByPagesTask extends BaseTask<OcrTextByPagesParameters> {
 
     }
 
+    private void complete(PageInProgress page, OcrTextByPagesParameters parameters) throws TaskException {
+        try {
+            page.extractor.flush();
+        } catch (IOException e) {
+            throw new TaskExecutionException("An error occurred writing the extracted text", e);
+        } finally {
+            nullSafeCloseQuietly(page.extractor);
+        }
+        executionContext().assertTaskNotCancelled();
+        String outName = nameGenerator(parameters.getOutputPrefix())
+                .generate(nameRequest(SejdaFileExtensions.TXT_EXTENSION).page(page.page)
+                        .originalName(parameters.getSource().getName()).fileNumber(page.step));
+        outputWriter.addOutput(file(page.tmpFile).name(outName));
+        notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(page.step).outOf(totalSteps);
+    }
+
+    private static class PageInProgress {
+        final OcrTextExtractor extractor;
+        final File tmpFile;
+        final int page;
+        final int step;
+
+        PageInProgress(OcrTextExtractor extractor, File tmpFile, int page, int step) {
+            this.extractor = extractor;
+            this.tmpFile = tmpFile;
+            this.page = page;
+            this.step = step;
+        }
+    }
+
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        nullSafeCloseQuietly(ocrExecutor);
+        nullSafeCloseQuietly(ocrEngines);
     }
 
 }
@@ -39,7 +39,9 @@ import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
-import org.sejda.impl.sambox.ocr.component.OCR;
+import org.sejda.impl.sambox.ocr.component.OCRPool;
+import org.sejda.impl.sambox.ocr.component.OcrExecutor;
+import org.sejda.impl.sambox.ocr.component.OcrResultsCache;
 import org.sejda.impl.sambox.ocr.component.OcrTextExtractor;
 import org.sejda.model.SejdaFileExtensions;
 import org.sejda.model.exception.TaskException;
@@ -66,12 +68,16 @@ public class OcrTextTask extends BaseTask<OcrTextParameters> {
     private PDDocumentHandler documentHandler = null;
     private MultipleOutputWriter outputWriter;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private OCRPool ocrEngines;
+    private OcrExecutor ocrExecutor;
 
     @Override
     public void before(OcrTextParameters parameters, TaskExecutionContext executionContext) throws TaskException {
         super.before(parameters, executionContext);
         totalSteps = parameters.getSourceList().size();
         documentLoader = new DefaultPdfSourceOpener();
+        ocrEngines = new OCRPool(parameters.getParallelism());
+        ocrExecutor = new OcrExecutor(ocrEngines, parameters.getParallelism());
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
     }
 
@@ -96,15 +102,20 @@ public class OcrTextTask extends BaseTask<OcrTextParameters> {
 
             try (OcrTextExtractor ocrExtractor = new OcrTextExtractor(
                     Files.newBufferedWriter(tmpFile.toPath(), Charset.forName(parameters.getTextEncoding())),
-                    new OCR())) {
+                    ocrExecutor)) {
                 ocrExtractor.setLanguage(locales);
+                ocrExtractor.setCancellation(executionContext()::isTaskCancelled);
+                // images repeated in the document are recognized once
+                ocrExtractor.setResultsCache(new OcrResultsCache(true));
                 documentHandler.getUnderlyingPDDocument().getPages().forEach(ocrExtractor::accept);
+                ocrExtractor.flush();
             } catch (IOException e) {
                 throw new TaskExecutionException("An error occurred creating a file writer", e);
             } catch (UnsatisfiedLinkError err) {
                 throw new TaskExecutionException("Unable to find Tesseract native libraries", err);
             }
 
+            executionContext().assertTaskNotCancelled();
             String outName = nameGenerator(parameters.getOutputPrefix())
                     .generate(nameRequest(SejdaFileExtensions.TXT_EXTENSION).originalName(source.getName())
                             .fileNumber(currentStep));
@@ -123,6 +134,8 @@ public class OcrTextTask extends BaseTask<OcrTextParameters> {
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        nullSafeCloseQuietly(ocrExecutor);
+        nullSafeCloseQuietly(ocrEngines);
     }
 
 }
@@ -18,30 +18,100 @@
  */
 package org.sejda.impl.sambox.ocr.component;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 import java.awt.image.BufferedImage;
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.sejda.impl.sambox.ocr.util.ImageUtils;
 
 import net.sourceforge.tess4j.Tesseract;
 
 /**
+ * Tesseract engine that is initialized on the first OCR and stays initialized, with its language data loaded, until
+ * closed or until the language changes. An instance is not thread safe and can be reused for multiple images by the
+ * same thread.
+ * 
  * @author Andrea Vacondio
  *
  */
-public class OCR extends Tesseract {
+public class OCR extends Tesseract implements Closeable {
+
+    public static final String DEFAULT_LANGUAGE = "eng";
+
+    private String language = DEFAULT_LANGUAGE;
+    private boolean initialized = false;
+    private ByteBuffer pixels;
+
+    public OCR() {
+        // so it uses the env variable TESSDATA_PREFIX
+        setDatapath(null);
+    }
+
+    @Override
+    public void setLanguage(String language) {
+        if (!language.equals(this.language)) {
+            close();
+        }
+        this.language = language;
+        super.setLanguage(language);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
 
     public String ocrTextFrom(BufferedImage image) throws IOException {
-        init();
-        setTessVariables();
-        StringBuilder sb = new StringBuilder();
-        try {
-            setImage(image.getWidth(), image.getHeight(), ImageUtils.convertToTiff(image), null,
-                    image.getColorModel().getPixelSize());
-            return sb.append(getOCRText("", 0)).toString();
-        } finally {
+        if (!initialized) {
+            init();
+            setTessVariables();
+            initialized = true;
+        }
+        boolean grayscale = ImageUtils.isGrayscale(image);
+        ByteBuffer pixels = pixelsBuffer(ImageUtils.pixelsLength(image, grayscale));
+        ImageUtils.writePixels(image, grayscale, pixels);
+        setImage(image.getWidth(), image.getHeight(), pixels, null, grayscale ? 8 : 24);
+        return getOCRText("", 0);
+    }
+
+    /**
+     * @return a direct buffer with at least the given capacity, reused across images since the engine copies the
+     *         pixels when the image is set
+     */
+    private ByteBuffer pixelsBuffer(int capacity) {
+        if (isNull(pixels) || pixels.capacity() < capacity) {
+            pixels = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        }
+        return pixels;
+    }
+
+    /**
+     * Releases the native engine, it's initialized again if the instance is used afterwards
+     */
+    @Override
+    public void close() {
+        if (initialized) {
+            initialized = false;
             dispose();
         }
+        pixels = null;
+    }
 
+    /**
+     * @param languages
+     * @return the Tesseract languages code for the given locales, defaulting to {@value #DEFAULT_LANGUAGE}
+     */
+    public static String languagesCode(Set<Locale> languages) {
+        if (nonNull(languages) && !languages.isEmpty()) {
+            return languages.stream().map(Locale::getISO3Language).collect(Collectors.joining("+"));
+        }
+        return DEFAULT_LANGUAGE;
     }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.ocr.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+import static org.sejda.util.RequireUtils.requireState;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of {@link OCR} engines keyed by languages code. Engines are borrowed to OCR images and returned to the pool still
+ * initialized, so the language data is loaded once per engine instead of once per image. At most {@code size} engines
+ * are created, whatever the number of languages codes, so that the native memory used is bounded. Once the limit is
+ * reached an idle engine of a different languages code is switched to the requested one and, if none is idle,
+ * borrowers wait for an engine to be released.
+ *
+ * @author Andrea Vacondio
+ */
+public class OCRPool implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(OCRPool.class);
+
+    private final int size;
+    private final Supplier<OCR> factory;
+    private final Map<String, Deque<OCR>> idle = new HashMap<>();
+    private final List<OCR> engines = new ArrayList<>();
+    private boolean closed = false;
+
+    /**
+     * @param size
+     *            max number of engines
+     */
+    public OCRPool(int size) {
+        this(size, OCR::new);
+    }
+
+    /**
+     * @param size
+     *            max number of engines
+     * @param factory
+     *            creates the engines
+     */
+    public OCRPool(int size, Supplier<OCR> factory) {
+        requireArg(size > 0, "Pool size must be a positive number");
+        requireNotNullArg(factory, "OCR engines factory cannot be null");
+        this.size = size;
+        this.factory = factory;
+    }
+
+    /**
+     * @return a pool lending only the given engine, whatever the requested languages
+     */
+    public static OCRPool of(OCR engine) {
+        requireNotNullArg(engine, "OCR engine cannot be null");
+        return new SingleEnginePool(engine);
+    }
+
+    /**
+     * Borrows an engine for the given languages code, waiting for one to be available if all the engines are in use.
+     * The engine must be returned to the pool using {@link #release(OCR)}.
+     *
+     * @param languages
+     *            the Tesseract languages code
+     * @return an engine set with the given languages
+     * @throws InterruptedException
+     *             if interrupted while waiting for an available engine
+     */
+    public synchronized OCR borrow(String languages) throws InterruptedException {
+        requireState(!closed, "Cannot borrow from a closed pool");
+        Deque<OCR> available = idle.computeIfAbsent(languages, k -> new ArrayDeque<>());
+        while (available.isEmpty() && engines.size() >= size && !anyIdle()) {
+            wait();
+            requireState(!closed, "Cannot borrow from a closed pool");
+        }
+        OCR engine = available.pollFirst();
+        if (engine == null) {
+            if (engines.size() < size) {
+                LOG.debug("Creating OCR engine for '{}'", languages);
+                engine = factory.get();
+                engines.add(engine);
+            } else {
+                engine = idle.values().stream().filter(d -> !d.isEmpty()).findFirst().map(Deque::pollLast)
+                        .orElseThrow(IllegalStateException::new);
+                LOG.debug("Switching OCR engine from '{}' to '{}'", engine.getLanguage(), languages);
+            }
+        }
+        engine.setLanguage(languages);
+        return engine;
+    }
+
+    private boolean anyIdle() {
+        return idle.values().stream().anyMatch(d -> !d.isEmpty());
+    }
+
+    /**
+     * Returns a borrowed engine to the pool
+     *
+     * @param engine
+     */
+    public synchronized void release(OCR engine) {
+        if (closed) {
+            engine.close();
+        } else {
+            idle.computeIfAbsent(engine.getLanguage(), k -> new ArrayDeque<>()).addFirst(engine);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Releases all the native engines
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        engines.forEach(OCR::close);
+        engines.clear();
+        idle.clear();
+        notifyAll();
+    }
+
+    /**
+     * Pool around a single engine, borrowers wait for the engine to be released and its language is changed when
+     * needed
+     */
+    private static class SingleEnginePool extends OCRPool {
+        private final OCR engine;
+        private boolean inUse = false;
+        private boolean closed = false;
+
+        SingleEnginePool(OCR engine) {
+            super(1, () -> engine);
+            this.engine = engine;
+        }
+
+        @Override
+        public synchronized OCR borrow(String languages) throws InterruptedException {
+            requireState(!closed, "Cannot borrow from a closed pool");
+            while (inUse) {
+                wait();
+                requireState(!closed, "Cannot borrow from a closed pool");
+            }
+            inUse = true;
+            engine.setLanguage(languages);
+            return engine;
+        }
+
+        @Override
+        public synchronized void release(OCR engine) {
+            inUse = false;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            engine.close();
+            notifyAll();
+        }
+    }
+}
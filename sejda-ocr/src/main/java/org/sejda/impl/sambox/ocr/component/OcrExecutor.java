@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.ocr.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sejda.core.support.jfr.EventScope;
+import org.sejda.core.support.jfr.FlightRecorderEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes OCR of images borrowing engines from an {@link OCRPool}. With a parallelism greater than 1 images are
+ * recognized on a pool of worker threads, when all the workers are busy and the queue is full the OCR is performed on
+ * the submitting thread, this bounds the number of decoded images waiting for OCR. With a parallelism of 1 the OCR is
+ * performed on the submitting thread.
+ *
+ * @author Andrea Vacondio
+ */
+public class OcrExecutor implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(OcrExecutor.class);
+    private static final AtomicInteger EXECUTOR_NUMBER = new AtomicInteger(1);
+
+    private final OCRPool engines;
+    private final ExecutorService executor;
+
+    /**
+     * @param engines
+     *            pool to borrow the engines from, it should be able to lend at least {@code parallelism} engines
+     * @param parallelism
+     *            number of images recognized concurrently
+     */
+    public OcrExecutor(OCRPool engines, int parallelism) {
+        requireNotNullArg(engines, "OCR engines pool cannot be null");
+        requireArg(parallelism > 0, "Parallelism must be a positive number");
+        this.engines = engines;
+        if (parallelism > 1) {
+            int executorNumber = EXECUTOR_NUMBER.getAndIncrement();
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(parallelism), r -> {
+                        Thread thread = new Thread(r,
+                                "sejda-ocr-" + executorNumber + "-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+            LOG.debug("Performing OCR using {} workers", parallelism);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Submits the image for OCR
+     *
+     * @param image
+     * @param language
+     *            the Tesseract languages code
+     * @return the future text of the image
+     */
+    public Future<String> submit(BufferedImage image, String language) {
+        String taskId = FlightRecorderEvents.currentTaskId();
+        FutureTask<String> task = new FutureTask<>(() -> ocrTextFrom(image, language, taskId));
+        if (executor == null) {
+            task.run();
+        } else if (executor.isShutdown()) {
+            task.cancel(false);
+        } else {
+            executor.execute(task);
+        }
+        return task;
+    }
+
+    private String ocrTextFrom(BufferedImage image, String language, String taskId) throws IOException {
+        OCR ocrEngine = borrowEngine(language);
+        try (EventScope event = FlightRecorderEvents.ocr(taskId, image.getWidth(), image.getHeight())) {
+            return ocrEngine.ocrTextFrom(image);
+        } finally {
+            engines.release(ocrEngine);
+        }
+    }
+
+    private OCR borrowEngine(String language) throws IOException {
+        try {
+            return engines.borrow(language);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an OCR engine", e);
+        }
+    }
+
+    /**
+     * Stops the workers, pending images are not recognized and their future is cancelled
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow().stream().filter(r -> r instanceof Future).map(r -> (Future<?>) r)
+                    .forEach(f -> f.cancel(false));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.ocr.component;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Future;
+
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the OCR results of image XObjects, so that images used multiple times in a document (scanned letterheads,
+ * stamps, images in forms repeated on every page) are recognized once. Images are identified by their indirect
+ * object identity and, optionally, by a hash of their encoded content and of the dictionary entries affecting how they
+ * are decoded, to also match distinct objects holding the same image. Results are kept per languages code.
+ * <p>
+ * This class is not thread safe, it's meant to be used by the thread parsing the document.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class OcrResultsCache {
+    private static final Logger LOG = LoggerFactory.getLogger(OcrResultsCache.class);
+
+    private static final COSName[] DECODING_KEYS = { COSName.WIDTH, COSName.HEIGHT, COSName.BITS_PER_COMPONENT,
+            COSName.COLORSPACE, COSName.DECODE, COSName.FILTER, COSName.DECODE_PARMS, COSName.IMAGE_MASK };
+
+    private final boolean contentHash;
+    private final Map<Object, Map<String, Future<String>>> byIdentity = new HashMap<>();
+    private final Map<COSStream, Map<String, Future<String>>> byInstance = new IdentityHashMap<>();
+    private final Map<ContentKey, Map<String, Future<String>>> byContent = new HashMap<>();
+    private int hits = 0;
+
+    public OcrResultsCache() {
+        this(false);
+    }
+
+    /**
+     * @param contentHash
+     *            if true images are also matched by a hash of their content
+     */
+    public OcrResultsCache(boolean contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * @param image
+     * @param language
+     *            the Tesseract languages code
+     * @param ocr
+     *            performs the OCR of the image if there is no result for it
+     * @return the cached result for the image or the result returned by the given ocr function, which is then cached
+     * @throws IOException
+     */
+    public Future<String> get(COSStream image, String language, ImageOCR ocr) throws IOException {
+        Map<String, Future<String>> identityResults = identityResults(image);
+        Future<String> result = identityResults.get(language);
+        if (nonNull(result)) {
+            hits++;
+            return result;
+        }
+        Map<String, Future<String>> contentResults = contentResults(image);
+        result = ofNullable(contentResults).map(r -> r.get(language)).orElse(null);
+        if (nonNull(result)) {
+            hits++;
+        } else {
+            result = ocr.execute();
+            if (nonNull(contentResults)) {
+                contentResults.put(language, result);
+            }
+        }
+        identityResults.put(language, result);
+        return result;
+    }
+
+    private Map<String, Future<String>> identityResults(COSStream image) {
+        if (image.hasId()) {
+            return byIdentity.computeIfAbsent(image.id(), k -> new HashMap<>());
+        }
+        return byInstance.computeIfAbsent(image, k -> new HashMap<>());
+    }
+
+    private Map<String, Future<String>> contentResults(COSStream image) {
+        if (contentHash) {
+            try {
+                return byContent.computeIfAbsent(new ContentKey(digestOf(image)), k -> new HashMap<>());
+            } catch (IOException e) {
+                LOG.warn("Unable to hash image content", e);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] digestOf(COSStream image) throws IOException {
+        MessageDigest digest = sha256();
+        for (COSName key : DECODING_KEYS) {
+            COSBase value = image.getDictionaryObject(key);
+            digest.update(Objects.toString(value).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream stream = image.getFilteredStream()) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return the number of images whose result has been found in the cache
+     */
+    public int hits() {
+        return hits;
+    }
+
+    /**
+     * Performs the OCR of an image
+     */
+    @FunctionalInterface
+    public interface ImageOCR {
+        Future<String> execute() throws IOException;
+    }
+
+    private static class ContentKey {
+        private final byte[] digest;
+
+        ContentKey(byte[] digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ContentKey && Arrays.equals(digest, ((ContentKey) other).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(digest);
+        }
+    }
+}
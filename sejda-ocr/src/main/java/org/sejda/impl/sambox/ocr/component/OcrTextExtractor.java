@@ -25,12 +25,17 @@ import static org.sejda.util.RequireUtils.requireNotNullArg;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.sejda.sambox.contentstream.PDFStreamEngine;
@@ -61,27 +66,86 @@ public class OcrTextExtractor extends PDFStreamEngine implements Consumer<PDPage
     private static final Logger LOG = LoggerFactory.getLogger(OcrTextExtractor.class);
 
     private Writer writer;
-    private OCR ocrEngine;
+    private OcrExecutor ocrExecutor;
+    private String language = OCR.DEFAULT_LANGUAGE;
+    private BooleanSupplier cancelled = () -> false;
+    private OcrResultsCache resultsCache = new OcrResultsCache();
+    private final Deque<Future<String>> pending = new ArrayDeque<>();
 
     public OcrTextExtractor(Writer writer, OCR ocrEngine) {
+        this(writer, ofNullable(ocrEngine).map(e -> new OcrExecutor(OCRPool.of(e), 1)).orElse(null));
+    }
+
+    /**
+     * @param writer
+     * @param ocrExecutor
+     *            executor performing the OCR of the images. Images can be recognized concurrently, their text is
+     *            written following the order they are found in the pages.
+     */
+    public OcrTextExtractor(Writer writer, OcrExecutor ocrExecutor) {
         requireNotNullArg(writer, "Cannot write text on a null writer");
-        requireNotNullArg(ocrEngine, "OCR engine cannot be null");
+        requireNotNullArg(ocrExecutor, "OCR engine cannot be null");
         addOperator(new DoOCR());
         this.writer = writer;
-        this.ocrEngine = ocrEngine;
-        // so it uses the env variable TESSDATA_PREFIX
-        this.ocrEngine.setDatapath(null);
+        this.ocrExecutor = ocrExecutor;
+    }
+
+    /**
+     * @param cancelled
+     *            tells if OCR should be stopped, it's checked before every image
+     */
+    public void setCancellation(BooleanSupplier cancelled) {
+        requireNotNullArg(cancelled, "Cancellation supplier cannot be null");
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @param resultsCache
+     *            cache of the images OCR results, it can be shared among extractors processing the same document
+     */
+    public void setResultsCache(OcrResultsCache resultsCache) {
+        requireNotNullArg(resultsCache, "OCR results cache cannot be null");
+        this.resultsCache = resultsCache;
     }
 
     public void setLanguage(Set<Locale> languages) {
-        if (nonNull(languages) && !languages.isEmpty()) {
-            ocrEngine.setLanguage(languages.stream().map(Locale::getISO3Language).collect(Collectors.joining("+")));
-        } else {
-            // default to eng
-            ocrEngine.setLanguage("eng");
+        this.language = OCR.languagesCode(languages);
+    }
+
+    String getLanguage() {
+        return language;
+    }
+
+    /**
+     * Writes the text of the recognized images following the images order, stopping at the first image not yet
+     * recognized unless asked to wait for them.
+     */
+    private void writeCompleted(boolean wait) throws IOException {
+        while (!pending.isEmpty() && (wait || pending.peek().isDone())) {
+            String text = textOf(pending.poll());
+            if (nonNull(text)) {
+                writer.write(text);
+            }
         }
     }
 
+    private static String textOf(Future<String> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            LOG.debug("OCR cancelled");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting for OCR", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            LOG.warn("Unable to OCR image", e.getCause());
+        }
+        return null;
+    }
+
     private class DoOCR extends OperatorProcessor {
         @Override
         public void process(Operator operator, List<COSBase> operands) throws IOException {
@@ -101,15 +165,25 @@ public class OcrTextExtractor extends PDFStreamEngine implements Consumer<PDPage
                     COSStream stream = (COSStream) existing;
                     String subtype = stream.getNameAsString(COSName.SUBTYPE);
                     if (COSName.IMAGE.getName().equals(subtype)) {
-                        LOG.trace("Performing OCR on {}", name);
-                        PDXObject xobject = PDXObject.createXObject(stream.getCOSObject(), getContext().getResources());
+                        if (cancelled.getAsBoolean()) {
+                            LOG.debug("OCR cancelled, skipping {}", name);
+                            return;
+                        }
                         try {
-                            OcrTextExtractor.this.writer
-                                    .write(ocrEngine.ocrTextFrom(((PDImageXObject) xobject).getImage()));
+                            pending.add(resultsCache.get(stream, language, () -> {
+                                LOG.trace("Performing OCR on {}", name);
+                                PDXObject xobject = PDXObject.createXObject(stream.getCOSObject(),
+                                        getContext().getResources());
+                                try {
+                                    return ocrExecutor.submit(((PDImageXObject) xobject).getImage(), language);
+                                } finally {
+                                    xobject.getCOSObject().unDecode();
+                                }
+                            }));
+                            writeCompleted(false);
                         } catch (IOException e) {
                             LOG.warn("Unable to OCR image", e);
                         }
-                        xobject.getCOSObject().unDecode();
                     } else if (COSName.FORM.getName().equals(subtype)) {
                         PDXObject xobject = PDXObject.createXObject(existing.getCOSObject(),
                                 getContext().getResources());
@@ -156,8 +230,27 @@ public class OcrTextExtractor extends PDFStreamEngine implements Consumer<PDPage
         }
     }
 
+    /**
+     * Waits for the pending images to be recognized and writes their text
+     * 
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        writeCompleted(true);
+        writer.flush();
+    }
+
+    /**
+     * Writes the text of the pending images and closes the writer
+     */
     @Override
     public void close() {
-        IOUtils.closeQuietly(this.writer);
+        try {
+            writeCompleted(true);
+        } catch (IOException e) {
+            LOG.warn("Unable to write OCR text", e);
+        } finally {
+            IOUtils.closeQuietly(this.writer);
+        }
     }
 }
@@ -18,19 +18,14 @@
  */
 package org.sejda.impl.sambox.ocr.util;
 
-import java.awt.Graphics2D;
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBuffer;
-import java.awt.image.DataBufferByte;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
-import javax.imageio.ImageIO;
-import javax.imageio.stream.ImageOutputStream;
-
-import org.sejda.io.FastByteArrayOutputStream;
 
 /**
  * @author Andrea Vacondio
@@ -38,44 +33,93 @@ import org.sejda.io.FastByteArrayOutputStream;
  */
 public class ImageUtils {
 
-    public static ByteBuffer convertToTiff(BufferedImage image) throws IOException {
-        FastByteArrayOutputStream bos = new FastByteArrayOutputStream();
-        try (ImageOutputStream output = ImageIO.createImageOutputStream(bos)) {
-            ImageIO.write(image, "tiff", output);
+    /**
+     * @param image
+     * @return true if the image has only shades of gray and can be handed to the OCR engine as 8 bits gray pixels
+     */
+    public static boolean isGrayscale(BufferedImage image) {
+        ColorModel colorModel = image.getColorModel();
+        if (colorModel.getColorSpace().getType() == ColorSpace.TYPE_GRAY) {
+            return true;
         }
-        return convertImageData(ImageIO.read(new ByteArrayInputStream(bos.toByteArray())));
+        if (colorModel instanceof IndexColorModel) {
+            IndexColorModel palette = (IndexColorModel) colorModel;
+            for (int i = 0; i < palette.getMapSize(); i++) {
+                if (palette.getRed(i) != palette.getGreen(i) || palette.getGreen(i) != palette.getBlue(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
     /**
-     * Converts <code>BufferedImage</code> to <code>ByteBuffer</code>.
+     * @param image
+     * @param grayscale
+     * @return the number of bytes needed to hold the pixels of the image as 8 bits gray or 24 bits RGB
+     */
+    public static int pixelsLength(BufferedImage image, boolean grayscale) {
+        return image.getWidth() * image.getHeight() * (grayscale ? 1 : 3);
+    }
+
+    /**
+     * Writes the image pixels to the buffer, row by row with no padding, as 8 bits gray or as 24 bits RGB. This is the
+     * layout the OCR engine expects and it's written directly from the image raster, without encoding and decoding the
+     * image. The buffer is flipped and ready to be read once the method returns.
      *
-     * @param bi
-     *            Input image
-     * @return pixel data
+     * @param image
+     * @param grayscale
+     *            true to write 8 bits gray pixels, it should be used only for images where
+     *            {@link #isGrayscale(BufferedImage)} is true
+     * @param buffer
+     *            buffer with at least {@link #pixelsLength(BufferedImage, boolean)} bytes remaining
      */
-    public static ByteBuffer convertImageData(BufferedImage bi) {
-        DataBuffer buff = bi.getRaster().getDataBuffer();
-        // ClassCastException thrown if buff not instanceof DataBufferByte because raster data is not necessarily bytes.
-        // Convert the original buffered image to grayscale.
-        if (!(buff instanceof DataBufferByte)) {
-            bi = convertImageToGrayscale(bi);
-            buff = bi.getRaster().getDataBuffer();
+    public static void writePixels(BufferedImage image, boolean grayscale, ByteBuffer buffer) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        buffer.clear();
+        if (isDirectlyWritable(image, grayscale)) {
+            // samples are already bytes in the expected order, copy them a row at a time
+            WritableRaster raster = image.getRaster();
+            byte[] row = new byte[width * raster.getNumDataElements()];
+            for (int y = 0; y < height; y++) {
+                raster.getDataElements(0, y, width, 1, row);
+                buffer.put(row);
+            }
+        } else {
+            int[] row = new int[width];
+            for (int y = 0; y < height; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int argb : row) {
+                    if (grayscale) {
+                        // gray pixels have the same value for red, green and blue
+                        buffer.put((byte) argb);
+                    } else {
+                        buffer.put((byte) (argb >> 16));
+                        buffer.put((byte) (argb >> 8));
+                        buffer.put((byte) argb);
+                    }
+                }
+            }
         }
-        byte[] pixelData = ((DataBufferByte) buff).getData();
-        // return ByteBuffer.wrap(pixelData);
-        ByteBuffer buf = ByteBuffer.allocateDirect(pixelData.length);
-        buf.order(ByteOrder.nativeOrder());
-        buf.put(pixelData);
-        buf.flip();
-        return buf;
+        buffer.flip();
     }
 
-    public static BufferedImage convertImageToGrayscale(BufferedImage image) {
-        BufferedImage tmp = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
-        Graphics2D g2 = tmp.createGraphics();
-        g2.drawImage(image, 0, 0, null);
-        g2.dispose();
-        return tmp;
+    /**
+     * @return true if the image raster data elements are 8 bits gray or 24 bits RGB samples, without alpha
+     */
+    private static boolean isDirectlyWritable(BufferedImage image, boolean grayscale) {
+        ColorModel colorModel = image.getColorModel();
+        WritableRaster raster = image.getRaster();
+        if (raster.getTransferType() != DataBuffer.TYPE_BYTE || !(colorModel instanceof ComponentColorModel)
+                || colorModel.hasAlpha() || colorModel.getComponentSize(0) != 8) {
+            return false;
+        }
+        if (grayscale) {
+            return raster.getNumDataElements() == 1;
+        }
+        return raster.getNumDataElements() == 3 && colorModel.getColorSpace().isCS_sRGB();
     }
 
 }
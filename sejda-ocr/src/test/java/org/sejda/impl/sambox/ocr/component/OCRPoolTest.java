@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.ocr.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class OCRPoolTest {
+
+    private AtomicInteger created = new AtomicInteger();
+    private OCRPool victim = new OCRPool(2, () -> {
+        created.incrementAndGet();
+        return new OCR();
+    });
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSize() {
+        new OCRPool(0);
+    }
+
+    @Test
+    public void releasedEnginesAreReused() throws InterruptedException {
+        OCR first = victim.borrow("eng");
+        victim.release(first);
+        assertSame(first, victim.borrow("eng"));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void enginesKeyedByLanguages() throws InterruptedException {
+        OCR eng = victim.borrow("eng");
+        victim.release(eng);
+        OCR engIta = victim.borrow("eng+ita");
+        assertNotSame(eng, engIta);
+        assertEquals("eng+ita", engIta.getLanguage());
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void totalEnginesAreBounded() throws InterruptedException {
+        OCR eng = victim.borrow("eng");
+        victim.release(victim.borrow("ita"));
+        OCR deu = victim.borrow("deu");
+        assertEquals("deu", deu.getLanguage());
+        assertEquals(2, created.get());
+        victim.release(eng);
+        victim.release(deu);
+        assertSame(eng, victim.borrow("eng"));
+        assertSame(deu, victim.borrow("deu"));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void waitsForReleaseWhenExhaustedByOtherLanguages() throws InterruptedException {
+        OCR eng = victim.borrow("eng");
+        victim.borrow("ita");
+        CountDownLatch borrowed = new CountDownLatch(1);
+        Thread borrower = new Thread(() -> {
+            try {
+                victim.borrow("deu");
+                borrowed.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        borrower.start();
+        assertEquals(false, borrowed.await(100, TimeUnit.MILLISECONDS));
+        victim.release(eng);
+        assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+        assertEquals("deu", eng.getLanguage());
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void waitsForReleaseWhenExhausted() throws InterruptedException {
+        OCR first = victim.borrow("eng");
+        victim.borrow("eng");
+        CountDownLatch borrowed = new CountDownLatch(1);
+        Thread borrower = new Thread(() -> {
+            try {
+                victim.borrow("eng");
+                borrowed.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        borrower.start();
+        assertEquals(false, borrowed.await(100, TimeUnit.MILLISECONDS));
+        victim.release(first);
+        assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void singleEngine() throws InterruptedException {
+        OCR engine = new OCR();
+        OCRPool pool = OCRPool.of(engine);
+        assertSame(engine, pool.borrow("ita"));
+        assertEquals("ita", engine.getLanguage());
+        pool.release(engine);
+        assertSame(engine, pool.borrow("eng"));
+        assertEquals("eng", engine.getLanguage());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closed() throws InterruptedException {
+        victim.close();
+        victim.borrow("eng");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void singleEngineClosed() throws InterruptedException {
+        OCRPool pool = OCRPool.of(new OCR());
+        pool.close();
+        pool.borrow("eng");
+    }
+}
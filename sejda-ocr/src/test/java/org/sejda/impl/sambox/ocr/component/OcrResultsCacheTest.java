@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.ocr.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.graphics.image.LosslessFactory;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class OcrResultsCacheTest {
+
+    private AtomicInteger performed = new AtomicInteger();
+
+    private OcrResultsCache.ImageOCR ocr(String text) {
+        return () -> {
+            performed.incrementAndGet();
+            return CompletableFuture.completedFuture(text);
+        };
+    }
+
+    @Test
+    public void sameImage() throws IOException {
+        OcrResultsCache victim = new OcrResultsCache();
+        COSStream image = image(0xFF0000);
+        Future<String> first = victim.get(image, "eng", ocr("text"));
+        assertSame(first, victim.get(image, "eng", ocr("other")));
+        assertEquals(1, performed.get());
+        assertEquals(1, victim.hits());
+    }
+
+    @Test
+    public void differentLanguage() throws IOException {
+        OcrResultsCache victim = new OcrResultsCache();
+        COSStream image = image(0xFF0000);
+        victim.get(image, "eng", ocr("text"));
+        victim.get(image, "ita", ocr("testo"));
+        assertEquals(2, performed.get());
+        assertEquals(0, victim.hits());
+    }
+
+    @Test
+    public void sameContentNoHash() throws IOException {
+        OcrResultsCache victim = new OcrResultsCache();
+        victim.get(image(0xFF0000), "eng", ocr("text"));
+        victim.get(image(0xFF0000), "eng", ocr("text"));
+        assertEquals(2, performed.get());
+    }
+
+    @Test
+    public void sameContentHash() throws IOException {
+        OcrResultsCache victim = new OcrResultsCache(true);
+        Future<String> first = victim.get(image(0xFF0000), "eng", ocr("text"));
+        assertSame(first, victim.get(image(0xFF0000), "eng", ocr("other")));
+        assertEquals(1, performed.get());
+    }
+
+    @Test
+    public void differentContentHash() throws IOException {
+        OcrResultsCache victim = new OcrResultsCache(true);
+        victim.get(image(0xFF0000), "eng", ocr("text"));
+        victim.get(image(0x0000FF), "eng", ocr("other"));
+        assertEquals(2, performed.get());
+    }
+
+    private static COSStream image(int rgb) throws IOException {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, rgb);
+        return LosslessFactory.createFromImage(image).getCOSObject();
+    }
+}
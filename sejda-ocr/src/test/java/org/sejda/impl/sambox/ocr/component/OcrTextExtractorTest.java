@@ -18,16 +18,25 @@
  */
 package org.sejda.impl.sambox.ocr.component;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
 
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.Test;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.graphics.image.LosslessFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
 
 /**
  * @author Andrea Vacondio
@@ -42,7 +51,12 @@ public class OcrTextExtractorTest {
 
     @Test(expected = IllegalArgumentException.class)
     public void nullOCR() {
-        new OcrTextExtractor(mock(Writer.class), null);
+        new OcrTextExtractor(mock(Writer.class), (OCR) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullExecutor() {
+        new OcrTextExtractor(mock(Writer.class), (OcrExecutor) null);
     }
 
     @Test
@@ -50,7 +64,7 @@ public class OcrTextExtractorTest {
         OCR ocr = mock(OCR.class);
         try (OcrTextExtractor victim = new OcrTextExtractor(mock(Writer.class), ocr)) {
             victim.setLanguage(Collections.emptySet());
-            verify(ocr).setLanguage("eng");
+            assertEquals("eng", victim.getLanguage());
         }
     }
 
@@ -62,7 +76,93 @@ public class OcrTextExtractorTest {
         locales.add(Locale.ITALIAN);
         try (OcrTextExtractor victim = new OcrTextExtractor(mock(Writer.class), ocr)) {
             victim.setLanguage(locales);
-            verify(ocr).setLanguage("eng+ita");
+            assertEquals("eng+ita", victim.getLanguage());
+        }
+    }
+
+    @Test
+    public void textWrittenInImagesOrder() throws IOException {
+        StringWriter out = new StringWriter();
+        try (PDDocument document = documentWithImages(10);
+                OCRPool engines = new OCRPool(4, ImageWidthOCR::new);
+                OcrExecutor executor = new OcrExecutor(engines, 4)) {
+            try (OcrTextExtractor victim = new OcrTextExtractor(out, executor)) {
+                victim.accept(document.getPage(0));
+            }
+        }
+        assertEquals("1 2 3 4 5 6 7 8 9 10 ", out.toString());
+    }
+
+    @Test
+    public void cancelledSkipsImages() throws IOException {
+        StringWriter out = new StringWriter();
+        try (PDDocument document = documentWithImages(3);
+                OCRPool engines = new OCRPool(1, ImageWidthOCR::new);
+                OcrExecutor executor = new OcrExecutor(engines, 1)) {
+            try (OcrTextExtractor victim = new OcrTextExtractor(out, executor)) {
+                victim.setCancellation(() -> true);
+                victim.accept(document.getPage(0));
+            }
+        }
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    public void repeatedImageRecognizedOnce() throws IOException {
+        StringWriter out = new StringWriter();
+        CountingOCR engine = new CountingOCR();
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            PDImageXObject image = LosslessFactory.createFromImage(new BufferedImage(3, 1, BufferedImage.TYPE_INT_RGB));
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.drawImage(image, 10, 10);
+                contentStream.drawImage(image, 20, 10);
+            }
+            try (OcrTextExtractor victim = new OcrTextExtractor(out, engine)) {
+                victim.accept(page);
+            }
+        }
+        assertEquals("3 3 ", out.toString());
+        assertEquals(1, engine.performed);
+    }
+
+    private static PDDocument documentWithImages(int images) throws IOException {
+        PDDocument document = new PDDocument();
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+            for (int i = 1; i <= images; i++) {
+                contentStream.drawImage(
+                        LosslessFactory.createFromImage(new BufferedImage(i, 1, BufferedImage.TYPE_INT_RGB)),
+                        i * 10, 10);
+            }
+        }
+        return document;
+    }
+
+    private static class CountingOCR extends OCR {
+        private int performed = 0;
+
+        @Override
+        public String ocrTextFrom(BufferedImage image) {
+            performed++;
+            return image.getWidth() + " ";
+        }
+    }
+
+    /**
+     * Fake engine "recognizing" the image width, taking a random time to do it
+     */
+    private static class ImageWidthOCR extends OCR {
+        @Override
+        public String ocrTextFrom(BufferedImage image) throws IOException {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return image.getWidth() + " ";
         }
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.ocr.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ImageUtilsTest {
+
+    @Test
+    public void gray() {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_BYTE_GRAY);
+        image.getRaster().setSample(1, 0, 0, 10);
+        image.getRaster().setSample(0, 1, 0, 200);
+        assertTrue(ImageUtils.isGrayscale(image));
+        assertArrayEquals(new byte[] { 0, 10, (byte) 200, 0 }, pixels(image, true));
+    }
+
+    @Test
+    public void bilevel() {
+        BufferedImage image = new BufferedImage(3, 1, BufferedImage.TYPE_BYTE_BINARY);
+        image.setRGB(1, 0, 0xFFFFFF);
+        assertTrue(ImageUtils.isGrayscale(image));
+        assertArrayEquals(new byte[] { 0, (byte) 255, 0 }, pixels(image, true));
+    }
+
+    @Test
+    public void bgr() {
+        BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_3BYTE_BGR);
+        image.setRGB(0, 0, 0x010203);
+        image.setRGB(1, 0, 0x0A0B0C);
+        assertFalse(ImageUtils.isGrayscale(image));
+        assertArrayEquals(new byte[] { 1, 2, 3, 10, 11, 12 }, pixels(image, false));
+    }
+
+    @Test
+    public void intRgb() {
+        BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFF010203);
+        image.setRGB(1, 0, 0xFF0A0B0C);
+        assertFalse(ImageUtils.isGrayscale(image));
+        assertArrayEquals(new byte[] { 1, 2, 3, 10, 11, 12 }, pixels(image, false));
+    }
+
+    @Test
+    public void subimage() {
+        BufferedImage image = new BufferedImage(3, 3, BufferedImage.TYPE_BYTE_GRAY);
+        image.getRaster().setSample(1, 1, 0, 5);
+        image.getRaster().setSample(2, 2, 0, 7);
+        assertArrayEquals(new byte[] { 5, 0, 0, 7 }, pixels(image.getSubimage(1, 1, 2, 2), true));
+    }
+
+    @Test
+    public void reusedBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_BYTE_GRAY);
+        ImageUtils.writePixels(image, true, buffer);
+        ImageUtils.writePixels(image, true, buffer);
+        assertEquals(4, buffer.remaining());
+    }
+
+    private static byte[] pixels(BufferedImage image, boolean grayscale) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ImageUtils.pixelsLength(image, grayscale));
+        ImageUtils.writePixels(image, grayscale, buffer);
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+}
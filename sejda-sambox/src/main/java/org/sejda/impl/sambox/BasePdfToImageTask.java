@@ -18,12 +18,20 @@
  */
 package org.sejda.impl.sambox;
 
+import static java.util.Objects.nonNull;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 
+import java.io.UncheckedIOException;
+
 import org.sejda.core.writer.context.ImageWriterContext;
 import org.sejda.core.writer.model.ImageWriter;
+import org.sejda.impl.sambox.component.BilevelConverter;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.image.TiffCompressionType;
 import org.sejda.model.parameter.image.PdfToImageParameters;
+import org.sejda.model.parameter.image.PdfToTiffParameters;
 import org.sejda.model.task.BaseTask;
 import org.sejda.model.task.TaskExecutionContext;
 import org.slf4j.Logger;
@@ -58,4 +66,45 @@ abstract class BasePdfToImageTask<T extends PdfToImageParameters> extends BaseTa
     ImageWriter<T> getWriter() {
         return writer;
     }
+
+    /**
+     * Renders the given page and writes it to the currently open destination of the writer. When tiled rendering is
+     * requested the page is rendered in bands while the writer reads the image.
+     * 
+     * @param documentHandler
+     * @param page
+     * @param parameters
+     * @throws TaskException
+     */
+    void writePage(PDDocumentHandler documentHandler, int page, T parameters) throws TaskException {
+        ImageColorType colorType = renderingColorType(parameters);
+        BilevelConverter bilevel = BilevelConverter.of(parameters);
+        if (parameters.isTiledRendering()) {
+            try {
+                writer.write(documentHandler.renderTiledImage(page, parameters.getResolutionInDpi(), colorType,
+                        bilevel), parameters);
+            } catch (UncheckedIOException e) {
+                LOG.error("Failed to render page " + page, e.getCause());
+                throw new TaskException("Failed to render page " + page, e.getCause());
+            }
+        } else {
+            writer.write(documentHandler.renderImage(page, parameters.getResolutionInDpi(), colorType, bilevel),
+                    parameters);
+        }
+    }
+
+    /**
+     * @param parameters
+     * @return the color type pages are rendered to. Bilevel TIFF compressions, like CCITT, can only encode black and
+     *         white images so, in that case, pages are rendered directly to black and white.
+     */
+    static ImageColorType renderingColorType(PdfToImageParameters parameters) {
+        if (parameters instanceof PdfToTiffParameters) {
+            TiffCompressionType compression = ((PdfToTiffParameters) parameters).getCompressionType();
+            if (nonNull(compression) && compression.isBilevel()) {
+                return ImageColorType.BLACK_AND_WHITE;
+            }
+        }
+        return parameters.getOutputImageColorType();
+    }
 }
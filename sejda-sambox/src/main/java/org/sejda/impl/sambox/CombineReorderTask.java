@@ -25,6 +25,7 @@ import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
 import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -35,7 +36,9 @@ import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
 import org.sejda.impl.sambox.component.*;
 import org.sejda.model.exception.TaskException;
+import org.sejda.io.SeekableSource;
 import org.sejda.model.input.FileIndexAndPage;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.CombineReorderParameters;
@@ -71,7 +74,13 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
     public void before(CombineReorderParameters parameters, TaskExecutionContext executionContext)
             throws TaskException {
         super.before(parameters, executionContext);
-        sourceOpener = new DefaultPdfSourceOpener();
+        FileHandlesPool fileHandles = new FileHandlesPool(parameters.getMaxOpenSources());
+        sourceOpener = new DefaultPdfSourceOpener() {
+            @Override
+            protected SeekableSource seekableSourceFrom(PdfFileSource source) throws IOException {
+                return fileHandles.source(source.getSource());
+            }
+        };
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
         outlineMerger = new OutlineMerger(parameters.getOutlinePolicy());
     }
@@ -90,16 +99,14 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
         this.acroFormsMerger = new AcroFormsMerger(parameters.getAcroFormPolicy(),
                 this.destinationDocument.getUnderlyingPDDocument());
 
-        for (PdfSource<?> input : parameters.getSourceList()) {
-            LOG.debug("Opening {}", input.getSource());
-            PDDocumentHandler sourceDocumentHandler = input.open(sourceOpener);
-            documents.add(sourceDocumentHandler);
-            documentNames.put(sourceDocumentHandler, input.getName());
-            pagesLookup.put(sourceDocumentHandler, new LookupTable<>());
+        // sources are opened when the first of their pages is needed
+        List<PdfSource<?>> sources = parameters.getSourceList();
+        for (int i = 0; i < sources.size(); i++) {
+            documents.add(null);
         }
 
         int currentStep = 0;
-        int totalSteps = parameters.getPages().size() + documents.size();
+        int totalSteps = parameters.getPages().size() + sources.size();
         PdfRotator rotator = new PdfRotator(destinationDocument.getUnderlyingPDDocument());
 
         PDPage lastPage = null;
@@ -118,7 +125,7 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
                 destinationDocument.addBlankPage(mediaBox);
             } else {
                 try {
-                    PDDocumentHandler documentHandler = documents.get(filePage.getFileIndex());
+                    PDDocumentHandler documentHandler = document(sources, filePage.getFileIndex());
                     PDPage page = documentHandler.getPage(pageNum);
                     PDPage newPage = destinationDocument.importPage(page);
                     lastPage = newPage;
@@ -135,6 +142,12 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
         }
 
         for (PDDocumentHandler document : documents) {
+            if (document == null) {
+                LOG.debug("Source with no selected page was never opened");
+                notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(++currentStep)
+                        .outOf(totalSteps);
+                continue;
+            }
             LookupTable<PDPage> lookupTable = pagesLookup.get(document);
             outlineMerger.updateOutline(document.getUnderlyingPDDocument(), documentNames.get(document), lookupTable);
 
@@ -164,6 +177,19 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
         LOG.debug("Input documents merged correctly and written to {}", parameters.getOutput());
     }
 
+    private PDDocumentHandler document(List<PdfSource<?>> sources, int index) throws TaskException {
+        PDDocumentHandler document = documents.get(index);
+        if (document == null) {
+            PdfSource<?> input = sources.get(index);
+            LOG.debug("Opening {}", input.getSource());
+            document = input.open(sourceOpener);
+            documents.set(index, document);
+            documentNames.put(document, input.getName());
+            pagesLookup.put(document, new LookupTable<>());
+        }
+        return document;
+    }
+
     @Override
     public void after() {
         closeResources();
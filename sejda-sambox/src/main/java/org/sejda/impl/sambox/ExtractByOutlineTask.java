@@ -54,12 +54,14 @@ public class ExtractByOutlineTask extends BaseTask<ExtractByOutlineParameters> {
     public void execute(ExtractByOutlineParameters parameters) throws TaskException {
         for(PdfSource<?> source: parameters.getSourceList()) {
             LOG.debug("Opening {} ", source);
-            document = source.open(documentLoader).getUnderlyingPDDocument();
+            PDDocumentHandler documentHandler = source.open(documentLoader);
+            document = documentHandler.getUnderlyingPDDocument();
 
             LOG.debug("Retrieving outline information for level {} and match regex {}", parameters.getLevel(),
                     parameters.getMatchingTitleRegEx());
-            OutlineExtractPageDestinations pagesDestination = new SamboxOutlineLevelsHandler(document,
-                    parameters.getMatchingTitleRegEx()).getExtractPageDestinations(parameters.getLevel(), parameters.isIncludePageAfter());
+            OutlineExtractPageDestinations pagesDestination = new SamboxOutlineLevelsHandler(
+                    documentHandler.getDocumentSkeleton(), parameters.getMatchingTitleRegEx())
+                            .getExtractPageDestinations(parameters.getLevel(), parameters.isIncludePageAfter());
 
             LOG.debug("Starting extraction by outline, level {} and match regex {}", parameters.getLevel(),
                     parameters.getMatchingTitleRegEx());
@@ -90,8 +90,9 @@ public class JpegToPdfTask extends BaseTask<JpegToPdfParameters> {
         converter.setShouldPageSizeMatchImageSize(parameters.isPageSizeMatchImageSize());
         converter.setPageOrientation(parameters.getPageOrientation());
         converter.setMarginInches(parameters.getMarginInches());
+        converter.setParallelism(parameters.getParallelism());
 
-        documentHandler = converter.convert(parameters.getSourceList());
+        documentHandler = converter.convert(parameters.getSourceList(), executionContext());
 
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
@@ -18,6 +18,7 @@
  */
 package org.sejda.impl.sambox;
 
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
@@ -36,12 +37,15 @@ import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
 import org.sejda.impl.sambox.component.*;
 import org.sejda.impl.sambox.component.image.ImagesToPdfDocumentConverter;
+import org.sejda.impl.sambox.component.optimization.ResourcesDeduplicator;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.*;
 import org.sejda.model.parameter.MergeParameters;
 import org.sejda.model.scale.ScaleType;
 import org.sejda.model.task.BaseTask;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics;
+import org.sejda.model.task.TaskMetrics.Timer;
 import org.sejda.model.toc.ToCPolicy;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PageNotFoundException;
@@ -74,6 +78,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
     private long pagesCounter = 0;
     private long inputsCounter = 0;
     private int firstInputNumberOfPages = 0;
+    private ResourcesDeduplicator resourcesDeduplicator;
 
     @Override
     public void before(MergeParameters parameters, TaskExecutionContext executionContext) throws TaskException {
@@ -82,6 +87,9 @@ public class MergeTask extends BaseTask<MergeParameters> {
         sourceOpener = new DefaultPdfSourceOpener();
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
         outlineMerger = new OutlineMerger(parameters.getOutlinePolicy());
+        if (parameters.isDeduplicateResources()) {
+            resourcesDeduplicator = new ResourcesDeduplicator();
+        }
     }
 
     @Override
@@ -104,11 +112,19 @@ public class MergeTask extends BaseTask<MergeParameters> {
 
         convertImageMergeInputToPdf(parameters);
 
+        TaskMetrics metrics = executionContext().metrics();
         for (PdfMergeInput input : parameters.getPdfInputList()) {
             inputsCounter++;
             LOG.debug("Opening {}", input.getSource());
-            PDDocumentHandler sourceDocumentHandler = input.getSource().open(sourceOpener);
+            PDDocumentHandler sourceDocumentHandler;
+            try (Timer timer = metrics.start(TaskMetrics.PARSING)) {
+                sourceDocumentHandler = input.getSource().open(sourceOpener);
+            }
             toClose.add(sourceDocumentHandler);
+            metrics.increment(TaskMetrics.SOURCES);
+            if (input.getSource() instanceof PdfFileSource) {
+                metrics.add(TaskMetrics.BYTES_READ, ((PdfFileSource) input.getSource()).getSource().length());
+            }
 
             if(inputsCounter == 1) {
                 firstInputNumberOfPages = sourceDocumentHandler.getNumberOfPages();
@@ -118,62 +134,80 @@ public class MergeTask extends BaseTask<MergeParameters> {
             LookupTable<PDPage> pagesLookup = new LookupTable<>();
             long relativePagesCounter = 0;
             Set<Integer> pagesToImport = input.getPages(sourceDocumentHandler.getNumberOfPages());
-            for (Integer currentPage : pagesToImport) {
-                executionContext().assertTaskNotCancelled();
-                pagesCounter++;
-                relativePagesCounter++;
-                try {
-                    PDPage page = sourceDocumentHandler.getPage(currentPage);
-                    // we keep rotation into account
-                    currentPageSize = page.getMediaBox().rotate(page.getRotation());
-                    // we don't use the original page because once added to the new tree we loose inheritable attributes
-                    // so we use a page duplicate to explicitly assign inheritable resources
-                    PDPage importedPage = destinationDocument.importPage(page);
-                    pagesLookup.addLookupEntry(page, importedPage);
-
-                    String sourceBaseName = FilenameUtils.getBaseName(input.getSource().getName());
-
-                    // processing the first page of the source
-                    if (tocCreator.shouldGenerateToC() && relativePagesCounter == 1) {
-                        if(parameters.isFirstInputCoverTitle() && inputsCounter == 1) {
-                            // skip the cover/title document, don't add it to the ToC
-                        } else {
-                            tocCreator.pageSizeIfNotSet(currentPageSize);
-                            if (ToCPolicy.DOC_TITLES == parameters.getTableOfContentsPolicy()) {
-                                sourceBaseName = ofNullable(
-                                        sourceDocumentHandler.getUnderlyingPDDocument().getDocumentInformation())
-                                        .map(i -> i.getTitle()).filter(StringUtils::isNotBlank)
-                                        .orElse(sourceBaseName);
+            try (Timer timer = metrics.start(TaskMetrics.PAGES_IMPORT)) {
+                for (Integer currentPage : pagesToImport) {
+                    executionContext().assertTaskNotCancelled();
+                    pagesCounter++;
+                    relativePagesCounter++;
+                    try {
+                        PDPage page = sourceDocumentHandler.getPage(currentPage);
+                        // we keep rotation into account
+                        currentPageSize = page.getMediaBox().rotate(page.getRotation());
+                        // we don't use the original page because once added to the new tree we loose inheritable
+                        // attributes so we use a page duplicate to explicitly assign inheritable resources
+                        PDPage importedPage = destinationDocument.importPage(page);
+                        pagesLookup.addLookupEntry(page, importedPage);
+
+                        String sourceBaseName = FilenameUtils.getBaseName(input.getSource().getName());
+
+                        // processing the first page of the source
+                        if (tocCreator.shouldGenerateToC() && relativePagesCounter == 1) {
+                            if(parameters.isFirstInputCoverTitle() && inputsCounter == 1) {
+                                // skip the cover/title document, don't add it to the ToC
+                            } else {
+                                tocCreator.pageSizeIfNotSet(currentPageSize);
+                                if (ToCPolicy.DOC_TITLES == parameters.getTableOfContentsPolicy()) {
+                                    sourceBaseName = ofNullable(
+                                            sourceDocumentHandler.getUnderlyingPDDocument().getDocumentInformation())
+                                            .map(i -> i.getTitle()).filter(StringUtils::isNotBlank)
+                                            .orElse(sourceBaseName);
+                                }
+                                tocCreator.appendItem(sourceBaseName, pagesCounter, importedPage);
                             }
-                            tocCreator.appendItem(sourceBaseName, pagesCounter, importedPage);
                         }
-                    }
 
-                    long currentPageNumber = pagesCounter + tocCreator.tocNumberOfPages();
-                    if(parameters.isFirstInputCoverTitle() && inputsCounter == 1) {
-                        // the toc will be added after the cover/title pages
-                        currentPageNumber = pagesCounter;
+                        long currentPageNumber = pagesCounter + tocCreator.tocNumberOfPages();
+                        if(parameters.isFirstInputCoverTitle() && inputsCounter == 1) {
+                            // the toc will be added after the cover/title pages
+                            currentPageNumber = pagesCounter;
+                        }
+                        this.footerWriter.addFooter(importedPage, sourceBaseName, currentPageNumber);
+                        metrics.increment(TaskMetrics.PAGES);
+                        LOG.trace("Added imported page");
+                    } catch (PageNotFoundException e) {
+                        executionContext().assertTaskIsLenient(e);
+                        notifyEvent(executionContext().notifiableTaskMetadata())
+                                .taskWarning(String.format("Page %d was skipped, could not be processed",
+                                        currentPage), e);
                     }
-                    this.footerWriter.addFooter(importedPage, sourceBaseName, currentPageNumber);
-                    LOG.trace("Added imported page");
-                } catch (PageNotFoundException e) {
-                    executionContext().assertTaskIsLenient(e);
-                    notifyEvent(executionContext().notifiableTaskMetadata())
-                            .taskWarning(String.format("Page %d was skipped, could not be processed", currentPage), e);
                 }
             }
             relativePagesCounter = 0;
 
-            outlineMerger.updateOutline(sourceDocumentHandler.getUnderlyingPDDocument(), input.getSource().getName(),
-                    pagesLookup);
+            if (nonNull(resourcesDeduplicator)) {
+                LOG.debug("Deduplicating resources");
+                try (Timer timer = metrics.start(TaskMetrics.OPTIMIZATION)) {
+                    pagesLookup.values().forEach(resourcesDeduplicator::deduplicate);
+                }
+            }
+
+            try (Timer timer = metrics.start(TaskMetrics.OUTLINE)) {
+                outlineMerger.updateOutline(sourceDocumentHandler.getUnderlyingPDDocument(),
+                        input.getSource().getName(), pagesLookup);
+            }
 
-            LookupTable<PDAnnotation> annotationsLookup = new AnnotationsDistiller(
-                    sourceDocumentHandler.getUnderlyingPDDocument()).retainRelevantAnnotations(pagesLookup);
-            clipSignatures(annotationsLookup.values());
+            LookupTable<PDAnnotation> annotationsLookup;
+            try (Timer timer = metrics.start(TaskMetrics.ANNOTATIONS)) {
+                annotationsLookup = new AnnotationsDistiller(sourceDocumentHandler.getUnderlyingPDDocument())
+                        .retainRelevantAnnotations(pagesLookup);
+                clipSignatures(annotationsLookup.values());
+            }
 
-            acroFormsMerger.mergeForm(
-                    sourceDocumentHandler.getUnderlyingPDDocument().getDocumentCatalog().getAcroForm(),
-                    annotationsLookup);
+            try (Timer timer = metrics.start(TaskMetrics.FORMS)) {
+                acroFormsMerger.mergeForm(
+                        sourceDocumentHandler.getUnderlyingPDDocument().getDocumentCatalog().getAcroForm(),
+                        annotationsLookup);
+            }
 
             if (parameters.isBlankPageIfOdd()) {
                 ofNullable(destinationDocument.addBlankPageIfOdd(currentPageSize)).ifPresent(p -> pagesCounter++);
@@ -215,7 +249,13 @@ public class MergeTask extends BaseTask<MergeParameters> {
             destinationDocument.getUnderlyingPDDocument().getDocumentCatalog().setPageLabels(catalogPageLabelsMerger.getMergedPageLabels());
         }
 
-        destinationDocument.savePDDocument(tmpFile);
+        if (nonNull(resourcesDeduplicator)) {
+            LOG.debug("Rewired {} references to identical resources", resourcesDeduplicator.replaced());
+        }
+
+        try (Timer timer = metrics.start(TaskMetrics.SAVE)) {
+            destinationDocument.savePDDocument(tmpFile);
+        }
         closeResources();
 
         parameters.getOutput().accept(outputWriter);
@@ -240,7 +280,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
 
     private PdfMergeInput convertImagesToPdfMergeInput(ImageMergeInput image) throws TaskException {
         List<Source<?>> sources = Collections.singletonList(image.getSource());
-        PDDocumentHandler converted = new ImagesToPdfDocumentConverter().convert(sources);
+        PDDocumentHandler converted = new ImagesToPdfDocumentConverter().convert(sources, executionContext());
         String basename = FilenameUtils.getBaseName(image.getSource().getName());
         String filename = String.format("%s.pdf", basename);
         File convertedTmpFile = createTemporaryBufferWithName(filename);
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
+import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
+import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
+import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
+import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.sejda.core.support.io.MultipleOutputWriter;
+import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.util.OrderedParallelExecution;
+import org.sejda.core.writer.model.ImageOptimizer;
+import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.impl.sambox.component.optimization.ImagesUsageCollector;
+import org.sejda.impl.sambox.component.optimization.ImagesUsageCollector.ImageUsage;
+import org.sejda.impl.sambox.component.optimization.ResourcesDeduplicator;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.model.parameter.OptimizeImagesParameters;
+import org.sejda.model.pdf.encryption.PdfAccessPermission;
+import org.sejda.model.task.BaseTask;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.common.PDStream;
+import org.sejda.sambox.pdmodel.graphics.color.PDCalGray;
+import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
+import org.sejda.sambox.pdmodel.graphics.color.PDICCBased;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SAMBox implementation of a task that downsamples and re-encodes as JPEG the images of a list of {@link PdfSource}
+ * whose resolution, as they are drawn on the page, is higher than the requested one. Identical images are first
+ * deduplicated so that every image is optimized once. Images are decoded one at a time, since the document is read
+ * lazily, while downsampling and encoding are performed concurrently on a pool of worker threads.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class OptimizeImagesTask extends BaseTask<OptimizeImagesParameters> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OptimizeImagesTask.class);
+
+    /**
+     * entries of the original image dictionary that are still meaningful for the optimized image
+     */
+    private static final COSName[] PRESERVED_KEYS = { COSName.SMASK, COSName.MASK, COSName.INTERPOLATE,
+            COSName.METADATA, COSName.OC, COSName.STRUCT_PARENT };
+
+    private int totalSteps;
+    private PDDocumentHandler documentHandler = null;
+    private MultipleOutputWriter outputWriter;
+    private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private final List<File> optimizedImages = new ArrayList<>();
+
+    @Override
+    public void before(OptimizeImagesParameters parameters, TaskExecutionContext executionContext)
+            throws TaskException {
+        super.before(parameters, executionContext);
+        totalSteps = parameters.getSourceList().size();
+        documentLoader = new DefaultPdfSourceOpener();
+        outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
+    }
+
+    @Override
+    public void execute(OptimizeImagesParameters parameters) throws TaskException {
+        int currentStep = 0;
+
+        for (PdfSource<?> source : parameters.getSourceList()) {
+            executionContext().assertTaskNotCancelled();
+            currentStep++;
+            LOG.debug("Opening {}", source);
+            try {
+                optimizedImages.clear();
+                documentHandler = source.open(documentLoader);
+                documentHandler.getPermissions().ensurePermission(PdfAccessPermission.MODIFY);
+                documentHandler.setCreatorOnPDDocument();
+
+                File tmpFile = createTemporaryBuffer(parameters.getOutput());
+                LOG.debug("Created output on temporary buffer {}", tmpFile);
+
+                optimizeImages(documentHandler.getUnderlyingPDDocument(), parameters);
+
+                documentHandler.setVersionOnPDDocument(parameters.getVersion());
+                documentHandler.setCompress(parameters.isCompress());
+                documentHandler.savePDDocument(tmpFile);
+
+                String outName = nameGenerator(parameters.getOutputPrefix())
+                        .generate(nameRequest().originalName(source.getName()).fileNumber(currentStep));
+                outputWriter.addOutput(file(tmpFile).name(outName));
+            } finally {
+                nullSafeCloseQuietly(documentHandler);
+                // optimized images are read from their files until the document is written
+                optimizedImages.forEach(FileUtils::deleteQuietly);
+            }
+
+            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep).outOf(totalSteps);
+        }
+
+        parameters.getOutput().accept(outputWriter);
+        LOG.debug("Input documents images optimized and written to {}", parameters.getOutput());
+    }
+
+    private void optimizeImages(PDDocument document, OptimizeImagesParameters parameters) throws TaskException {
+        ResourcesDeduplicator deduplicator = new ResourcesDeduplicator();
+        document.getPages().forEach(deduplicator::deduplicate);
+        LOG.debug("Rewired {} references to identical resources", deduplicator.replaced());
+
+        ImagesUsageCollector collector = new ImagesUsageCollector();
+        document.getPages().forEach(collector);
+        List<ImageUsage> oversized = collector.usages().stream().filter(OptimizeImagesTask::isOptimizable)
+                .filter(u -> u.dpi() > parameters.getDpi()).collect(Collectors.toList());
+        LOG.debug("Found {} images drawn at more than {} DPI out of {}", oversized.size(), parameters.getDpi(),
+                collector.usages().size());
+
+        int[] optimized = { 0 };
+        OrderedParallelExecution.forEach(parameters.getParallelism(), 0, oversized.size() - 1,
+                i -> optimize(document, oversized.get(i), parameters), (i, image) -> {
+                    if (nonNull(image)) {
+                        if (image.length < image.originalLength) {
+                            optimizedImages.add(image.file);
+                            oversized.get(i).replaceWith(image.toStream(oversized.get(i).image()));
+                            optimized[0]++;
+                        } else {
+                            LOG.trace("Optimized image is not smaller than the original, discarding it");
+                            FileUtils.deleteQuietly(image.file);
+                        }
+                    }
+                }, executionContext());
+        LOG.debug("Optimized {} images", optimized[0]);
+    }
+
+    /**
+     * @return true if the image can be encoded as JPEG and its masks, if any, are still valid once the image is
+     *         downsampled
+     */
+    private static boolean isOptimizable(ImageUsage usage) {
+        COSStream image = usage.image();
+        if (image.getBoolean(COSName.IMAGE_MASK, false) || image.getInt(COSName.BITS_PER_COMPONENT) == 1) {
+            return false;
+        }
+        if (image.getDictionaryObject(COSName.MASK) instanceof COSArray) {
+            // color key masking refers to the original samples values
+            return false;
+        }
+        COSStream softMask = image.getDictionaryObject(COSName.SMASK, COSStream.class);
+        return isNull(softMask) || !softMask.containsKey(COSName.MATTE);
+    }
+
+    /**
+     * @return true if the color space has only shades of gray. Indexed and Separation color spaces have a single
+     *         component too but their colors are not gray.
+     */
+    private static boolean isGray(PDColorSpace colorSpace) {
+        return colorSpace instanceof PDDeviceGray || colorSpace instanceof PDCalGray
+                || (colorSpace instanceof PDICCBased && colorSpace.getNumberOfComponents() == 1);
+    }
+
+    private OptimizedImage optimize(PDDocument document, ImageUsage usage, OptimizeImagesParameters parameters) {
+        try {
+            BufferedImage decoded;
+            boolean gray;
+            long originalLength;
+            // the document is lazily read from the source
+            synchronized (document) {
+                PDImageXObject image = new PDImageXObject(new PDStream(usage.image()), null);
+                decoded = image.getImageWithoutMasks();
+                gray = isGray(image.getColorSpace());
+                originalLength = usage.image().getFilteredLength();
+            }
+            float scale = parameters.getDpi() / usage.dpi();
+            int width = Math.max(1, Math.round(decoded.getWidth() * scale));
+            int height = Math.max(1, Math.round(decoded.getHeight() * scale));
+            LOG.trace("Optimizing {}x{} image to {}x{}", decoded.getWidth(), decoded.getHeight(), width, height);
+            File file = ImageOptimizer.optimize(decoded, parameters.getQuality() / 100f, parameters.getDpi(), width,
+                    height, gray);
+            return new OptimizedImage(file, gray, originalLength);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to optimize image, it will be left untouched", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void after() {
+        nullSafeCloseQuietly(documentHandler);
+        optimizedImages.forEach(FileUtils::deleteQuietly);
+        optimizedImages.clear();
+    }
+
+    /**
+     * An image optimized and written as JPEG to a file
+     */
+    private static class OptimizedImage {
+        private final File file;
+        private final long length;
+        private final boolean gray;
+        private final long originalLength;
+        private final int width;
+        private final int height;
+
+        OptimizedImage(File file, boolean gray, long originalLength) throws IOException {
+            this.file = file;
+            this.length = file.length();
+            this.gray = gray;
+            this.originalLength = originalLength;
+            try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+                if (!readers.hasNext()) {
+                    throw new IOException("Unable to read the optimized image");
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input);
+                    this.width = reader.getWidth(0);
+                    this.height = reader.getHeight(0);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+
+        COSStream toStream(COSStream original) {
+            ReadOnlyFilteredCOSStream stream = ReadOnlyFilteredCOSStream.readOnlyJpegImage(file, width, height, 8,
+                    gray ? PDDeviceGray.INSTANCE : PDDeviceRGB.INSTANCE);
+            for (COSName key : PRESERVED_KEYS) {
+                COSBase value = original.getItem(key);
+                if (nonNull(value)) {
+                    stream.setItem(key, value);
+                }
+            }
+            return stream;
+        }
+    }
+}
@@ -22,17 +22,17 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
-import org.sejda.impl.sambox.component.PdfTextExtractorByArea;
+import org.sejda.impl.sambox.component.WorkerDocuments;
 import org.sejda.impl.sambox.component.excel.DataTable;
 import org.sejda.impl.sambox.component.excel.DataTableUtils;
-import org.sejda.model.TopLeftRectangularBox;
+import org.sejda.impl.sambox.component.excel.TableTextExtractor;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.excel.PdfToExcelParameters;
@@ -43,25 +43,32 @@ import org.sejda.sambox.pdmodel.PDPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.awt.*;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.function.Function.identity;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
+import static org.sejda.core.support.util.OrderedParallelExecution.forEach;
 
 public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
     private static final Logger LOG = LoggerFactory.getLogger(PdfToExcelTask.class);
+    private static final int EXCEL_ROWS_WINDOW = 100;
+    /**
+     * Max column width allowed by Excel, in units of 1/256th of a character width
+     */
+    private static final int MAX_EXCEL_COLUMN_WIDTH = 255 * 256;
 
     private PDDocumentHandler sourceDocumentHandler = null;
     private PDDocumentHandler destinationDocument = null;
     private MultipleOutputWriter outputWriter;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private WorkerDocuments<PDDocumentHandler> workerDocuments;
 
     @Override
     public void before(PdfToExcelParameters parameters, TaskExecutionContext executionContext) throws TaskException {
@@ -92,61 +99,29 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
 
             List<DataTable> all = new ArrayList<>();
 
-            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
-                DataTable dataTable = new DataTable(pageNumber);
-                LOG.debug("Extracting tables from page {}", pageNumber);
-                long start = System.currentTimeMillis();
-                PDPage page = sourceDocumentHandler.getPage(pageNumber);
-
-                for (Table table : parameters.getTables(pageNumber)) {
-                    List<Rectangle> cellAreas = new ArrayList<>();
-                    for (TopLeftRectangularBox row : table.getRows()) {
-                        for (TopLeftRectangularBox column : table.getColumns()) {
-                            TopLeftRectangularBox cell = row.intersection(column);
-                            if (!cell.asRectangle().isEmpty()) {
-                                cellAreas.add(cell.withPadding(1).asRectangle());
-                            } else {
-                                LOG.warn("Column and row do not intersect: row: " + row.toString() + ", column: "
-                                        + column.toString());
-                                cellAreas.add(new Rectangle(0, 0, 0, 0));
-                            }
-                        }
-                    }
-
-                    LOG.debug("Extracting text for {} table cells", cellAreas.size());
-                    long startTimingCells = System.currentTimeMillis();
-                    List<String> cellValues = new PdfTextExtractorByArea().extractTextFromAreas(page, cellAreas);
-                    LOG.debug("Text extraction took {} seconds",
-                            (System.currentTimeMillis() - startTimingCells) / 1000);
-
-                    int i = 0;
-                    ArrayList<String> rowData = new ArrayList<>();
-                    for (TopLeftRectangularBox row : table.getRows()) {
-                        for (TopLeftRectangularBox column : table.getColumns()) {
-                            rowData.add(cellValues.get(i));
-                            i++;
-                        }
-                        dataTable.addRow(rowData);
-                        rowData = new ArrayList<>();
-                    }
-                }
-
-                if (dataTable.hasData()) {
-                    all.add(dataTable);
-                }
-
-                LOG.debug("Done extracting tables from page {}, took {} seconds", pageNumber,
-                        (System.currentTimeMillis() - start) / 1000);
+            int parallelism = 1;
+            if (source instanceof PdfFileSource) {
+                // every worker opens its own copy of the document since documents are not thread safe
+                parallelism = parameters.getParallelism();
             }
+            workerDocuments = new WorkerDocuments<>(source, documentLoader, sourceDocumentHandler, identity());
+            forEach(parallelism, 1, numberOfPages, pageNumber -> extractTables(pageNumber, parameters),
+                    (pageNumber, dataTable) -> {
+                        if (dataTable.hasData()) {
+                            all.add(dataTable);
+                        }
+                    }, executionContext());
+            nullSafeCloseQuietly(workerDocuments);
 
+            List<DataTable> tables = all;
             if (parameters.isMergeTablesSpanningMultiplePages()) {
-                all = DataTableUtils.mergeTablesSpanningMultiplePages(all);
+                tables = DataTableUtils.mergeTablesSpanningMultiplePages(tables);
             }
 
-            all = DataTableUtils.mergeComplementaryColumns(all);
+            tables = DataTableUtils.mergeComplementaryColumns(tables);
 
             if (parameters.isCsvFormat()) {
-                List<File> tmpFiles = writeCsvFiles(all);
+                List<File> tmpFiles = writeCsvFiles(tables);
                 for (File tmpFile : tmpFiles) {
                     fileOutputNumber++;
                     String outName = nameGenerator(parameters.getOutputPrefix())
@@ -156,7 +131,7 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
                 }
 
             } else {
-                File tmpFile = writeExcelFile(all);
+                File tmpFile = writeExcelFile(tables);
                 fileOutputNumber++;
 
                 String outName = nameGenerator(parameters.getOutputPrefix())
@@ -173,7 +148,22 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
         LOG.debug("Input documents cropped and written to {}", parameters.getOutput());
     }
 
+    private DataTable extractTables(int pageNumber, PdfToExcelParameters parameters) throws TaskException {
+        DataTable dataTable = new DataTable(pageNumber);
+        LOG.debug("Extracting tables from page {}", pageNumber);
+        long start = System.currentTimeMillis();
+        PDPage page = workerDocuments.get().getPage(pageNumber);
 
+        for (Table table : parameters.getTables(pageNumber)) {
+            long startTimingCells = System.currentTimeMillis();
+            dataTable.addRows(new TableTextExtractor().extract(page, table));
+            LOG.debug("Text extraction took {} seconds", (System.currentTimeMillis() - startTimingCells) / 1000);
+        }
+
+        LOG.debug("Done extracting tables from page {}, took {} seconds", pageNumber,
+                (System.currentTimeMillis() - start) / 1000);
+        return dataTable;
+    }
 
     private List<File> writeCsvFiles(List<DataTable> dataTables) throws TaskException {
         List<File> results = new ArrayList<>();
@@ -217,28 +207,29 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
 
         long start = System.currentTimeMillis();
 
-        Workbook wb = new XSSFWorkbook();
+        // streaming workbook, only a window of rows is kept in memory, the others are flushed to disk
+        SXSSFWorkbook wb = new SXSSFWorkbook(EXCEL_ROWS_WINDOW);
         try (FileOutputStream fileOut = new FileOutputStream(tmpFile)) {
             for (int t = 0; t < dataTables.size(); t++) {
-//                LOG.debug("Writing data table " + t);
                 DataTable dataTable = dataTables.get(t);
                 List<List<String>> data = dataTable.getData();
                 Sheet sheet = wb.createSheet(String.format("Table %d (%s)", t + 1, dataTable.getPagesAsString()));
+                int[] maxColumnsLength = new int[dataTable.getColumnsCount()];
 
                 for (int r = 0; r < data.size(); r++) {
                     List<String> dataRow = data.get(r);
-//                    LOG.debug("Writing row " + r + " of " + dataRow.size() + " values");
-
                     Row row = sheet.createRow(r);
 
                     for (int i = 0; i < dataRow.size(); i++) {
                         String stringValue = dataRow.get(i);
                         row.createCell(i).setCellValue(stringValue);
+                        maxColumnsLength[i] = Math.max(maxColumnsLength[i], stringValue.length());
                     }
                 }
 
-                for (int c = 0; c < sheet.getRow(0).getPhysicalNumberOfCells(); c++) {
-                    sheet.autoSizeColumn(c);
+                // autosizing renders every cell with AWT fonts, we estimate the width from the number of characters
+                for (int c = 0; c < maxColumnsLength.length; c++) {
+                    sheet.setColumnWidth(c, Math.min(MAX_EXCEL_COLUMN_WIDTH, (maxColumnsLength[c] + 2) * 256));
                 }
             }
             wb.write(fileOut);
@@ -246,11 +237,14 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
             return tmpFile;
         } catch (IOException ioe) {
             throw new TaskException("Could not save .xlsx file", ioe);
+        } finally {
+            wb.dispose();
         }
     }
 
     @Override
     public void after() {
+        nullSafeCloseQuietly(workerDocuments);
         nullSafeCloseQuietly(sourceDocumentHandler);
         nullSafeCloseQuietly(destinationDocument);
     }
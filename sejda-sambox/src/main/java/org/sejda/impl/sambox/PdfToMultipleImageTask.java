@@ -26,7 +26,6 @@ import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.Set;
 
@@ -87,12 +86,12 @@ public class PdfToMultipleImageTask<T extends AbstractPdfToMultipleImageParamete
 
                         try {
                             LOG.trace("Converting page {}", currentPage);
-                            BufferedImage pageImage = documentHandler.renderImage(currentPage,
-                                    parameters.getResolutionInDpi(), parameters.getOutputImageColorType());
-
                             getWriter().openDestination(tmpFile, parameters);
-                            getWriter().write(pageImage, parameters);
-                            getWriter().closeDestination();
+                            try {
+                                writePage(documentHandler, currentPage, parameters);
+                            } finally {
+                                getWriter().closeDestination();
+                            }
 
                             String outName = nameGenerator(parameters.getOutputPrefix()).generate(
                                     nameRequest(parameters.getOutputImageType().getExtension()).page(currentPage)
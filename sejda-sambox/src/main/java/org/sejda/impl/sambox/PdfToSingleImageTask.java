@@ -23,7 +23,6 @@ import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEv
 import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
 import static org.sejda.core.support.io.OutputWriters.newSingleOutputWriter;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 
 import org.sejda.core.support.io.SingleOutputWriter;
@@ -81,9 +80,7 @@ public class PdfToSingleImageTask<T extends AbstractPdfToSingleImageParameters>
 
             LOG.trace("Converting page {}", page);
             try {
-                BufferedImage pageImage = documentHandler.renderImage(page, parameters.getResolutionInDpi(),
-                        parameters.getOutputImageColorType());
-                getWriter().write(pageImage, parameters);
+                writePage(documentHandler, page, parameters);
             } catch (TaskException e) {
                 executionContext().assertTaskIsLenient(e);
                 notifyEvent(executionContext().notifiableTaskMetadata())
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
+import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
+import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
+import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
+import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
+import static org.sejda.core.support.util.OrderedParallelExecution.forEach;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.sejda.core.support.io.MultipleOutputWriter;
+import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.writer.imageio.ImageIOWriters;
+import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.impl.sambox.component.ThumbnailRenderer;
+import org.sejda.impl.sambox.component.WorkerDocuments;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.image.ImageType;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.model.parameter.image.PdfToThumbnailsParameters;
+import org.sejda.model.task.BaseTask;
+import org.sejda.model.task.TaskExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SAMBox implementation of a task generating low resolution thumbnails of the pages of a list of {@link PdfSource}. Pages
+ * of file sources can be rendered concurrently, every worker thread rendering from its own copy of the document, while
+ * thumbnails are encoded on the task thread following the pages order. When the output is a stream, the generated
+ * images are written to it as a zip archive.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class PdfToThumbnailsTask extends BaseTask<PdfToThumbnailsParameters> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PdfToThumbnailsTask.class);
+
+    private PDDocumentHandler documentHandler = null;
+    private MultipleOutputWriter outputWriter;
+    private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private WorkerDocuments<ThumbnailRenderer> renderers;
+
+    @Override
+    public void before(PdfToThumbnailsParameters parameters, TaskExecutionContext executionContext)
+            throws TaskException {
+        super.before(parameters, executionContext);
+        documentLoader = new DefaultPdfSourceOpener();
+        outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
+    }
+
+    @Override
+    public void execute(PdfToThumbnailsParameters parameters) throws TaskException {
+        int currentStep = 0;
+        int totalSteps = parameters.getSourceList().size();
+        String extension = parameters.getOutputImageType().getExtension();
+
+        for (PdfSource<?> source : parameters.getSourceList()) {
+            executionContext().assertTaskNotCancelled();
+            currentStep++;
+            try {
+                LOG.debug("Opening {}", source);
+                documentHandler = source.open(documentLoader);
+                renderers = new WorkerDocuments<>(source, documentLoader, documentHandler,
+                        d -> new ThumbnailRenderer(d.getUnderlyingPDDocument(), parameters.isSkipAnnotations(),
+                                parameters.isSkipTransparencyGroups()));
+
+                List<Integer> pages = new ArrayList<>(parameters.getPages(documentHandler.getNumberOfPages()));
+                if (pages.isEmpty()) {
+                    throw new TaskException("No pages converted");
+                }
+                LOG.trace("Found {} pages to convert", pages.size());
+
+                int parallelism = 1;
+                if (source instanceof PdfFileSource) {
+                    // every worker opens its own copy of the document since documents are not thread safe
+                    parallelism = parameters.getParallelism();
+                }
+                int fileNumber = currentStep;
+                BufferedImage sprite = parameters.isSprite() ? newSprite(pages.size(), parameters) : null;
+                forEach(parallelism, 0, pages.size() - 1,
+                        i -> render(pages.get(i), parameters), (i, thumbnail) -> {
+                            int page = pages.get(i);
+                            if (nonNull(thumbnail.failure)) {
+                                executionContext().assertTaskIsLenient(thumbnail.failure);
+                                notifyEvent(executionContext().notifiableTaskMetadata()).taskWarning(
+                                        String.format("Page %d was skipped, could not be converted", page),
+                                        thumbnail.failure);
+                            } else if (nonNull(sprite)) {
+                                draw(sprite, i, thumbnail.image, parameters);
+                            } else {
+                                File tmpFile = createTemporaryBuffer();
+                                write(thumbnail.image, tmpFile, parameters);
+                                outputWriter.addOutput(file(tmpFile).name(nameGenerator(parameters.getOutputPrefix())
+                                        .generate(nameRequest(extension).page(page).originalName(source.getName())
+                                                .fileNumber(fileNumber))));
+                            }
+                        }, executionContext());
+
+                if (nonNull(sprite)) {
+                    File tmpFile = createTemporaryBuffer();
+                    write(sprite, tmpFile, parameters);
+                    outputWriter.addOutput(file(tmpFile).name(nameGenerator(parameters.getOutputPrefix())
+                            .generate(nameRequest(extension).originalName(source.getName()).fileNumber(fileNumber))));
+                }
+            } finally {
+                nullSafeCloseQuietly(renderers);
+                nullSafeCloseQuietly(documentHandler);
+            }
+            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep).outOf(totalSteps);
+        }
+
+        parameters.getOutput().accept(outputWriter);
+        LOG.debug("Thumbnails generated and written to {}", parameters.getOutput());
+    }
+
+    private Thumbnail render(int page, PdfToThumbnailsParameters parameters) {
+        LOG.trace("Rendering thumbnail of page {}", page);
+        try {
+            return new Thumbnail(renderers.get().render(page, parameters.getSize()), null);
+        } catch (TaskException e) {
+            return new Thumbnail(null, e);
+        }
+    }
+
+    private static BufferedImage newSprite(int thumbnails, PdfToThumbnailsParameters parameters) {
+        int columns = Math.min(thumbnails, parameters.getSpriteColumns());
+        int rows = (thumbnails + columns - 1) / columns;
+        BufferedImage sprite = new BufferedImage(columns * parameters.getSize(), rows * parameters.getSize(),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = sprite.createGraphics();
+        try {
+            graphics.setBackground(Color.WHITE);
+            graphics.clearRect(0, 0, sprite.getWidth(), sprite.getHeight());
+        } finally {
+            graphics.dispose();
+        }
+        return sprite;
+    }
+
+    /**
+     * Draws the thumbnail centered in the cell of the sprite with the given index
+     */
+    private static void draw(BufferedImage sprite, int index, BufferedImage thumbnail,
+            PdfToThumbnailsParameters parameters) {
+        int size = parameters.getSize();
+        int x = (index % parameters.getSpriteColumns()) * size + (size - thumbnail.getWidth()) / 2;
+        int y = (index / parameters.getSpriteColumns()) * size + (size - thumbnail.getHeight()) / 2;
+        Graphics2D graphics = sprite.createGraphics();
+        try {
+            graphics.drawImage(thumbnail, x, y, null);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private static void write(BufferedImage image, File file, PdfToThumbnailsParameters parameters)
+            throws TaskIOException {
+        ImageType type = parameters.getOutputImageType();
+        ImageWriter writer;
+        try {
+            writer = ImageIOWriters.acquire(type.name().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new TaskIOException("Unable to find an image writer for " + type, e);
+        }
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            ImageWriteParam writeParam = writer.getDefaultWriteParam();
+            if (type == ImageType.JPEG) {
+                writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                writeParam.setCompressionQuality(parameters.getQuality() / 100f);
+            }
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        } catch (IOException e) {
+            throw new TaskIOException("Unable to write the thumbnail", e);
+        } finally {
+            ImageIOWriters.release(writer);
+        }
+    }
+
+    @Override
+    public void after() {
+        nullSafeCloseQuietly(renderers);
+        nullSafeCloseQuietly(documentHandler);
+    }
+
+    private static class Thumbnail {
+        private final BufferedImage image;
+        private final TaskException failure;
+
+        Thumbnail(BufferedImage image, TaskException failure) {
+            this.image = image;
+            this.failure = failure;
+        }
+    }
+}
@@ -68,11 +68,13 @@ public class SplitByOutlineLevelTask extends BaseTask<SplitByOutlineLevelParamet
             executionContext().assertTaskNotCancelled();
             currentStep++;
             LOG.debug("Opening {} ", source);
-            document = source.open(documentLoader).getUnderlyingPDDocument();
+            PDDocumentHandler documentHandler = source.open(documentLoader);
+            document = documentHandler.getUnderlyingPDDocument();
 
             LOG.debug("Retrieving outline information for level {}", parameters.getLevelToSplitAt());
-            OutlinePageDestinations pagesDestination = new SamboxOutlineLevelsHandler(document,
-                    parameters.getMatchingTitleRegEx()).getPageDestinationsForLevel(parameters.getLevelToSplitAt());
+            OutlinePageDestinations pagesDestination = new SamboxOutlineLevelsHandler(
+                    documentHandler.getDocumentSkeleton(), parameters.getMatchingTitleRegEx())
+                            .getPageDestinationsForLevel(parameters.getLevelToSplitAt());
             splitter = new PageDestinationsLevelPdfSplitter(document, parameters, pagesDestination,
                     new OptimizationRuler(parameters.getOptimizationPolicy()).apply(document));
             LOG.debug("Starting split by outline level for {} ", parameters);
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.util.Arrays;
+
+import org.sejda.model.parameter.image.PdfToImageParameters;
+
+/**
+ * Converts gray scale images to black and white, 1 bit per pixel, images applying a threshold or Floyd-Steinberg error
+ * diffusion. Pixels are packed directly in the data buffer of the resulting image, without going through Java2D color
+ * conversion, so the output can be handed as it is to bilevel encoders like CCITT.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class BilevelConverter {
+
+    public static final BilevelConverter DEFAULT = new BilevelConverter(
+            PdfToImageParameters.DEFAULT_BLACK_AND_WHITE_THRESHOLD, false);
+
+    private final int threshold;
+    private final boolean dithering;
+
+    /**
+     * @param threshold
+     *            gray level, between 0 and 255, below which a pixel is black
+     * @param dithering
+     *            true to diffuse the quantization error to the neighbor pixels
+     */
+    public BilevelConverter(int threshold, boolean dithering) {
+        requireArg(threshold >= 0 && threshold <= 255, "Threshold must be between 0 and 255");
+        this.threshold = threshold;
+        this.dithering = dithering;
+    }
+
+    /**
+     * @param parameters
+     * @return a converter for the black and white settings of the given parameters
+     */
+    public static BilevelConverter of(PdfToImageParameters parameters) {
+        return new BilevelConverter(parameters.getBlackAndWhiteThreshold(), parameters.isDithering());
+    }
+
+    /**
+     * @param gray
+     *            a {@link BufferedImage#TYPE_BYTE_GRAY} image
+     * @return a {@link BufferedImage#TYPE_BYTE_BINARY} image of the same size
+     */
+    public BufferedImage convert(BufferedImage gray) {
+        requireNotNullArg(gray, "Image cannot be null");
+        requireArg(gray.getType() == BufferedImage.TYPE_BYTE_GRAY, "A gray scale image is expected");
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        // default palette of the binary type is 0 black, 1 white and pixels are packed most significant bit first
+        byte[] bits = ((DataBufferByte) binary.getRaster().getDataBuffer()).getData();
+        int stride = ((MultiPixelPackedSampleModel) binary.getSampleModel()).getScanlineStride();
+        Raster source = gray.getRaster();
+        byte[] row = new byte[width];
+        // errors for the current and next row, with one pixel of padding on both sides
+        int[] errors = new int[dithering ? width + 2 : 0];
+        int[] nextErrors = new int[errors.length];
+        for (int y = 0; y < height; y++) {
+            source.getDataElements(0, y, width, 1, row);
+            int offset = y * stride;
+            for (int x = 0; x < width; x++) {
+                int value = row[x] & 0xFF;
+                if (dithering) {
+                    value += errors[x + 1];
+                }
+                boolean white = value >= threshold;
+                if (white) {
+                    bits[offset + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+                if (dithering) {
+                    int error = white ? value - 255 : value;
+                    errors[x + 2] += error * 7 / 16;
+                    nextErrors[x] += error * 3 / 16;
+                    nextErrors[x + 1] += error * 5 / 16;
+                    nextErrors[x + 2] += error / 16;
+                }
+            }
+            if (dithering) {
+                int[] tmp = errors;
+                errors = nextErrors;
+                nextErrors = tmp;
+                Arrays.fill(nextErrors, 0);
+            }
+        }
+        return binary;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.SeekableSource;
+
+/**
+ * A {@link SeekableSource} reading from a {@link ByteBuffer}, heap or direct. The source is the content of the buffer
+ * between its position and its limit when the source is created, the buffer is not copied and its position and limit
+ * are not modified. Every source has a unique id, regardless of the buffer content.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class ByteBufferSeekableSource extends BaseSeekableSource {
+
+    private ByteBuffer buffer;
+    private long position;
+
+    public ByteBufferSeekableSource(ByteBuffer buffer) {
+        this(buffer, UUID.randomUUID().toString());
+    }
+
+    private ByteBufferSeekableSource(ByteBuffer buffer, String id) {
+        super(id);
+        requireNotNullArg(buffer, "Input buffer cannot be null");
+        this.buffer = buffer.slice();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size());
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return buffer.limit();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position < size()) {
+            int read = (int) Math.min(dst.remaining(), size() - position);
+            ByteBuffer src = buffer.duplicate();
+            src.position((int) position);
+            src.limit((int) position + read);
+            dst.put(src);
+            position += read;
+            return read;
+        }
+        return -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position < size()) {
+            return buffer.get((int) position++) & 0xFF;
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        requireArg(startingPosition >= 0 && startingPosition < size(), "Starting position must be within the source");
+        requireArg(length > 0, "View length must be positive");
+        ByteBuffer view = buffer.duplicate();
+        view.position((int) startingPosition);
+        view.limit((int) Math.min(size(), startingPosition + length));
+        return new ByteBufferSeekableSource(view, id());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.sejda.core.support.util.Cancellation;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.rendering.PDFRenderer;
+import org.sejda.sambox.rendering.PageDrawer;
+import org.sejda.sambox.rendering.PageDrawerParameters;
+
+/**
+ * A {@link PDFRenderer} that stops rendering, throwing a {@link java.util.concurrent.CancellationException}, as soon as
+ * the task bound to the current thread is cancelled or times out, instead of completing the page. See
+ * {@link Cancellation}.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class CancellablePDFRenderer extends PDFRenderer {
+
+    public CancellablePDFRenderer(PDDocument document) {
+        super(document);
+    }
+
+    @Override
+    protected PageDrawer createPageDrawer(PageDrawerParameters parameters) throws IOException {
+        PageDrawer drawer = new CancellablePageDrawer(parameters);
+        drawer.setAnnotationFilter(getAnnotationsFilter());
+        return drawer;
+    }
+
+    /**
+     * A {@link PageDrawer} checking for cancellation before every content stream operator
+     */
+    public static class CancellablePageDrawer extends PageDrawer {
+
+        public CancellablePageDrawer(PageDrawerParameters parameters) throws IOException {
+            super(parameters);
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            Cancellation.checkpoint();
+            super.processOperator(operator, operands);
+        }
+    }
+}
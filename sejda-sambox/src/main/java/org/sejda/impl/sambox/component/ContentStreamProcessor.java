@@ -27,7 +27,10 @@ import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.sejda.core.support.util.Cancellation;
 import org.sejda.sambox.contentstream.PDFStreamEngine;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSNull;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
@@ -64,6 +67,12 @@ public class ContentStreamProcessor extends PDFStreamEngine implements Consumer<
         }
     }
 
+    @Override
+    protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+        Cancellation.checkpoint();
+        super.processOperator(operator, operands);
+    }
+
     @Override
     public void accept(PDPage page) {
         try {
@@ -17,11 +17,25 @@
  */
 package org.sejda.impl.sambox.component;
 
+import static java.util.Objects.nonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
 
+import org.apache.commons.io.IOUtils;
+import org.sejda.core.support.jfr.EventScope;
+import org.sejda.core.support.jfr.FlightRecorderEvents;
+import org.sejda.io.FastByteArrayOutputStream;
+import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskWrongPasswordException;
+import org.sejda.model.input.PdfByteArraySource;
+import org.sejda.model.input.PdfByteBufferSource;
 import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.input.PdfStreamSource;
@@ -31,22 +45,67 @@ import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
 
 /**
- * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler}.
+ * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler}. Stream and URL
+ * sources smaller than a configurable threshold are read in memory, larger ones are copied to a temporary file. URL
+ * sources served by an HTTP server supporting range requests are downloaded on demand. Skeletons of documents opened
+ * from files can be retrieved from a {@link DocumentSkeletonCache}.
  * 
  * @author Andrea Vacondio
  * 
  */
 public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler> {
 
+    /**
+     * System property with the size in bytes up to which stream and URL sources are read in memory instead of being
+     * copied to a temporary file, 0 to always use a temporary file
+     */
+    public static final String IN_MEMORY_THRESHOLD_PROPERTY = "sejda.sambox.inmemory.threshold";
+    /**
+     * System property to read stream and URL sources in direct buffers, outside the heap, when they are read in memory
+     */
+    public static final String IN_MEMORY_DIRECT_PROPERTY = "sejda.sambox.inmemory.direct";
+    public static final int DEFAULT_IN_MEMORY_THRESHOLD = 8 * 1024 * 1024;
+    /**
+     * System property to always download the whole document of URL sources, even when the server supports range
+     * requests
+     */
+    public static final String HTTP_RANGES_DISABLED_PROPERTY = "sejda.sambox.http.ranges.disabled";
+    /**
+     * System property with the timeout in milliseconds to connect to the server when using range requests, 0 for no
+     * timeout
+     */
+    public static final String HTTP_RANGES_CONNECT_TIMEOUT_PROPERTY = "sejda.sambox.http.ranges.connect.timeout";
+    /**
+     * System property with the timeout in milliseconds to read a range response from the server, 0 for no timeout
+     */
+    public static final String HTTP_RANGES_READ_TIMEOUT_PROPERTY = "sejda.sambox.http.ranges.read.timeout";
+    public static final int DEFAULT_HTTP_RANGES_CONNECT_TIMEOUT = 10_000;
+    public static final int DEFAULT_HTTP_RANGES_READ_TIMEOUT = 30_000;
+
     private static final String WRONG_PWD_MESSAGE = "Unable to open '%s' due to a wrong password.";
     private static final String ERROR_MESSAGE = "An error occurred opening the source: %s.";
 
+    private final DocumentSkeletonCache skeletons;
+
+    /**
+     * Creates an opener using the shared {@link DocumentSkeletonCache}, if enabled
+     */
+    public DefaultPdfSourceOpener() {
+        this(DocumentSkeletonCache.shared().orElse(null));
+    }
+
+    /**
+     * @param skeletons
+     *            cache of the skeletons of the documents opened from files, null to always compute them
+     */
+    public DefaultPdfSourceOpener(DocumentSkeletonCache skeletons) {
+        this.skeletons = skeletons;
+    }
+
     @Override
     public PDDocumentHandler open(PdfURLSource source) throws TaskIOException {
-        try {
-            PDDocument document = PDFParser.parse(
-                    SeekableSources.onTempFileSeekableSourceFrom(source.getSource().openStream()),
-                    source.getPassword());
+        try (EventScope event = FlightRecorderEvents.sourceOpening(source.getName(), -1)) {
+            PDDocument document = PDFParser.parse(seekableSourceFrom(source), source.getPassword());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
             throw new TaskWrongPasswordException(String.format(WRONG_PWD_MESSAGE, source.getSource()), ipe);
@@ -55,12 +114,41 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
         }
     }
 
+    /**
+     * @param source
+     * @return a {@link HttpRangeSeekableSource} if the URL is served by an HTTP server supporting range requests, so
+     *         that only the parts of the document that are actually needed are downloaded, otherwise the whole
+     *         document is downloaded
+     * @throws IOException
+     * @see #HTTP_RANGES_DISABLED_PROPERTY
+     * @see #HTTP_RANGES_CONNECT_TIMEOUT_PROPERTY
+     * @see #HTTP_RANGES_READ_TIMEOUT_PROPERTY
+     */
+    protected SeekableSource seekableSourceFrom(PdfURLSource source) throws IOException {
+        if (!Boolean.getBoolean(HTTP_RANGES_DISABLED_PROPERTY)) {
+            SeekableSource ranged = HttpRangeSeekableSource.probe(source.getSource());
+            if (nonNull(ranged)) {
+                return ranged;
+            }
+        }
+        try (InputStream stream = source.getSource().openStream()) {
+            return seekableSourceFrom(stream);
+        }
+    }
+
     @Override
     public PDDocumentHandler open(PdfFileSource source) throws TaskIOException {
-        try {
-            PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(source.getSource()),
-                    source.getPassword());
-            return new PDDocumentHandler(document);
+        File file = source.getSource();
+        // captured before parsing, a skeleton is cached for the file as it was when parsed
+        long length = file.length();
+        long lastModified = file.lastModified();
+        try (EventScope event = FlightRecorderEvents.sourceOpening(source.getName(), length)) {
+            PDDocument document = PDFParser.parse(seekableSourceFrom(source), source.getPassword());
+            PDDocumentHandler handler = new PDDocumentHandler(document);
+            if (nonNull(skeletons)) {
+                handler.setDocumentSkeletonSupplier(() -> skeletons.skeleton(file, length, lastModified, document));
+            }
+            return handler;
         } catch (InvalidPasswordException ipe) {
             throw new TaskWrongPasswordException(String.format(WRONG_PWD_MESSAGE, source.getSource().getName()), ipe);
         } catch (IOException e) {
@@ -68,11 +156,19 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
         }
     }
 
+    /**
+     * @param source
+     * @return the {@link SeekableSource} the given file source is parsed from
+     * @throws IOException
+     */
+    protected SeekableSource seekableSourceFrom(PdfFileSource source) throws IOException {
+        return SeekableSources.seekableSourceFrom(source.getSource());
+    }
+
     @Override
     public PDDocumentHandler open(PdfStreamSource source) throws TaskIOException {
-        try {
-            PDDocument document = PDFParser.parse(SeekableSources.onTempFileSeekableSourceFrom(source.getSource()),
-                    source.getPassword());
+        try (EventScope event = FlightRecorderEvents.sourceOpening(source.getName(), -1)) {
+            PDDocument document = PDFParser.parse(seekableSourceFrom(source.getSource()), source.getPassword());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
             throw new TaskWrongPasswordException(String.format(WRONG_PWD_MESSAGE, source.getSource()), ipe);
@@ -80,4 +176,61 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
             throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
         }
     }
+
+    @Override
+    public PDDocumentHandler open(PdfByteArraySource source) throws TaskIOException {
+        try (EventScope event = FlightRecorderEvents.sourceOpening(source.getName(), source.getSource().length)) {
+            PDDocument document = PDFParser.parse(new ByteBufferSeekableSource(ByteBuffer.wrap(source.getSource())),
+                    source.getPassword());
+            return new PDDocumentHandler(document);
+        } catch (InvalidPasswordException ipe) {
+            throw new TaskWrongPasswordException(String.format(WRONG_PWD_MESSAGE, source.getName()), ipe);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
+        }
+    }
+
+    @Override
+    public PDDocumentHandler open(PdfByteBufferSource source) throws TaskIOException {
+        try (EventScope event = FlightRecorderEvents.sourceOpening(source.getName(), source.getSource().remaining())) {
+            PDDocument document = PDFParser.parse(new ByteBufferSeekableSource(source.getSource()),
+                    source.getPassword());
+            return new PDDocumentHandler(document);
+        } catch (InvalidPasswordException ipe) {
+            throw new TaskWrongPasswordException(String.format(WRONG_PWD_MESSAGE, source.getName()), ipe);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
+        }
+    }
+
+    /**
+     * @param stream
+     * @return a {@link SeekableSource} in memory if the stream is not larger than the configured threshold or on a
+     *         temporary file otherwise
+     * @throws IOException
+     * @see #IN_MEMORY_THRESHOLD_PROPERTY
+     * @see #IN_MEMORY_DIRECT_PROPERTY
+     */
+    protected SeekableSource seekableSourceFrom(InputStream stream) throws IOException {
+        int threshold = Integer.getInteger(IN_MEMORY_THRESHOLD_PROPERTY, DEFAULT_IN_MEMORY_THRESHOLD);
+        if (threshold <= 0) {
+            return SeekableSources.onTempFileSeekableSourceFrom(stream);
+        }
+        FastByteArrayOutputStream head = new FastByteArrayOutputStream();
+        IOUtils.copyLarge(stream, head, 0, threshold + 1L);
+        byte[] bytes = head.toByteArrayUnsafe();
+        if (bytes.length > threshold) {
+            return SeekableSources
+                    .onTempFileSeekableSourceFrom(new SequenceInputStream(new ByteArrayInputStream(bytes), stream));
+        }
+        // in memory sources have a unique id, as temporary files have, so objects of identical inputs are not
+        // considered the same objects when written
+        if (Boolean.getBoolean(IN_MEMORY_DIRECT_PROPERTY)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+            return new ByteBufferSeekableSource(buffer);
+        }
+        return new ByteBufferSeekableSource(ByteBuffer.wrap(bytes));
+    }
 }
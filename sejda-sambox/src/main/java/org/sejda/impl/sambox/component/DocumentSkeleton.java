@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Immutable summary of the structure of a parsed document: its number of pages and flat outline. Computing the flat
+ * outline requires to traverse the outline and to look up the page of every item in the page tree, so the skeleton of a
+ * document can be cached and shared by multiple operations on the same input.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class DocumentSkeleton {
+    // rough size in bytes of the skeleton and of every outline item, excluding the title
+    private static final int BASE_SIZE = 64;
+    private static final int ITEM_SIZE = 48;
+
+    private final int pages;
+    private final List<OutlineItem> outline;
+
+    private DocumentSkeleton(int pages, List<OutlineItem> outline) {
+        this.pages = pages;
+        this.outline = unmodifiableList(new ArrayList<>(outline));
+    }
+
+    /**
+     * @param document
+     * @return the skeleton of the given document
+     */
+    public static DocumentSkeleton of(PDDocument document) {
+        requireNotNullArg(document, "Document cannot be null");
+        return new DocumentSkeleton(document.getNumberOfPages(), OutlineUtils.getFlatOutline(document));
+    }
+
+    public int pages() {
+        return pages;
+    }
+
+    /**
+     * @return an unmodifiable sorted flat representation of the document outline
+     * @see OutlineUtils#getFlatOutline(PDDocument)
+     */
+    public List<OutlineItem> outline() {
+        return outline;
+    }
+
+    /**
+     * @return an estimate of the memory, in bytes, retained by this skeleton
+     */
+    public long estimatedSize() {
+        long size = BASE_SIZE;
+        for (OutlineItem item : outline) {
+            size += ITEM_SIZE + (nonNull(item.title) ? 2L * item.title.length() : 0);
+        }
+        return size;
+    }
+}
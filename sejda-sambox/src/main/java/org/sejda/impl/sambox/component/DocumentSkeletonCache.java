@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Least recently used cache of {@link DocumentSkeleton}s of input files, bounded both in number of entries and in
+ * estimated memory. Entries are keyed by the file path and are valid as long as the file size and last modified time
+ * are unchanged, so that multiple operations executed in sequence on the same input file compute the skeleton once.
+ * <p>
+ * A shared instance, used by the {@link DefaultPdfSourceOpener}, is enabled setting the {@value #MAX_BYTES_PROPERTY}
+ * system property to the max amount of memory the cache can use.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class DocumentSkeletonCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentSkeletonCache.class);
+
+    /**
+     * System property with the max memory, in bytes, used by the shared cache. The shared cache is disabled if not set
+     * or not positive.
+     */
+    public static final String MAX_BYTES_PROPERTY = "sejda.sambox.skeletons.cache.bytes";
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static final DocumentSkeletonCache SHARED = sharedFromProperty();
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private long bytes;
+    // access ordered, the first one is the least recently used
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxEntries
+     *            max number of cached skeletons
+     * @param maxBytes
+     *            max estimated memory, in bytes, retained by the cached skeletons
+     */
+    public DocumentSkeletonCache(int maxEntries, long maxBytes) {
+        requireArg(maxEntries > 0, "Max number of entries must be a positive number");
+        requireArg(maxBytes > 0, "Max memory must be a positive number");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    private static DocumentSkeletonCache sharedFromProperty() {
+        long maxBytes = Long.getLong(MAX_BYTES_PROPERTY, 0);
+        if (maxBytes > 0) {
+            LOG.debug("Caching documents skeletons up to {} bytes", maxBytes);
+            return new DocumentSkeletonCache(DEFAULT_MAX_ENTRIES, maxBytes);
+        }
+        return null;
+    }
+
+    /**
+     * @return the shared cache or an empty {@link Optional} if the shared cache is disabled
+     * @see #MAX_BYTES_PROPERTY
+     */
+    public static Optional<DocumentSkeletonCache> shared() {
+        return ofNullable(SHARED);
+    }
+
+    /**
+     * @param file
+     *            the file the document has been parsed from
+     * @param length
+     *            length of the file when the document was parsed
+     * @param lastModified
+     *            last modified time of the file when the document was parsed
+     * @param document
+     *            the document parsed from the file, used to compute the skeleton if not cached
+     * @return the cached skeleton of the given file or, if not cached or cached for a different length or last modified
+     *         time, the skeleton of the given document, that is then cached
+     */
+    public DocumentSkeleton skeleton(File file, long length, long lastModified, PDDocument document) {
+        requireNotNullArg(file, "File cannot be null");
+        requireNotNullArg(document, "Document cannot be null");
+        Optional<DocumentSkeleton> cached = get(file, length, lastModified);
+        if (cached.isPresent()) {
+            LOG.trace("Using cached skeleton of {}", file);
+            return cached.get();
+        }
+        DocumentSkeleton skeleton = DocumentSkeleton.of(document);
+        put(file, length, lastModified, skeleton);
+        return skeleton;
+    }
+
+    /**
+     * @param file
+     * @return the cached skeleton of the given file, if any and if the file didn't change since it was cached
+     */
+    public Optional<DocumentSkeleton> get(File file) {
+        requireNotNullArg(file, "File cannot be null");
+        return get(file, file.length(), file.lastModified());
+    }
+
+    private synchronized Optional<DocumentSkeleton> get(File file, long length, long lastModified) {
+        Path path = pathOf(file);
+        Entry entry = entries.get(path);
+        if (nonNull(entry)) {
+            if (entry.length == length && entry.lastModified == lastModified) {
+                return Optional.of(entry.skeleton);
+            }
+            LOG.trace("Discarding stale skeleton of {}", file);
+            remove(path);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Caches the skeleton of the given file, evicting the least recently used skeletons if necessary. Skeletons
+     * larger than the max memory are not cached.
+     *
+     * @param file
+     * @param length
+     *            length of the file when the document the skeleton is computed from was parsed
+     * @param lastModified
+     *            last modified time of the file when the document the skeleton is computed from was parsed
+     * @param skeleton
+     */
+    public synchronized void put(File file, long length, long lastModified, DocumentSkeleton skeleton) {
+        requireNotNullArg(file, "File cannot be null");
+        requireNotNullArg(skeleton, "Skeleton cannot be null");
+        Path path = pathOf(file);
+        remove(path);
+        Entry entry = new Entry(length, lastModified, skeleton);
+        if (entry.size > maxBytes) {
+            LOG.debug("Skeleton of {} is too large to be cached", file);
+            return;
+        }
+        entries.put(path, entry);
+        bytes += entry.size;
+        Iterator<Entry> lru = entries.values().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            Entry evicted = lru.next();
+            lru.remove();
+            bytes -= evicted.size;
+        }
+    }
+
+    /**
+     * @return the number of cached skeletons
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the estimated memory, in bytes, retained by the cached skeletons
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private void remove(Path path) {
+        Entry removed = entries.remove(path);
+        if (nonNull(removed)) {
+            bytes -= removed.size;
+        }
+    }
+
+    private static Path pathOf(File file) {
+        return file.getAbsoluteFile().toPath().normalize();
+    }
+
+    private static class Entry {
+        private final long length;
+        private final long lastModified;
+        private final DocumentSkeleton skeleton;
+        private final long size;
+
+        Entry(long length, long lastModified, DocumentSkeleton skeleton) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.skeleton = skeleton;
+            this.size = skeleton.estimatedSize();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.BufferedSeekableSource;
+import org.sejda.io.SeekableSource;
+import org.sejda.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool limiting the number of simultaneously open file handles used by the {@link SeekableSource}s it creates. Sources
+ * open their file on demand and, once the limit is reached, the file of the least recently used source is closed, to be
+ * reopened transparently the next time the source is read. This allows to keep a large number of documents parsed and
+ * readable, as needed when their objects are lazily read while saving a document they have been imported into, without
+ * exhausting the file handles.
+ *
+ * @author Andrea Vacondio
+ */
+public class FileHandlesPool {
+    private static final Logger LOG = LoggerFactory.getLogger(FileHandlesPool.class);
+
+    private final int maxOpen;
+    // access ordered, the first one is the least recently used
+    private final Set<PooledFileSeekableSource> open = new LinkedHashSet<>();
+
+    /**
+     * @param maxOpen
+     *            max number of simultaneously open files
+     */
+    public FileHandlesPool(int maxOpen) {
+        requireArg(maxOpen > 0, "Max number of open files must be a positive number");
+        this.maxOpen = maxOpen;
+    }
+
+    /**
+     * @param file
+     * @return a buffered {@link SeekableSource} for the given file whose file handle is managed by this pool
+     * @throws IOException
+     */
+    public SeekableSource source(File file) throws IOException {
+        requireNotNullArg(file, "Input file cannot be null");
+        return new BufferedSeekableSource(new PooledFileSeekableSource(file));
+    }
+
+    /**
+     * @return the number of currently open files
+     */
+    public synchronized int openFiles() {
+        return open.size();
+    }
+
+    private synchronized int readAt(PooledFileSeekableSource source, ByteBuffer dst, long position) throws IOException {
+        return source.channel().read(dst, position);
+    }
+
+    private void used(PooledFileSeekableSource source) throws IOException {
+        open.remove(source);
+        open.add(source);
+        Iterator<PooledFileSeekableSource> lru = open.iterator();
+        while (open.size() > maxOpen) {
+            PooledFileSeekableSource evicted = lru.next();
+            lru.remove();
+            LOG.trace("Releasing file handle of {}", evicted.id());
+            evicted.releaseChannel();
+        }
+    }
+
+    private synchronized void closed(PooledFileSeekableSource source) {
+        open.remove(source);
+        source.releaseChannel();
+    }
+
+    /**
+     * File source reading using absolute positions, so that it can be closed and reopened at any time
+     */
+    private class PooledFileSeekableSource extends BaseSeekableSource {
+        private final File file;
+        private final long size;
+        private FileChannel channel;
+        private long position;
+
+        PooledFileSeekableSource(File file) throws IOException {
+            super(file.getAbsolutePath());
+            this.file = file;
+            this.size = file.length();
+            // fail fast if the file cannot be read
+            IOUtils.close(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+        }
+
+        /**
+         * must be called holding the pool lock
+         */
+        FileChannel channel() throws IOException {
+            if (channel == null || !channel.isOpen()) {
+                LOG.trace("Opening file handle of {}", id());
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            }
+            used(this);
+            return channel;
+        }
+
+        /**
+         * must be called holding the pool lock
+         */
+        void releaseChannel() {
+            IOUtils.closeQuietly(channel);
+            channel = null;
+        }
+
+        void ensureOpen() throws IOException {
+            requireOpen();
+        }
+
+        int readAt(ByteBuffer dst, long at) throws IOException {
+            requireOpen();
+            if (at >= size) {
+                return -1;
+            }
+            return FileHandlesPool.this.readAt(this, dst, at);
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableSource position(long newPosition) {
+            requireArg(newPosition >= 0, "Cannot set position to a negative value");
+            this.position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int read = readAt(dst, position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            if (read(buffer) > 0) {
+                return buffer.get(0) & 0xFF;
+            }
+            return -1;
+        }
+
+        @Override
+        public SeekableSource view(long startingPosition, long length) throws IOException {
+            requireOpen();
+            return new View(this, startingPosition, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            closed(this);
+        }
+    }
+
+    /**
+     * View over a portion of a pooled source, it reads through the pooled source channel instead of opening its own
+     */
+    private static class View extends BaseSeekableSource {
+        private final PooledFileSeekableSource wrapped;
+        private final long start;
+        private final long length;
+        private long position;
+
+        View(PooledFileSeekableSource wrapped, long start, long length) {
+            super(wrapped.id());
+            requireArg(start >= 0, "Starting position cannot be negative");
+            requireArg(length >= 0, "View length cannot be negative");
+            this.wrapped = wrapped;
+            this.start = start;
+            this.length = Math.max(0, Math.min(length, wrapped.size() - start));
+        }
+
+        @Override
+        protected void requireOpen() throws IOException {
+            super.requireOpen();
+            wrapped.ensureOpen();
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableSource position(long newPosition) throws IOException {
+            requireArg(newPosition >= 0, "Cannot set position to a negative value");
+            this.position = Math.min(length, newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return length;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            requireOpen();
+            long available = length - position;
+            if (available <= 0) {
+                return -1;
+            }
+            int limit = dst.limit();
+            if (dst.remaining() > available) {
+                dst.limit(dst.position() + (int) available);
+            }
+            try {
+                int read = wrapped.readAt(dst, start + position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            if (read(buffer) > 0) {
+                return buffer.get(0) & 0xFF;
+            }
+            return -1;
+        }
+
+        @Override
+        public SeekableSource view(long startingPosition, long viewLength) throws IOException {
+            requireOpen();
+            return new View(wrapped, start + startingPosition, Math.min(viewLength, length - startingPosition));
+        }
+    }
+}
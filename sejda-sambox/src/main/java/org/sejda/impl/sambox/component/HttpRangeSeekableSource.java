@@ -0,0 +1,403 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.impl.sambox.component.DefaultPdfSourceOpener.DEFAULT_HTTP_RANGES_CONNECT_TIMEOUT;
+import static org.sejda.impl.sambox.component.DefaultPdfSourceOpener.DEFAULT_HTTP_RANGES_READ_TIMEOUT;
+import static org.sejda.impl.sambox.component.DefaultPdfSourceOpener.HTTP_RANGES_CONNECT_TIMEOUT_PROPERTY;
+import static org.sejda.impl.sambox.component.DefaultPdfSourceOpener.HTTP_RANGES_READ_TIMEOUT_PROPERTY;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.SeekableSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SeekableSource} on a resource served over HTTP by a server supporting range requests. Data is downloaded on
+ * demand in fixed size blocks and the most recently used blocks are kept in memory, so parsing the trailer and the
+ * cross reference and lazily loading the objects a task actually needs only downloads a fraction of a large document.
+ * Contiguous missing blocks are downloaded with a single request. Range requests are conditional to the resource not
+ * being changed since it was probed and any response that doesn't match the requested range of the probed resource is a
+ * failure.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class HttpRangeSeekableSource extends BaseSeekableSource {
+    private static final Logger LOG = LoggerFactory.getLogger(HttpRangeSeekableSource.class);
+
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAX_CACHED_BLOCKS = 256;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private final URL url;
+    private final long size;
+    private final String validator;
+    private final int blockSize;
+    private final Map<Long, byte[]> blocks;
+    private long position;
+    private long requests;
+    private long downloaded;
+
+    /**
+     * @param url
+     * @param size
+     *            size of the resource
+     * @param blockSize
+     *            size in bytes of the downloaded blocks
+     * @param maxCachedBlocks
+     *            max number of blocks kept in memory
+     */
+    public HttpRangeSeekableSource(URL url, long size, int blockSize, int maxCachedBlocks) {
+        this(url, size, null, blockSize, maxCachedBlocks);
+    }
+
+    /**
+     * @param url
+     * @param size
+     *            size of the resource
+     * @param validator
+     *            strong ETag or Last-Modified date of the resource sent as If-Range header, so that a change of the
+     *            resource is detected. Null if the server provided neither of them.
+     * @param blockSize
+     *            size in bytes of the downloaded blocks
+     * @param maxCachedBlocks
+     *            max number of blocks kept in memory
+     */
+    public HttpRangeSeekableSource(URL url, long size, String validator, int blockSize, int maxCachedBlocks) {
+        super(UUID.randomUUID().toString());
+        requireNotNullArg(url, "URL cannot be null");
+        requireArg(size >= 0, "Size cannot be negative");
+        requireArg(blockSize > 0, "Block size must be a positive number");
+        requireArg(maxCachedBlocks > 0, "Cached blocks must be a positive number");
+        this.url = url;
+        this.size = size;
+        this.validator = validator;
+        this.blockSize = blockSize;
+        this.blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxCachedBlocks;
+            }
+        };
+    }
+
+    /**
+     * Asks the server, with a HEAD request, the size of the resource and if range requests are supported
+     * 
+     * @param url
+     * @return a source on the given URL using the default block size and cache size, or null if the URL is not an
+     *         HTTP URL or the server doesn't support range requests or doesn't tell the size of the resource
+     * @throws IOException
+     */
+    public static HttpRangeSeekableSource probe(URL url) throws IOException {
+        URLConnection connection = withTimeouts(url.openConnection());
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            try {
+                http.setRequestMethod("HEAD");
+                long size = http.getContentLengthLong();
+                if (http.getResponseCode() == HttpURLConnection.HTTP_OK
+                        && "bytes".equalsIgnoreCase(http.getHeaderField("Accept-Ranges")) && size >= 0) {
+                    LOG.debug("Range requests supported for {} of {} bytes", url, size);
+                    return new HttpRangeSeekableSource(url, size, validator(http), DEFAULT_BLOCK_SIZE,
+                            DEFAULT_MAX_CACHED_BLOCKS);
+                }
+                LOG.debug("Range requests not supported for {}", url);
+            } finally {
+                http.disconnect();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the ETag if it's a strong one, weak ones cannot be used with If-Range, otherwise the Last-Modified date
+     */
+    private static String validator(HttpURLConnection connection) {
+        String etag = connection.getHeaderField("ETag");
+        if (nonNull(etag) && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return connection.getHeaderField("Last-Modified");
+    }
+
+    private static <T extends URLConnection> T withTimeouts(T connection) {
+        connection.setConnectTimeout(
+                Integer.getInteger(HTTP_RANGES_CONNECT_TIMEOUT_PROPERTY, DEFAULT_HTTP_RANGES_CONNECT_TIMEOUT));
+        connection.setReadTimeout(
+                Integer.getInteger(HTTP_RANGES_READ_TIMEOUT_PROPERTY, DEFAULT_HTTP_RANGES_READ_TIMEOUT));
+        return connection;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        int read = readAt(position, dst, size);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        int read = readAt(position);
+        if (read >= 0) {
+            position++;
+        }
+        return read;
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        return new View(startingPosition, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        LOG.debug("Downloaded {} bytes of {} from {} using {} requests", downloaded, size, url, requests);
+        blocks.clear();
+    }
+
+    /**
+     * @return the number of range requests sent to the server
+     */
+    public long requests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of bytes downloaded
+     */
+    public long downloaded() {
+        return downloaded;
+    }
+
+    private int readAt(long position) throws IOException {
+        if (position >= size) {
+            return -1;
+        }
+        return block(position / blockSize)[(int) (position % blockSize)] & 0xFF;
+    }
+
+    /**
+     * Reads starting from the given position, without going past the given end. Contiguous missing blocks are
+     * downloaded with a single request and copied to the destination as they are received, so a read larger than the
+     * cache doesn't lose to eviction the blocks it downloaded.
+     */
+    private int readAt(long position, ByteBuffer dst, long end) throws IOException {
+        long last = Math.min(end, position + dst.remaining());
+        if (position >= last) {
+            return position >= end ? -1 : 0;
+        }
+        ObjLongConsumer<byte[]> copy = (block, index) -> {
+            long from = Math.max(position, index * blockSize);
+            long to = Math.min(last, index * blockSize + block.length);
+            dst.put(block, (int) (from - index * blockSize), (int) (to - from));
+        };
+        long lastBlock = (last - 1) / blockSize;
+        long index = position / blockSize;
+        while (index <= lastBlock) {
+            byte[] block = blocks.get(index);
+            if (block != null) {
+                copy.accept(block, index);
+                index++;
+            } else {
+                long runEnd = index;
+                while (runEnd < lastBlock && !blocks.containsKey(runEnd + 1)) {
+                    runEnd++;
+                }
+                fetch(index, runEnd, copy);
+                index = runEnd + 1;
+            }
+        }
+        return (int) (last - position);
+    }
+
+    private byte[] block(long index) throws IOException {
+        byte[] block = blocks.get(index);
+        if (block == null) {
+            byte[][] fetched = new byte[1][];
+            fetch(index, index, (fetchedBlock, i) -> fetched[0] = fetchedBlock);
+            block = fetched[0];
+        }
+        return block;
+    }
+
+    /**
+     * Downloads the given range of blocks with a single request, caching them and passing each of them to the consumer
+     * as soon as it's received
+     */
+    private void fetch(long first, long last, ObjLongConsumer<byte[]> consumer) throws IOException {
+        long start = first * blockSize;
+        long end = Math.min(size, (last + 1) * blockSize) - 1;
+        LOG.trace("Downloading bytes {}-{} of {}", start, end, url);
+        HttpURLConnection connection = withTimeouts((HttpURLConnection) url.openConnection());
+        try {
+            connection.setRequestProperty("Range", "bytes=" + start + "-" + end);
+            if (nonNull(validator)) {
+                connection.setRequestProperty("If-Range", validator);
+            }
+            requireRange(connection, start, end);
+            requests++;
+            try (InputStream stream = connection.getInputStream()) {
+                for (long index = first; index <= last; index++) {
+                    int length = (int) Math.min(blockSize, size - index * blockSize);
+                    byte[] block = new byte[length];
+                    int read = 0;
+                    while (read < length) {
+                        int current = stream.read(block, read, length - read);
+                        if (current < 0) {
+                            throw new IOException("Unexpected end of the range response for " + url);
+                        }
+                        read += current;
+                    }
+                    downloaded += length;
+                    blocks.put(index, block);
+                    consumer.accept(block, index);
+                }
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Verifies the response is a partial content with exactly the requested range of a resource of the probed size. A
+     * full response means the server ignored the range or, with If-Range, that the resource changed.
+     */
+    private void requireRange(HttpURLConnection connection, long start, long end) throws IOException {
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_PARTIAL) {
+            throw new IOException(String.format(
+                    "Unexpected response %d to a range request for %s, the resource might have changed",
+                    connection.getResponseCode(), url));
+        }
+        String contentRange = connection.getHeaderField("Content-Range");
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange == null ? "" : contentRange.trim());
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) != start || Long.parseLong(matcher.group(2)) != end
+                || Long.parseLong(matcher.group(3)) != size) {
+            throw new IOException(String.format("Unexpected content range '%s' for bytes %d-%d/%d of %s",
+                    contentRange, start, end, size, url));
+        }
+        long length = connection.getContentLengthLong();
+        if (length >= 0 && length != end - start + 1) {
+            throw new IOException(String.format("Unexpected content length %d for bytes %d-%d of %s", length, start,
+                    end, url));
+        }
+    }
+
+    /**
+     * A view of a portion of the source, sharing the blocks cache
+     */
+    private class View extends BaseSeekableSource {
+        private final long start;
+        private final long length;
+        private long viewPosition;
+
+        View(long start, long length) {
+            super(HttpRangeSeekableSource.this.id());
+            requireArg(start >= 0 && start < size, "Starting position must be within the source");
+            requireArg(length > 0, "View length must be positive");
+            this.start = start;
+            this.length = Math.min(length, size - start);
+        }
+
+        @Override
+        public long position() {
+            return viewPosition;
+        }
+
+        @Override
+        public SeekableSource position(long position) {
+            requireArg(position >= 0, "Cannot set position to a negative value");
+            this.viewPosition = Math.min(position, length);
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return length;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            requireOpen();
+            HttpRangeSeekableSource.this.requireOpen();
+            int read = readAt(start + viewPosition, dst, start + length);
+            if (read > 0) {
+                viewPosition += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int read() throws IOException {
+            requireOpen();
+            HttpRangeSeekableSource.this.requireOpen();
+            if (viewPosition < length) {
+                return readAt(start + viewPosition++);
+            }
+            return -1;
+        }
+
+        @Override
+        public SeekableSource view(long startingPosition, long viewLength) throws IOException {
+            requireOpen();
+            requireArg(startingPosition < length, "Starting position must be within the view");
+            return new View(start + startingPosition, Math.min(viewLength, length - startingPosition));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
+
+/**
+ * The frame header (SOF segment) of a JPEG file, parsed reading the markers segments up to the frame header, without
+ * decoding any image data. It tells if the JPEG data can be embedded as it is in a PDF stream using the DCTDecode
+ * filter.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class JpegHeader {
+
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int TEM = 0x01;
+    private static final int SOF0 = 0xC0;
+    private static final int SOF2 = 0xC2;
+    private static final int SOF15 = 0xCF;
+    private static final int DHT = 0xC4;
+    private static final int JPG = 0xC8;
+    private static final int DAC = 0xCC;
+
+    private final int frameMarker;
+    private final int precision;
+    private final int width;
+    private final int height;
+    private final int components;
+
+    JpegHeader(int frameMarker, int precision, int width, int height, int components) {
+        this.frameMarker = frameMarker;
+        this.precision = precision;
+        this.width = width;
+        this.height = height;
+        this.components = components;
+    }
+
+    /**
+     * @param file
+     * @return the frame header of the given file or null if the file is not a JPEG or its frame header can't be found
+     * @throws IOException
+     */
+    public static JpegHeader read(File file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * @param stream
+     * @return the frame header of the given JPEG stream or null if the stream is not a JPEG or its frame header can't be
+     *         found. The stream is read up to the end of the frame header.
+     * @throws IOException
+     */
+    public static JpegHeader read(InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+        try {
+            if (input.readUnsignedByte() != 0xFF || input.readUnsignedByte() != SOI) {
+                return null;
+            }
+            while (true) {
+                int marker = nextMarker(input);
+                if (marker == EOI || marker == SOS) {
+                    return null;
+                }
+                if (marker == TEM || (marker >= 0xD0 && marker <= 0xD7)) {
+                    // standalone markers
+                    continue;
+                }
+                int length = input.readUnsignedShort();
+                if (length < 2) {
+                    return null;
+                }
+                if (marker >= SOF0 && marker <= SOF15 && marker != DHT && marker != JPG && marker != DAC) {
+                    int precision = input.readUnsignedByte();
+                    int height = input.readUnsignedShort();
+                    int width = input.readUnsignedShort();
+                    int components = input.readUnsignedByte();
+                    return new JpegHeader(marker, precision, width, height, components);
+                }
+                input.skipBytes(length - 2);
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static int nextMarker(DataInputStream input) throws IOException {
+        int current = input.readUnsignedByte();
+        while (current != 0xFF) {
+            current = input.readUnsignedByte();
+        }
+        // markers can be preceded by any number of fill bytes
+        while (current == 0xFF) {
+            current = input.readUnsignedByte();
+        }
+        return current;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getComponents() {
+        return components;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return true if the JPEG data can be embedded as it is in a DCTDecode stream. That's the case for 8 bits baseline,
+     *         extended or progressive Huffman coded gray or RGB images, whose dimensions are in the frame header.
+     */
+    public boolean isPassthroughSupported() {
+        return frameMarker >= SOF0 && frameMarker <= SOF2 && precision == 8 && width > 0 && height > 0
+                && (components == 1 || components == 3);
+    }
+
+    /**
+     * @return the color space for the JPEG data when embedded as it is
+     */
+    public PDColorSpace getColorSpace() {
+        if (components == 1) {
+            return PDDeviceGray.INSTANCE;
+        }
+        return PDDeviceRGB.INSTANCE;
+    }
+}
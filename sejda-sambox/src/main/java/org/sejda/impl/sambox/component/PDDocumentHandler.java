@@ -25,15 +25,24 @@ import static org.sejda.impl.sambox.util.ViewerPreferencesUtils.getPageLayout;
 import static org.sejda.impl.sambox.util.ViewerPreferencesUtils.getPageMode;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.sejda.core.Sejda;
+import org.sejda.core.support.jfr.EventScope;
+import org.sejda.core.support.jfr.FlightRecorderEvents;
+import org.sejda.core.support.util.Cancellation;
 import org.sejda.impl.sambox.util.FontUtils;
 import org.sejda.impl.sambox.util.PageLabelUtils;
 import org.sejda.model.exception.TaskException;
@@ -43,6 +52,7 @@ import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.label.PdfPageLabel;
 import org.sejda.model.pdf.viewerpreference.PdfPageLayout;
 import org.sejda.model.pdf.viewerpreference.PdfPageMode;
+import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.contentstream.PDContentStream;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
@@ -83,6 +93,8 @@ public class PDDocumentHandler implements Closeable {
     private PDDocument document;
     private PDDocumentAccessPermission permissions;
     private Set<WriteOption> writeOptions = new HashSet<>();
+    private Supplier<DocumentSkeleton> skeletonSupplier = () -> DocumentSkeleton.of(getUnderlyingPDDocument());
+    private DocumentSkeleton skeleton;
 
     /**
      * Creates a new handler using the given document as underlying {@link PDDocument}.
@@ -253,13 +265,13 @@ public class PDDocumentHandler implements Closeable {
      * @throws TaskException
      */
     public void savePDDocument(File file, StandardSecurity security) throws TaskException {
-        try {
+        try (EventScope event = FlightRecorderEvents.documentSave(file)) {
             if (Boolean.getBoolean(SAMBOX_USE_ASYNC_WRITER)) {
                 LOG.trace("Saving document to {} using async writer", file);
-                document.writeTo(file, security, writeOptions.stream().toArray(WriteOption[]::new));
+                writeTo(file, security, writeOptions.stream().toArray(WriteOption[]::new));
             } else {
                 LOG.trace("Saving document to {}", file);
-                document.writeTo(file, security,
+                writeTo(file, security,
                         concat(of(WriteOption.SYNC_BODY_WRITE), writeOptions.stream()).toArray(WriteOption[]::new));
             }
         } catch (IOException e) {
@@ -267,10 +279,39 @@ public class PDDocumentHandler implements Closeable {
         }
     }
 
+    private void writeTo(File file, StandardSecurity security, WriteOption... options) throws IOException {
+        try (WritableByteChannel channel = new CancellableWritableByteChannel(
+                FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING),
+                Cancellation.current())) {
+            document.writeTo(channel, security, options);
+        }
+    }
+
     public int getNumberOfPages() {
         return document.getNumberOfPages();
     }
 
+    /**
+     * @return the skeleton of the underlying document, computed on first call or retrieved from the
+     *         {@link DocumentSkeletonCache} when the document has been opened from a file and the cache is enabled. It
+     *         doesn't reflect changes made to the document after the first call.
+     */
+    public DocumentSkeleton getDocumentSkeleton() {
+        if (skeleton == null) {
+            skeleton = skeletonSupplier.get();
+        }
+        return skeleton;
+    }
+
+    /**
+     * @param skeletonSupplier
+     *            supplier of the skeleton of the underlying document
+     */
+    void setDocumentSkeletonSupplier(Supplier<DocumentSkeleton> skeletonSupplier) {
+        this.skeletonSupplier = skeletonSupplier;
+    }
+
     public PDDocument getUnderlyingPDDocument() {
         return document;
     }
@@ -286,15 +327,17 @@ public class PDDocumentHandler implements Closeable {
      * @return The newly created page
      */
     public PDPage importPage(PDPage page) {
-        PDPage imported = new PDPage(page.getCOSObject().duplicate());
-        imported.setCropBox(page.getCropBox());
-        imported.setMediaBox(page.getMediaBox());
-        imported.setBleedBox(page.getBleedBox());
-
-        imported.setResources(page.getResources());
-        imported.setRotation(page.getRotation());
-        imported.getCOSObject().removeItem(COSName.B);
-        return addPage(imported);
+        try (EventScope event = FlightRecorderEvents.pageImport(document.getNumberOfPages() + 1)) {
+            PDPage imported = new PDPage(page.getCOSObject().duplicate());
+            imported.setCropBox(page.getCropBox());
+            imported.setMediaBox(page.getMediaBox());
+            imported.setBleedBox(page.getBleedBox());
+
+            imported.setResources(page.getResources());
+            imported.setRotation(page.getRotation());
+            imported.getCOSObject().removeItem(COSName.B);
+            return addPage(imported);
+        }
     }
 
     /**
@@ -359,8 +402,29 @@ public class PDDocumentHandler implements Closeable {
     }
 
     public BufferedImage renderImage(int pageNumber, int dpi, ImageColorType type) throws TaskException {
-        try {
-            PDFRenderer pdfRenderer = new PDFRenderer(document);
+        return renderImage(pageNumber, dpi, type, BilevelConverter.DEFAULT);
+    }
+
+    /**
+     * Renders the given page. Black and white images are rendered in gray scale and then converted by the given
+     * converter, packing the pixels directly instead of letting Java2D map every drawing operation on a 1 bit per
+     * pixel image.
+     * 
+     * @param pageNumber
+     * @param dpi
+     * @param type
+     * @param bilevel
+     *            converter for black and white images
+     * @return the rendered page
+     * @throws TaskException
+     */
+    public BufferedImage renderImage(int pageNumber, int dpi, ImageColorType type, BilevelConverter bilevel)
+            throws TaskException {
+        try (EventScope event = FlightRecorderEvents.pageRendering(pageNumber, dpi)) {
+            PDFRenderer pdfRenderer = new CancellablePDFRenderer(document);
+            if (type == ImageColorType.BLACK_AND_WHITE) {
+                return bilevel.convert(pdfRenderer.renderImageWithDPI(pageNumber - 1, dpi, ImageType.GRAY));
+            }
             return pdfRenderer.renderImageWithDPI(pageNumber - 1, dpi, toSamboxImageType(type));
         } catch (IOException ex) {
             LOG.error("Failed to render page " + pageNumber, ex);
@@ -368,6 +432,31 @@ public class PDDocumentHandler implements Closeable {
         }
     }
 
+    /**
+     * @param pageNumber
+     * @param dpi
+     * @param type
+     * @return an image of the given page that is rendered in horizontal bands while it's read
+     * @see TiledPageImage
+     */
+    public RenderedImage renderTiledImage(int pageNumber, int dpi, ImageColorType type) {
+        return renderTiledImage(pageNumber, dpi, type, BilevelConverter.DEFAULT);
+    }
+
+    /**
+     * @param pageNumber
+     * @param dpi
+     * @param type
+     * @param bilevel
+     *            converter for black and white images
+     * @return an image of the given page that is rendered in horizontal bands while it's read
+     * @see TiledPageImage
+     */
+    public RenderedImage renderTiledImage(int pageNumber, int dpi, ImageColorType type, BilevelConverter bilevel) {
+        return new TiledPageImage(document, pageNumber - 1, dpi, toSamboxImageType(type),
+                TiledPageImage.DEFAULT_TILE_PIXELS, bilevel);
+    }
+
     private ImageType toSamboxImageType(ImageColorType colorType) {
         for (ImageType type : ImageType.values()) {
             if (type.toBufferedImageType() == colorType.getBufferedImageType()) {
@@ -472,4 +561,35 @@ public class PDDocumentHandler implements Closeable {
 
         return null;
     }
+
+    /**
+     * Channel checking, before every write, if the task saving the document has been cancelled or timed out so that
+     * saving a large document doesn't block the task. The task is captured when the channel is created since writes can
+     * be performed by a different thread.
+     */
+    private static class CancellableWritableByteChannel implements WritableByteChannel {
+        private final WritableByteChannel wrapped;
+        private final TaskExecutionContext executionContext;
+
+        CancellableWritableByteChannel(WritableByteChannel wrapped, TaskExecutionContext executionContext) {
+            this.wrapped = wrapped;
+            this.executionContext = executionContext;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            Cancellation.checkpoint(executionContext);
+            return wrapped.write(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return wrapped.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            wrapped.close();
+        }
+    }
 }
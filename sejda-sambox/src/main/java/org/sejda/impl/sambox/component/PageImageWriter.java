@@ -18,12 +18,17 @@
  */
 package org.sejda.impl.sambox.component;
 
+import static java.util.Objects.nonNull;
+
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
@@ -39,6 +44,7 @@ import org.sejda.model.input.FileSource;
 import org.sejda.model.input.Source;
 import org.sejda.model.input.SourceDispatcher;
 import org.sejda.model.input.StreamSource;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PDPageContentStream;
@@ -100,33 +106,51 @@ public class PageImageWriter {
     }
 
     public static PDImageXObject toPDXImageObject(Source<?> imageSource) throws TaskIOException {
-        return imageSource.dispatch(new SourceDispatcher<PDImageXObject>() {
+        File file = toFile(imageSource);
+        try {
+            return createFromFile(file.getPath());
+        } catch (Exception e) {
+            throw new TaskIOException(
+                    "An error occurred creating PDImageXObject from file source: " + imageSource.getName(), e);
+        }
+    }
+
+    /**
+     * @param imageSource
+     * @return the file holding the image of the given source. A stream source is copied to a temporary file, with the
+     *         same extension of the source name, so the stream is consumed once and the image can then be read as many
+     *         times as needed.
+     * @throws TaskIOException
+     */
+    public static File toFile(Source<?> imageSource) throws TaskIOException {
+        return imageSource.dispatch(new SourceDispatcher<File>() {
             @Override
-            public PDImageXObject dispatch(FileSource source) throws TaskIOException {
-                try {
-                    return createFromFile(source.getSource().getPath());
-                } catch (Exception e) {
-                    throw new TaskIOException("An error occurred creating PDImageXObject from file source: " + imageSource.getName(), e);
-                }
+            public File dispatch(FileSource source) {
+                return source.getSource();
             }
 
             @Override
-            public PDImageXObject dispatch(StreamSource source) throws TaskIOException {
+            public File dispatch(StreamSource source) throws TaskIOException {
                 try {
                     String extension = FilenameUtils.getExtension(source.getName());
                     File tmp = IOUtils.createTemporaryBuffer("." + extension);
                     try (FileOutputStream fos = new FileOutputStream(tmp)) {
                         org.apache.commons.io.IOUtils.copyLarge(source.getSource(), fos);
                     }
-                    return createFromFile(tmp.getPath());
+                    return tmp;
                 } catch (Exception e) {
-                    throw new TaskIOException("An error occurred creating PDImageXObject from file source: " + imageSource.getName(), e);
+                    throw new TaskIOException(
+                            "An error occurred creating PDImageXObject from file source: " + imageSource.getName(), e);
                 }
             }
         });
     }
 
     public static PDImageXObject createFromFile(String filePath) throws TaskIOException, IOException {
+        PDImageXObject jpeg = jpegPassthrough(new File(filePath));
+        if (nonNull(jpeg)) {
+            return jpeg;
+        }
         try {
             return PDImageXObject.createFromFile(filePath);
         } catch (UnsupportedTiffImageException e) {
@@ -144,6 +168,24 @@ public class PageImageWriter {
         }
     }
 
+    /**
+     * @param file
+     * @return an image whose stream is the JPEG data of the given file, as it is, using the DCTDecode filter or null if
+     *         the file is not a JPEG that can be embedded without being decoded. Only the JPEG frame header is parsed.
+     * @throws IOException
+     */
+    private static PDImageXObject jpegPassthrough(File file) throws IOException {
+        JpegHeader header = JpegHeader.read(file);
+        if (nonNull(header) && header.isPassthroughSupported()) {
+            LOG.trace("Embedding JPEG {}x{} image data as it is", header.getWidth(), header.getHeight());
+            try (InputStream stream = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+                return new PDImageXObject(stream, COSName.DCT_DECODE, header.getWidth(), header.getHeight(),
+                        header.getPrecision(), header.getColorSpace());
+            }
+        }
+        return null;
+    }
+
     public static String convertTiffToJpg(String filePath) throws IOException, TaskIOException {
         return convertImageTo(filePath, "jpeg");
     }
@@ -22,9 +22,13 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
+import org.sejda.core.support.util.Cancellation;
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.common.PDStream;
 import org.sejda.sambox.text.PDFTextStripper;
@@ -43,6 +47,12 @@ public class PdfVisibleTextStripper extends PDFTextStripper implements Closeable
         this.output = outputWriter;
     }
 
+    @Override
+    protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+        Cancellation.checkpoint();
+        super.processOperator(operator, operands);
+    }
+
     @Override
     protected void processTextPosition(TextPosition text) {
         if (text.isVisible()) {
@@ -37,11 +37,21 @@ import org.sejda.sambox.pdmodel.PDDocument;
 public class SamboxOutlineLevelsHandler implements org.sejda.model.outline.OutlineLevelsHandler {
 
     private Pattern titleMatchingPattern = Pattern.compile(".+");
-    private PDDocument document;
+    private DocumentSkeleton skeleton;
 
     public SamboxOutlineLevelsHandler(PDDocument document, String matchingTitleRegEx) {
-        requireNonNull(document, "Unable to retrieve bookmarks from a null document.");
-        this.document = document;
+        this(DocumentSkeleton.of(requireNonNull(document, "Unable to retrieve bookmarks from a null document.")),
+                matchingTitleRegEx);
+    }
+
+    /**
+     * @param skeleton
+     *            skeleton of the document, possibly cached
+     * @param matchingTitleRegEx
+     */
+    public SamboxOutlineLevelsHandler(DocumentSkeleton skeleton, String matchingTitleRegEx) {
+        requireNonNull(skeleton, "Unable to retrieve bookmarks from a null document.");
+        this.skeleton = skeleton;
         if (isNotBlank(matchingTitleRegEx)) {
             this.titleMatchingPattern = Pattern.compile(matchingTitleRegEx);
         }
@@ -50,7 +60,7 @@ public class SamboxOutlineLevelsHandler implements org.sejda.model.outline.Outli
     @Override
     public OutlinePageDestinations getPageDestinationsForLevel(int level) {
         OutlinePageDestinations destinations = new OutlinePageDestinations();
-        OutlineUtils.getFlatOutline(document).stream().filter(i -> i.level == level).filter(i -> isNotBlank(i.title))
+        skeleton.outline().stream().filter(i -> i.level == level).filter(i -> isNotBlank(i.title))
                 .filter(i -> titleMatchingPattern.matcher(i.title).matches())
                 .forEach(i -> destinations.addPage(i.page, i.title));
         return destinations;
@@ -60,7 +70,7 @@ public class SamboxOutlineLevelsHandler implements org.sejda.model.outline.Outli
     public OutlineExtractPageDestinations getExtractPageDestinations(int level, boolean includePageAfter) {
         OutlineExtractPageDestinations destinations = new OutlineExtractPageDestinations();
 
-        List<OutlineItem> flatOutline = OutlineUtils.getFlatOutline(document);
+        List<OutlineItem> flatOutline = skeleton.outline();
 
         for (int i = 0; i < flatOutline.size(); i++) {
             OutlineItem item = flatOutline.get(i);
@@ -70,7 +80,7 @@ public class SamboxOutlineLevelsHandler implements org.sejda.model.outline.Outli
 
                 if (isNotBlank(title)) {
                     if (titleMatchingPattern.matcher(title).matches()) {
-                        int endPage = document.getNumberOfPages();
+                        int endPage = skeleton.pages();
                         for (int j = i + 1; j < flatOutline.size(); j++) {
                             OutlineItem after = flatOutline.get(j);
                             if (after.level <= item.level) {
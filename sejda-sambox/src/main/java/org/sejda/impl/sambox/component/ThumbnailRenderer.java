@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+
+import org.sejda.impl.sambox.component.CancellablePDFRenderer.CancellablePageDrawer;
+import org.sejda.model.exception.TaskException;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.graphics.form.PDTransparencyGroup;
+import org.sejda.sambox.rendering.ImageType;
+import org.sejda.sambox.rendering.PDFRenderer;
+import org.sejda.sambox.rendering.PageDrawer;
+import org.sejda.sambox.rendering.PageDrawerParameters;
+import org.sejda.sambox.rendering.RenderDestination;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component rendering low resolution thumbnails of the pages of a document. Images are decoded subsampled, close to the
+ * resolution they are drawn at, instead of at their native resolution and annotations and transparency groups can
+ * optionally be skipped. As any renderer it's not thread safe and it shouldn't be shared between threads.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class ThumbnailRenderer {
+    private static final Logger LOG = LoggerFactory.getLogger(ThumbnailRenderer.class);
+
+    private final PDDocument document;
+    private final PDFRenderer renderer;
+
+    /**
+     * @param document
+     * @param skipAnnotations
+     *            if true annotations are not rendered
+     * @param skipTransparencyGroups
+     *            if true transparency groups are not rendered
+     */
+    public ThumbnailRenderer(PDDocument document, boolean skipAnnotations, boolean skipTransparencyGroups) {
+        requireNotNullArg(document, "Document cannot be null");
+        this.document = document;
+        this.renderer = new CancellablePDFRenderer(document) {
+            @Override
+            protected PageDrawer createPageDrawer(PageDrawerParameters parameters) throws IOException {
+                if (skipTransparencyGroups) {
+                    PageDrawer drawer = new CancellablePageDrawer(parameters) {
+                        @Override
+                        public void showTransparencyGroup(PDTransparencyGroup form) {
+                            LOG.trace("Skipping transparency group");
+                        }
+                    };
+                    drawer.setAnnotationFilter(getAnnotationsFilter());
+                    return drawer;
+                }
+                return super.createPageDrawer(parameters);
+            }
+        };
+        this.renderer.setSubsamplingAllowed(true);
+        if (skipAnnotations) {
+            this.renderer.setAnnotationsFilter(a -> false);
+        }
+    }
+
+    /**
+     * @param pageNumber
+     *            one based page number
+     * @param size
+     *            size in pixels of the longest side of the thumbnail
+     * @return an RGB thumbnail of the given page
+     * @throws TaskException
+     *             if the page cannot be rendered
+     */
+    public BufferedImage render(int pageNumber, int size) throws TaskException {
+        requireArg(size > 0, "Thumbnail size must be a positive number");
+        try {
+            PDRectangle cropBox = document.getPage(pageNumber - 1).getCropBox();
+            float scale = size / Math.max(cropBox.getWidth(), cropBox.getHeight());
+            return renderer.renderImage(pageNumber - 1, scale, ImageType.RGB, RenderDestination.VIEW);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new TaskException("Failed to render page " + pageNumber, e);
+        }
+    }
+}
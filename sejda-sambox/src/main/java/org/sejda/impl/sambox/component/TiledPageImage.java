@@ -0,0 +1,294 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Vector;
+
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.rendering.ImageType;
+import org.sejda.sambox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RenderedImage} of a page that is rendered on demand in horizontal bands (tiles as wide as the page). Only the
+ * last requested band is kept in memory so, as long as the image is read sequentially from top to bottom, as image
+ * writers do, the memory needed is proportional to the band size instead of the page size. The price is that the page
+ * content is processed once for every band.
+ * <p>
+ * Rendering errors are thrown as {@link UncheckedIOException} when the image data is requested.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class TiledPageImage implements RenderedImage {
+    private static final Logger LOG = LoggerFactory.getLogger(TiledPageImage.class);
+
+    /**
+     * Default max number of pixels of a band
+     */
+    public static final int DEFAULT_TILE_PIXELS = 16 * 1024 * 1024;
+
+    private final PDFRenderer renderer;
+    private final int pageIndex;
+    private final float scale;
+    private final ImageType type;
+    private final int width;
+    private final int height;
+    private final int tileHeight;
+    private final ColorModel colorModel;
+    private final SampleModel sampleModel;
+    private final BilevelConverter bilevel;
+
+    private int currentTile = -1;
+    private Raster current;
+
+    /**
+     * @param document
+     * @param pageIndex
+     *            zero based index of the page
+     * @param dpi
+     * @param type
+     * @param maxTilePixels
+     *            max number of pixels of a band, it determines the height of the bands
+     */
+    public TiledPageImage(PDDocument document, int pageIndex, float dpi, ImageType type, int maxTilePixels) {
+        this(document, pageIndex, dpi, type, maxTilePixels, BilevelConverter.DEFAULT);
+    }
+
+    /**
+     * @param document
+     * @param pageIndex
+     *            zero based index of the page
+     * @param dpi
+     * @param type
+     * @param maxTilePixels
+     *            max number of pixels of a band, it determines the height of the bands
+     * @param bilevel
+     *            converter used to obtain the bands of a {@link ImageType#BINARY} image from the gray scale ones.
+     *            Error diffusion, if any, is applied to every band separately.
+     */
+    public TiledPageImage(PDDocument document, int pageIndex, float dpi, ImageType type, int maxTilePixels,
+            BilevelConverter bilevel) {
+        requireNotNullArg(document, "Document cannot be null");
+        requireNotNullArg(type, "Image type cannot be null");
+        requireNotNullArg(bilevel, "Bilevel converter cannot be null");
+        requireArg(dpi > 0, "DPI must be a positive number");
+        requireArg(maxTilePixels > 0, "Tile pixels must be a positive number");
+        this.renderer = new CancellablePDFRenderer(document);
+        this.pageIndex = pageIndex;
+        this.scale = dpi / 72f;
+        this.type = type;
+        this.bilevel = bilevel;
+        PDPage page = document.getPage(pageIndex);
+        PDRectangle cropBox = page.getCropBox();
+        int scaledWidth = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
+        int scaledHeight = (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
+        if (page.getRotation() == 90 || page.getRotation() == 270) {
+            this.width = scaledHeight;
+            this.height = scaledWidth;
+        } else {
+            this.width = scaledWidth;
+            this.height = scaledHeight;
+        }
+        this.tileHeight = Math.max(1, Math.min(height, maxTilePixels / width));
+        BufferedImage prototype = new BufferedImage(1, 1, type.toBufferedImageType());
+        this.colorModel = prototype.getColorModel();
+        this.sampleModel = colorModel.createCompatibleSampleModel(width, tileHeight);
+        LOG.trace("Page {} is {}x{} pixels, rendering it in {} bands", pageIndex + 1, width, height, getNumYTiles());
+    }
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return colorModel;
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        return sampleModel;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinY() {
+        return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return (height + tileHeight - 1) / tileHeight;
+    }
+
+    @Override
+    public int getMinTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+        return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+        return width;
+    }
+
+    @Override
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return 0;
+    }
+
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+        requireArg(tileX == 0 && tileY >= 0 && tileY < getNumYTiles(), "Invalid tile index");
+        if (tileY != currentTile) {
+            current = render(tileY);
+            currentTile = tileY;
+        }
+        return current;
+    }
+
+    private Raster render(int tileY) {
+        LOG.trace("Rendering band {} of page {}", tileY, pageIndex + 1);
+        // rendered on ARGB to support blend modes, like the renderer does
+        BufferedImage band = new BufferedImage(width, tileHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = band.createGraphics();
+        try {
+            graphics.setBackground(type == ImageType.ARGB ? new Color(255, 255, 255, 0) : Color.WHITE);
+            graphics.clearRect(0, 0, width, tileHeight);
+            graphics.translate(0, -tileY * tileHeight);
+            renderer.renderPageToGraphics(pageIndex, graphics, scale);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render page " + (pageIndex + 1), e);
+        } finally {
+            graphics.dispose();
+        }
+        if (type == ImageType.BINARY) {
+            band = bilevel.convert(convert(band, BufferedImage.TYPE_BYTE_GRAY));
+        } else if (type != ImageType.ARGB) {
+            band = convert(band, type.toBufferedImageType());
+        }
+        return band.getRaster().createTranslatedChild(0, tileY * tileHeight);
+    }
+
+    private BufferedImage convert(BufferedImage band, int imageType) {
+        BufferedImage converted = new BufferedImage(width, tileHeight, imageType);
+        Graphics2D convertedGraphics = converted.createGraphics();
+        try {
+            convertedGraphics.setBackground(Color.WHITE);
+            convertedGraphics.clearRect(0, 0, width, tileHeight);
+            convertedGraphics.drawImage(band, 0, 0, null);
+        } finally {
+            convertedGraphics.dispose();
+        }
+        return converted;
+    }
+
+    @Override
+    public Raster getData() {
+        return getData(new Rectangle(0, 0, width, height));
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+        WritableRaster raster = Raster.createWritableRaster(
+                sampleModel.createCompatibleSampleModel(rect.width, rect.height), new Point(rect.x, rect.y));
+        return copyData(raster);
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+        if (raster == null) {
+            raster = Raster.createWritableRaster(sampleModel.createCompatibleSampleModel(width, height), null);
+        }
+        Rectangle bounds = raster.getBounds().intersection(new Rectangle(0, 0, width, height));
+        if (!bounds.isEmpty()) {
+            int lastTile = (bounds.y + bounds.height - 1) / tileHeight;
+            for (int tileY = bounds.y / tileHeight; tileY <= lastTile; tileY++) {
+                // setRect copies the intersection only
+                raster.setRect(getTile(0, tileY));
+            }
+        }
+        return raster;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.sejda.common.ComponentsUtility;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Documents are not thread safe, this component lends to every worker thread processing the pages of a source its own
+ * copy of the document, lazily opened the first time the worker asks for it, while the thread creating the component
+ * uses the document it already opened. What is lent is created from the document by the given factory, so that a
+ * worker can also reuse what it builds on top of its document. Documents opened for the workers are closed by
+ * {@link #close()}, the one of the creating thread is not.
+ *
+ * @author Andrea Vacondio
+ *
+ * @param <T>
+ *            the type lent to the threads
+ */
+public class WorkerDocuments<T> implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkerDocuments.class);
+
+    private final PdfSource<?> source;
+    private final PdfSourceOpener<PDDocumentHandler> opener;
+    private final Function<PDDocumentHandler, T> factory;
+    private final Thread owner;
+    private final T ownerValue;
+    private final Map<Thread, T> workerValues = new ConcurrentHashMap<>();
+    private final List<PDDocumentHandler> opened = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param source
+     *            the source the workers open
+     * @param opener
+     *            opener used by the workers
+     * @param document
+     *            the document of the source already opened by the current thread
+     * @param factory
+     *            creates what is lent to a thread from its document
+     */
+    public WorkerDocuments(PdfSource<?> source, PdfSourceOpener<PDDocumentHandler> opener, PDDocumentHandler document,
+            Function<PDDocumentHandler, T> factory) {
+        requireNotNullArg(source, "Source cannot be null");
+        requireNotNullArg(opener, "Opener cannot be null");
+        requireNotNullArg(document, "Document cannot be null");
+        requireNotNullArg(factory, "Factory cannot be null");
+        this.source = source;
+        this.opener = opener;
+        this.factory = factory;
+        this.owner = Thread.currentThread();
+        this.ownerValue = factory.apply(document);
+    }
+
+    /**
+     * @return what is lent to the current thread, opening its own copy of the source if it's a worker asking for the
+     *         first time
+     * @throws TaskException
+     *             if the source cannot be opened
+     */
+    public T get() throws TaskException {
+        Thread current = Thread.currentThread();
+        if (current == owner) {
+            return ownerValue;
+        }
+        T value = workerValues.get(current);
+        if (value == null) {
+            LOG.debug("Opening {} for worker {}", source, current.getName());
+            PDDocumentHandler workerDocument = source.open(opener);
+            opened.add(workerDocument);
+            value = factory.apply(workerDocument);
+            workerValues.put(current, value);
+        }
+        return value;
+    }
+
+    /**
+     * Closes the documents opened for the workers
+     */
+    @Override
+    public void close() {
+        workerValues.clear();
+        synchronized (opened) {
+            opened.forEach(ComponentsUtility::nullSafeCloseQuietly);
+            opened.clear();
+        }
+    }
+}
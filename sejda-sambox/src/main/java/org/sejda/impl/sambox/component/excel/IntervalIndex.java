@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 by Eduard Weissmann (edi.weissmann@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.excel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Index over a set of half open [start, end) intervals, each identified by an int id, that finds all the intervals
+ * containing a given value in O(log n + k). Intervals are sorted by start and a running maximum of the end values
+ * allows to stop scanning as soon as no previous interval can contain the value. This fits table rows and columns,
+ * which are mostly disjoint but can slightly overlap because of the cells padding.
+ *
+ * @author Eduard Weissmann
+ */
+class IntervalIndex {
+
+    private int size = 0;
+    private int[] ids;
+    private double[] starts;
+    private double[] ends;
+    private double[] maxEnds;
+
+    /**
+     * @param capacity
+     *            max number of intervals that will be added
+     */
+    IntervalIndex(int capacity) {
+        this.ids = new int[capacity];
+        this.starts = new double[capacity];
+        this.ends = new double[capacity];
+    }
+
+    /**
+     * Adds the [start, end) interval with the given id. Empty intervals are ignored since they cannot contain anything.
+     * Must be called before {@link #build()}.
+     */
+    void add(int id, double start, double end) {
+        if (end > start) {
+            ids[size] = id;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+    }
+
+    /**
+     * Sorts the added intervals, after this call the index can be queried
+     *
+     * @return this index
+     */
+    IntervalIndex build() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> starts[i]));
+
+        int[] sortedIds = new int[size];
+        double[] sortedStarts = new double[size];
+        double[] sortedEnds = new double[size];
+        double[] runningMaxEnds = new double[size];
+        double runningMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+            runningMax = Math.max(runningMax, sortedEnds[i]);
+            runningMaxEnds[i] = runningMax;
+        }
+        this.ids = sortedIds;
+        this.starts = sortedStarts;
+        this.ends = sortedEnds;
+        this.maxEnds = runningMaxEnds;
+        return this;
+    }
+
+    /**
+     * Finds the intervals containing the given value
+     *
+     * @param value
+     * @param results
+     *            array where the ids of the containing intervals are written to, in ascending order. Must be able to
+     *            hold all the added intervals.
+     * @return the number of ids written to the results array
+     */
+    int containing(double value, int[] results) {
+        int found = 0;
+        for (int i = lastStartingAtOrBefore(value); i >= 0 && maxEnds[i] > value; i--) {
+            if (value < ends[i]) {
+                results[found++] = ids[i];
+            }
+        }
+        Arrays.sort(results, 0, found);
+        return found;
+    }
+
+    /**
+     * @return the index of the last interval with start &lt;= value or -1 if there is none
+     */
+    private int lastStartingAtOrBefore(double value) {
+        int low = 0;
+        int high = size - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= value) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+}
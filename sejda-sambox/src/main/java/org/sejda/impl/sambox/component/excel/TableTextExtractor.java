@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 by Eduard Weissmann (edi.weissmann@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.excel;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.core.support.util.Cancellation;
+import org.sejda.model.TopLeftRectangularBox;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.parameter.excel.Table;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.text.PDFTextStripper;
+import org.sejda.sambox.text.TextPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component extracting the text of every cell of a {@link Table} in a single pass over the page text. Instead of
+ * testing every text position against every cell area, text positions are binned into rows and columns using interval
+ * indexes on the rows vertical span and the columns horizontal span, and only the cells at the intersection of the
+ * matching rows and columns are checked.
+ *
+ * @author Eduard Weissmann
+ */
+public class TableTextExtractor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TableTextExtractor.class);
+
+    /**
+     * @param page
+     * @param table
+     * @return the text of the table cells, row by row
+     * @throws TaskIOException
+     */
+    public List<List<String>> extract(PDPage page, Table table) throws TaskIOException {
+        List<TopLeftRectangularBox> rows = table.getRows();
+        List<TopLeftRectangularBox> columns = table.getColumns();
+        Rectangle[][] cells = new Rectangle[rows.size()][columns.size()];
+        for (int r = 0; r < rows.size(); r++) {
+            TopLeftRectangularBox row = rows.get(r);
+            for (int c = 0; c < columns.size(); c++) {
+                TopLeftRectangularBox column = columns.get(c);
+                TopLeftRectangularBox cell = row.intersection(column);
+                if (!cell.asRectangle().isEmpty()) {
+                    cells[r][c] = cell.withPadding(1).asRectangle();
+                } else {
+                    LOG.warn("Column and row do not intersect: row: " + row.toString() + ", column: "
+                            + column.toString());
+                    cells[r][c] = new Rectangle(0, 0, 0, 0);
+                }
+            }
+        }
+
+        LOG.debug("Extracting text for {} table cells", rows.size() * columns.size());
+        try {
+            TableCellsTextStripper stripper = new TableCellsTextStripper(cells);
+            stripper.extract(page);
+
+            List<List<String>> results = new ArrayList<>(rows.size());
+            for (int r = 0; r < rows.size(); r++) {
+                List<String> rowData = new ArrayList<>(columns.size());
+                for (int c = 0; c < columns.size(); c++) {
+                    rowData.add(normalize(stripper.getText(r, c)));
+                }
+                results.add(rowData);
+            }
+            return results;
+        } catch (IOException e) {
+            throw new TaskIOException("An error occurred extracting text from page.", e);
+        }
+    }
+
+    private static String normalize(String text) {
+        String result = defaultIfBlank(text, "");
+        result = StringUtils.strip(result);
+        return org.sejda.core.support.util.StringUtils.normalizeWhitespace(result).trim();
+    }
+
+    /**
+     * Text stripper collecting text positions per table cell, equivalent to a PDFTextStripperByArea with a region per
+     * cell.
+     */
+    private static class TableCellsTextStripper extends PDFTextStripper {
+        private final Rectangle[][] cells;
+        private final IntervalIndex rowsIndex;
+        private final IntervalIndex columnsIndex;
+        private final ArrayList<List<TextPosition>>[][] cellsCharacters;
+        private final StringWriter[][] cellsText;
+        private final int[] matchingRows;
+        private final int[] matchingColumns;
+
+        @SuppressWarnings("unchecked")
+        TableCellsTextStripper(Rectangle[][] cells) throws IOException {
+            this.cells = cells;
+            int rows = cells.length;
+            int columns = rows > 0 ? cells[0].length : 0;
+            this.cellsCharacters = new ArrayList[rows][columns];
+            this.cellsText = new StringWriter[rows][columns];
+            this.matchingRows = new int[rows];
+            this.matchingColumns = new int[columns];
+            this.rowsIndex = new IntervalIndex(rows);
+            this.columnsIndex = new IntervalIndex(columns);
+
+            // a row spans vertically the union of its cells, a column spans horizontally the union of its cells
+            for (int r = 0; r < rows; r++) {
+                double top = Double.POSITIVE_INFINITY;
+                double bottom = Double.NEGATIVE_INFINITY;
+                for (int c = 0; c < columns; c++) {
+                    if (!cells[r][c].isEmpty()) {
+                        top = Math.min(top, cells[r][c].getMinY());
+                        bottom = Math.max(bottom, cells[r][c].getMaxY());
+                    }
+                }
+                rowsIndex.add(r, top, bottom);
+            }
+            for (int c = 0; c < columns; c++) {
+                double left = Double.POSITIVE_INFINITY;
+                double right = Double.NEGATIVE_INFINITY;
+                for (int r = 0; r < rows; r++) {
+                    if (!cells[r][c].isEmpty()) {
+                        left = Math.min(left, cells[r][c].getMinX());
+                        right = Math.max(right, cells[r][c].getMaxX());
+                    }
+                }
+                columnsIndex.add(c, left, right);
+            }
+            rowsIndex.build();
+            columnsIndex.build();
+            setShouldSeparateByBeads(false);
+            setSortByPosition(true);
+        }
+
+        void extract(PDPage page) throws IOException {
+            setStartPage(getCurrentPageNo());
+            setEndPage(getCurrentPageNo());
+            if (page.hasContents()) {
+                processPage(page);
+            }
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            Cancellation.checkpoint();
+            super.processOperator(operator, operands);
+        }
+
+        @Override
+        protected void processTextPosition(TextPosition text) {
+            int rowsFound = rowsIndex.containing(text.getY(), matchingRows);
+            if (rowsFound > 0) {
+                int columnsFound = columnsIndex.containing(text.getX(), matchingColumns);
+                for (int i = 0; i < rowsFound; i++) {
+                    int r = matchingRows[i];
+                    for (int j = 0; j < columnsFound; j++) {
+                        int c = matchingColumns[j];
+                        if (cells[r][c].contains(text.getX(), text.getY())) {
+                            charactersByArticle = charactersOf(r, c);
+                            super.processTextPosition(text);
+                        }
+                    }
+                }
+            }
+        }
+
+        private ArrayList<List<TextPosition>> charactersOf(int r, int c) {
+            if (cellsCharacters[r][c] == null) {
+                cellsCharacters[r][c] = new ArrayList<>();
+                cellsCharacters[r][c].add(new ArrayList<>());
+            }
+            return cellsCharacters[r][c];
+        }
+
+        @Override
+        protected void writePage() throws IOException {
+            for (int r = 0; r < cellsCharacters.length; r++) {
+                for (int c = 0; c < cellsCharacters[r].length; c++) {
+                    if (cellsCharacters[r][c] != null) {
+                        charactersByArticle = cellsCharacters[r][c];
+                        cellsText[r][c] = new StringWriter();
+                        output = cellsText[r][c];
+                        super.writePage();
+                    }
+                }
+            }
+        }
+
+        String getText(int r, int c) {
+            if (cellsText[r][c] == null) {
+                return "";
+            }
+            return cellsText[r][c].toString();
+        }
+    }
+}
@@ -18,15 +18,9 @@
  */
 package org.sejda.impl.sambox.component.image;
 
-import java.io.IOException;
-
-import org.sejda.model.input.FileSource;
-import org.sejda.model.input.Source;
-import org.sejda.model.input.SourceDispatcher;
-import org.sejda.model.input.StreamSource;
+import java.io.File;
 
 import com.drew.imaging.ImageMetadataReader;
-import com.drew.imaging.ImageProcessingException;
 import com.drew.metadata.Directory;
 import com.drew.metadata.Metadata;
 import com.drew.metadata.MetadataException;
@@ -38,30 +32,15 @@ import com.drew.metadata.exif.ExifIFD0Directory;
  * Based on https://stackoverflow.com/questions/5905868/how-to-rotate-jpeg-images-based-on-the-orientation-metadata
  */
 public class ExifHelper {
-    public static int getRotationBasedOnExifOrientation(Source<?> imageSource) {
+    /**
+     * @param imageFile
+     * @return the rotation, in degrees, corresponding to the exif orientation of the given image file, 0 if the
+     *         orientation is missing, can't be read or can't be achieved with a rotation.
+     */
+    public static int getRotationBasedOnExifOrientation(File imageFile) {
         try {
-            return imageSource.dispatch(new SourceDispatcher<Integer>() {
-                @Override
-                public Integer dispatch(FileSource source) {
-                    try {
-                        int orientation = readExifOrientation(ImageMetadataReader.readMetadata(source.getSource()));
-                        return getRotation(orientation);
-                    } catch (IOException | MetadataException | ImageProcessingException e) {
-                        return 0;
-                    }
-                }
-
-                @Override
-                public Integer dispatch(StreamSource source) {
-                    try {
-                        int orientation = readExifOrientation(ImageMetadataReader.readMetadata(source.getSource()));
-                        return getRotation(orientation);
-                    } catch (IOException | MetadataException | ImageProcessingException e) {
-                        return 0;
-                    }
-                }
-            });
-        } catch(Throwable e) {
+            return getRotation(readExifOrientation(ImageMetadataReader.readMetadata(imageFile)));
+        } catch (Throwable e) {
             return 0;
         }
     }
@@ -18,6 +18,9 @@
  */
 package org.sejda.impl.sambox.component.image;
 
+import static java.util.Objects.nonNull;
+
+import org.sejda.core.support.util.OrderedParallelExecution;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PageImageWriter;
 import org.sejda.model.exception.TaskException;
@@ -25,6 +28,7 @@ import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.Source;
 import org.sejda.model.parameter.PageOrientation;
 import org.sejda.model.parameter.PageSize;
+import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
@@ -32,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.*;
+import java.io.File;
 import java.util.List;
 
 public class ImagesToPdfDocumentConverter {
@@ -42,79 +47,112 @@ public class ImagesToPdfDocumentConverter {
     private boolean shouldPageSizeMatchImageSize = false;
     private PageOrientation pageOrientation = PageOrientation.AUTO;
     private float marginInches = 0f;
-
-    public PDDocumentHandler convert(List<Source<?>> sourceList) throws TaskException {
+    private int parallelism = 1;
+
+    /**
+     * Converts the given images to a PDF document, one image per page. Images are read and decoded on a pool of worker
+     * threads, as many as the parallelism, and appended to the document in the given order. Every source is consumed
+     * once, stream sources being copied to a temporary file. The exif orientation and the image are then read from the
+     * file in two separate reads.
+     * 
+     * @param sourceList
+     * @param executionContext
+     * @return the handler of the resulting document
+     * @throws TaskException
+     */
+    public PDDocumentHandler convert(List<Source<?>> sourceList, TaskExecutionContext executionContext)
+            throws TaskException {
         PDDocumentHandler documentHandler = new PDDocumentHandler();
         documentHandler.setCreatorOnPDDocument();
 
         PageImageWriter imageWriter = new PageImageWriter(documentHandler.getUnderlyingPDDocument());
 
-        for (Source<?> source : sourceList) {
-            beforeImage(source);
-            try {
-                PDImageXObject image = PageImageWriter.toPDXImageObject(source);
-                PDRectangle mediaBox = pageSize;
-                if(shouldPageSizeMatchImageSize) {
-                    mediaBox = new PDRectangle(image.getWidth(), image.getHeight());
-                }
-
-                if(pageOrientation == PageOrientation.LANDSCAPE) {
-                    mediaBox = new PDRectangle(mediaBox.getHeight(), mediaBox.getWidth());
-                } else if(pageOrientation == PageOrientation.AUTO) {
-                    if (image.getWidth() > image.getHeight() && image.getWidth() > mediaBox.getWidth()) {
-                        LOG.debug("Switching to landscape, image dimensions are {}x{}", image.getWidth(), image.getHeight());
-                        mediaBox = new PDRectangle(mediaBox.getHeight(), mediaBox.getWidth());
+        OrderedParallelExecution.forEach(parallelism, 0, sourceList.size() - 1, i -> decode(sourceList.get(i)),
+                (i, decoded) -> {
+                    Source<?> source = sourceList.get(i);
+                    beforeImage(source);
+                    if (nonNull(decoded.failure)) {
+                        failedImage(source, decoded.failure);
+                    } else {
+                        try {
+                            append(documentHandler, imageWriter, decoded.image, decoded.rotation);
+                            afterImage(decoded.image);
+                        } catch (TaskIOException e) {
+                            failedImage(source, e);
+                        }
                     }
-                }
+                }, executionContext);
 
-                PDPage page = documentHandler.addBlankPage(mediaBox);
+        return documentHandler;
+    }
 
-                // full page (scaled down only)
-                float width = image.getWidth();
-                float height = image.getHeight();
+    private static DecodedImage decode(Source<?> source) {
+        try {
+            File file = PageImageWriter.toFile(source);
+            LOG.trace("Decoding image {}", source.getName());
+            PDImageXObject image = PageImageWriter.createFromFile(file.getPath());
+            return new DecodedImage(image, ExifHelper.getRotationBasedOnExifOrientation(file), null);
+        } catch (TaskIOException e) {
+            return new DecodedImage(null, 0, e);
+        } catch (Exception e) {
+            return new DecodedImage(null, 0, new TaskIOException(
+                    "An error occurred creating PDImageXObject from file source: " + source.getName(), e));
+        }
+    }
 
-                if (width > mediaBox.getWidth()) {
-                    int targetWidth = (int) mediaBox.getWidth();
-                    LOG.debug("Scaling image down to fit by width {} vs {}", width, targetWidth);
+    private void append(PDDocumentHandler documentHandler, PageImageWriter imageWriter, PDImageXObject image,
+            int rotation) throws TaskIOException {
+        PDRectangle mediaBox = pageSize;
+        if(shouldPageSizeMatchImageSize) {
+            mediaBox = new PDRectangle(image.getWidth(), image.getHeight());
+        }
 
-                    float ratio = width / targetWidth;
-                    width = targetWidth;
-                    height = Math.round(height / ratio);
-                }
+        if(pageOrientation == PageOrientation.LANDSCAPE) {
+            mediaBox = new PDRectangle(mediaBox.getHeight(), mediaBox.getWidth());
+        } else if(pageOrientation == PageOrientation.AUTO) {
+            if (image.getWidth() > image.getHeight() && image.getWidth() > mediaBox.getWidth()) {
+                LOG.debug("Switching to landscape, image dimensions are {}x{}", image.getWidth(), image.getHeight());
+                mediaBox = new PDRectangle(mediaBox.getHeight(), mediaBox.getWidth());
+            }
+        }
 
-                if (height > mediaBox.getHeight()) {
-                    int targetHeight = (int) mediaBox.getHeight();
-                    LOG.debug("Scaling image down to fit by height {} vs {}", height, targetHeight);
+        PDPage page = documentHandler.addBlankPage(mediaBox);
 
-                    float ratio = (float) height / targetHeight;
-                    height = targetHeight;
-                    width = Math.round(width / ratio);
-                }
+        // full page (scaled down only)
+        float width = image.getWidth();
+        float height = image.getHeight();
 
-                if(marginInches > 0) {
-                    float newWidth = width - marginInches * 72;
-                    float newHeight = height * newWidth / width;
-                    width = newWidth;
-                    height = newHeight;
-                }
+        if (width > mediaBox.getWidth()) {
+            int targetWidth = (int) mediaBox.getWidth();
+            LOG.debug("Scaling image down to fit by width {} vs {}", width, targetWidth);
 
-                // centered on page
-                float x = (mediaBox.getWidth() - width) / 2;
-                float y = ((int) mediaBox.getHeight() - height) / 2;
+            float ratio = width / targetWidth;
+            width = targetWidth;
+            height = Math.round(height / ratio);
+        }
 
-                imageWriter.append(page, image, new Point((int)x, (int)y), width, height, null, 0);
+        if (height > mediaBox.getHeight()) {
+            int targetHeight = (int) mediaBox.getHeight();
+            LOG.debug("Scaling image down to fit by height {} vs {}", height, targetHeight);
 
-                // TODO: fix for stream source. it's the second time the source is read, will not work
-                int rotation = ExifHelper.getRotationBasedOnExifOrientation(source);
-                page.setRotation(rotation);
+            float ratio = (float) height / targetHeight;
+            height = targetHeight;
+            width = Math.round(width / ratio);
+        }
 
-                afterImage(image);
-            } catch (TaskIOException e) {
-                failedImage(source, e);
-            }
+        if(marginInches > 0) {
+            float newWidth = width - marginInches * 72;
+            float newHeight = height * newWidth / width;
+            width = newWidth;
+            height = newHeight;
         }
 
-        return documentHandler;
+        // centered on page
+        float x = (mediaBox.getWidth() - width) / 2;
+        float y = ((int) mediaBox.getHeight() - height) / 2;
+
+        imageWriter.append(page, image, new Point((int)x, (int)y), width, height, null, 0);
+        page.setRotation(rotation);
     }
 
     public void beforeImage(Source<?> source) throws TaskException {
@@ -148,4 +186,27 @@ public class ImagesToPdfDocumentConverter {
     public void setMarginInches(float marginInches) {
         this.marginInches = marginInches;
     }
+
+    /**
+     * @param parallelism
+     *            number of images decoded concurrently
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * An image decoded on a worker thread, or the reason it couldn't be
+     */
+    private static class DecodedImage {
+        private final PDImageXObject image;
+        private final int rotation;
+        private final TaskIOException failure;
+
+        DecodedImage(PDImageXObject image, int rotation, TaskIOException failure) {
+            this.image = image;
+            this.rotation = rotation;
+            this.failure = failure;
+        }
+    }
 }
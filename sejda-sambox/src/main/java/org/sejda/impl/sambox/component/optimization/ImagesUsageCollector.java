@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimization;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.sejda.core.support.util.Cancellation;
+import org.sejda.sambox.contentstream.PDFStreamEngine;
+import org.sejda.sambox.contentstream.operator.MissingOperandException;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.contentstream.operator.OperatorProcessor;
+import org.sejda.sambox.contentstream.operator.state.Concatenate;
+import org.sejda.sambox.contentstream.operator.state.Restore;
+import org.sejda.sambox.contentstream.operator.state.Save;
+import org.sejda.sambox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.sejda.sambox.contentstream.operator.state.SetMatrix;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.graphics.PDXObject;
+import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
+import org.sejda.sambox.pdmodel.graphics.form.PDTransparencyGroup;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.sejda.sambox.util.Matrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component that parses the page content stream and the page annotations normal appearance stream and collects the
+ * image xobjects that are drawn, along with the largest size they are drawn at and the resource dictionaries they are
+ * referenced from. An image drawn multiple times, on the same or on different pages, is collected once.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class ImagesUsageCollector extends PDFStreamEngine implements Consumer<PDPage> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImagesUsageCollector.class);
+
+    private final Map<COSStream, ImageUsage> usages = new IdentityHashMap<>();
+
+    public ImagesUsageCollector() {
+        addOperator(new Concatenate());
+        addOperator(new SetGraphicsStateParameters());
+        addOperator(new Save());
+        addOperator(new Restore());
+        addOperator(new SetMatrix());
+        addOperator(new XObjectUsageOperator());
+    }
+
+    @Override
+    protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+        Cancellation.checkpoint();
+        super.processOperator(operator, operands);
+    }
+
+    @Override
+    public void accept(PDPage page) {
+        try {
+            processPage(page);
+            for (PDAnnotation annotation : page.getAnnotations()) {
+                showAnnotation(annotation);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed parse page, skipping and continuing with next.", e);
+        }
+    }
+
+    /**
+     * @return the images drawn in the processed pages
+     */
+    public Collection<ImageUsage> usages() {
+        return Collections.unmodifiableCollection(usages.values());
+    }
+
+    private class XObjectUsageOperator extends OperatorProcessor {
+        @Override
+        public void process(Operator operator, List<COSBase> operands) throws IOException {
+            if (operands.isEmpty()) {
+                throw new MissingOperandException(operator, operands);
+            }
+            COSBase operand = operands.get(0);
+            if (operand instanceof COSName) {
+                COSName objectName = (COSName) operand;
+                COSDictionary xobjects = ofNullable(getResources())
+                        .map(r -> r.getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
+                        .orElse(null);
+                COSBase existing = ofNullable(xobjects).map(d -> d.getDictionaryObject(objectName)).orElse(null);
+                if (existing instanceof COSStream) {
+                    COSStream stream = (COSStream) existing;
+                    if (COSName.IMAGE.getName().equals(stream.getNameAsString(COSName.SUBTYPE))) {
+                        Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
+                        usages.computeIfAbsent(stream, ImageUsage::new).drawn(xobjects, objectName,
+                                ctm.getScalingFactorX(), ctm.getScalingFactorY());
+                    } else if (COSName.FORM.getName().equals(stream.getNameAsString(COSName.SUBTYPE))) {
+                        PDXObject xobject = PDXObject.createXObject(stream, getResources());
+                        if (xobject instanceof PDTransparencyGroup) {
+                            showTransparencyGroup((PDTransparencyGroup) xobject);
+                        } else if (xobject instanceof PDFormXObject) {
+                            showForm((PDFormXObject) xobject);
+                        }
+                    }
+                } else if (nonNull(existing)) {
+                    LOG.warn("Unexpected type {} for xObject {}", existing.getClass(), objectName.getName());
+                }
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "Do";
+        }
+    }
+
+    /**
+     * An image xobject, the largest size it's drawn at and the xobjects dictionaries referring to it
+     */
+    public static class ImageUsage {
+        private final COSStream image;
+        private final List<Reference> references = new ArrayList<>();
+        private float width = 0;
+        private float height = 0;
+
+        ImageUsage(COSStream image) {
+            this.image = image;
+        }
+
+        void drawn(COSDictionary xobjects, COSName name, float drawnWidth, float drawnHeight) {
+            if (references.stream().noneMatch(r -> r.xobjects == xobjects && r.name.equals(name))) {
+                references.add(new Reference(xobjects, name));
+            }
+            this.width = Math.max(width, Math.abs(drawnWidth));
+            this.height = Math.max(height, Math.abs(drawnHeight));
+        }
+
+        public COSStream image() {
+            return image;
+        }
+
+        /**
+         * @return the largest width, in default user space units, the image is drawn at
+         */
+        public float width() {
+            return width;
+        }
+
+        /**
+         * @return the largest height, in default user space units, the image is drawn at
+         */
+        public float height() {
+            return height;
+        }
+
+        /**
+         * @return the lowest resolution, in dots per inch, the image is drawn at. It's the resolution at which the
+         *         image is drawn at its largest size, 0 if the image size is unknown or it's never drawn with a
+         *         visible size.
+         */
+        public float dpi() {
+            int pixelsWidth = image.getInt(COSName.WIDTH);
+            int pixelsHeight = image.getInt(COSName.HEIGHT);
+            if (pixelsWidth <= 0 || pixelsHeight <= 0 || width <= 0 || height <= 0) {
+                return 0;
+            }
+            return Math.min(pixelsWidth / (width / 72f), pixelsHeight / (height / 72f));
+        }
+
+        /**
+         * Replaces the image with the given one in all the xobjects dictionaries referring to it
+         *
+         * @param replacement
+         */
+        public void replaceWith(COSStream replacement) {
+            references.forEach(r -> r.xobjects.setItem(r.name, replacement));
+        }
+    }
+
+    private static class Reference {
+        private final COSDictionary xobjects;
+        private final COSName name;
+
+        Reference(COSDictionary xobjects, COSName name) {
+            this.xobjects = xobjects;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimization;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.input.ExistingIndirectCOSObject;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component that finds identical indirect objects (font programs and dictionaries, images, ICC profiles, form xobjects
+ * and anything else) reachable from the resources of the given pages and rewires the references so that they all
+ * point to a single copy. Objects are identified by a content hash computed bottom up: the hash of an object includes
+ * the hashes of the objects it refers to and, for streams, the encoded stream data. Objects that are part of a cycle
+ * are left untouched. It's meant to be used when pages from multiple documents generated from the same template are
+ * imported in a single document, where fonts and images would otherwise be written once per source document.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class ResourcesDeduplicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourcesDeduplicator.class);
+
+    private static final COSName[] RESOURCE_TYPES = { COSName.FONT, COSName.XOBJECT, COSName.COLORSPACE,
+            COSName.PATTERN, COSName.SHADING, COSName.EXT_G_STATE };
+
+    private final Map<Fingerprint, COSBase> canonical = new HashMap<>();
+    private final Map<COSBase, Fingerprint> fingerprints = new IdentityHashMap<>();
+    private final Set<COSBase> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<COSDictionary> visitedResources = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int replaced = 0;
+
+    /**
+     * Rewires the resources of the given page, inherited ones included, to the copies of identical objects already found
+     * 
+     * @param page
+     */
+    public void deduplicate(PDPage page) {
+        COSDictionary resources = ofNullable(page.getResources()).map(PDResources::getCOSObject).orElse(null);
+        if (nonNull(resources) && visitedResources.add(resources)) {
+            for (COSName type : RESOURCE_TYPES) {
+                COSDictionary named = resources.getDictionaryObject(type, COSDictionary.class);
+                if (nonNull(named)) {
+                    try {
+                        deduplicateEntries(named);
+                    } catch (IOException e) {
+                        LOG.warn("Unable to deduplicate " + type.getName() + " resources", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of references that have been rewired to an identical copy
+     */
+    public int replaced() {
+        return replaced;
+    }
+
+    private void deduplicateEntries(COSDictionary dictionary) throws IOException {
+        for (COSName key : new ArrayList<>(dictionary.keySet())) {
+            COSBase item = dictionary.getItem(key);
+            COSBase replacement = canonical(item);
+            if (replacement != item) {
+                dictionary.setItem(key, replacement);
+            }
+        }
+    }
+
+    /**
+     * @return the reference to the first found copy of the given value or the value itself if it's the first copy,
+     *         it's a direct object or it cannot be fingerprinted
+     */
+    private COSBase canonical(COSBase item) throws IOException {
+        if (!isIndirect(item)) {
+            return item;
+        }
+        Fingerprint fingerprint = fingerprint(item.getCOSObject());
+        if (isNull(fingerprint)) {
+            return item;
+        }
+        COSBase existing = canonical.putIfAbsent(fingerprint, item);
+        if (isNull(existing) || existing.getCOSObject() == item.getCOSObject()) {
+            return item;
+        }
+        replaced++;
+        return existing;
+    }
+
+    private static boolean isIndirect(COSBase item) {
+        return item instanceof ExistingIndirectCOSObject || item instanceof COSStream;
+    }
+
+    private Fingerprint fingerprint(COSBase object) throws IOException {
+        Fingerprint fingerprint = fingerprints.get(object);
+        if (nonNull(fingerprint)) {
+            return fingerprint;
+        }
+        if (!visiting.add(object)) {
+            LOG.trace("Cycle found, object cannot be fingerprinted");
+            return null;
+        }
+        try {
+            MessageDigest digest = sha256();
+            if (digest(object, digest)) {
+                fingerprint = new Fingerprint(digest.digest());
+                fingerprints.put(object, fingerprint);
+            }
+            return fingerprint;
+        } finally {
+            visiting.remove(object);
+        }
+    }
+
+    /**
+     * Updates the digest with the given resolved value, rewiring the indirect objects it contains to their canonical
+     * copy
+     * 
+     * @return false if the value cannot be fingerprinted
+     */
+    private boolean digest(COSBase value, MessageDigest digest) throws IOException {
+        if (value instanceof COSStream) {
+            digest.update((byte) 'S');
+            if (!digestEntries((COSStream) value, digest)) {
+                return false;
+            }
+            byte[] buffer = new byte[8192];
+            try (InputStream stream = ((COSStream) value).getFilteredStream()) {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return true;
+        }
+        if (value instanceof COSDictionary) {
+            digest.update((byte) 'D');
+            return digestEntries((COSDictionary) value, digest);
+        }
+        if (value instanceof COSArray) {
+            COSArray array = (COSArray) value;
+            digest.update((byte) 'A');
+            for (int i = 0; i < array.size(); i++) {
+                COSBase item = array.get(i);
+                COSBase replacement = canonical(item);
+                if (replacement != item) {
+                    array.set(i, replacement);
+                }
+                if (!digestItem(replacement, digest)) {
+                    return false;
+                }
+            }
+            digest.update((byte) 'E');
+            return true;
+        }
+        if (value instanceof COSString) {
+            digest.update((byte) 'T');
+            digest.update(((COSString) value).getBytes());
+            digest.update((byte) 'E');
+            return true;
+        }
+        if (value instanceof COSName) {
+            digest.update((byte) 'N');
+            digest.update(((COSName) value).getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 'E');
+            return true;
+        }
+        if (nonNull(value)) {
+            // numbers, booleans and null
+            digest.update((byte) 'V');
+            digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 'E');
+            return true;
+        }
+        return false;
+    }
+
+    private boolean digestEntries(COSDictionary dictionary, MessageDigest digest) throws IOException {
+        List<COSName> keys = new ArrayList<>(dictionary.keySet());
+        keys.sort(Comparator.comparing(COSName::getName));
+        for (COSName key : keys) {
+            // the length of the encoded stream is part of the data digest and may be an indirect reference
+            if (!(dictionary instanceof COSStream && COSName.LENGTH.equals(key))) {
+                COSBase item = dictionary.getItem(key);
+                COSBase replacement = canonical(item);
+                if (replacement != item) {
+                    dictionary.setItem(key, replacement);
+                }
+                digest.update(key.getName().getBytes(StandardCharsets.UTF_8));
+                if (!digestItem(replacement, digest)) {
+                    return false;
+                }
+            }
+        }
+        digest.update((byte) 'E');
+        return true;
+    }
+
+    private boolean digestItem(COSBase item, MessageDigest digest) throws IOException {
+        if (isIndirect(item)) {
+            Fingerprint fingerprint = fingerprint(item.getCOSObject());
+            if (isNull(fingerprint)) {
+                return false;
+            }
+            digest.update((byte) 'R');
+            digest.update(fingerprint.digest);
+            return true;
+        }
+        return digest(item, digest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class Fingerprint {
+        private final byte[] digest;
+
+        Fingerprint(byte[] digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint && Arrays.equals(digest, ((Fingerprint) other).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(digest);
+        }
+    }
+}
@@ -36,6 +36,8 @@ import org.sejda.model.input.PdfSource;
 import org.sejda.model.parameter.base.AbstractPdfOutputParameters;
 import org.sejda.model.split.NextOutputStrategy;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics;
+import org.sejda.model.task.TaskMetrics.Timer;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,6 +73,7 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
 
         this.outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(),
                 executionContext);
+        TaskMetrics metrics = executionContext.metrics();
         try (PagesExtractor extractor = supplyPagesExtractor(document)) {
             File tmpFile = null;
             for (int page = 1; page <= totalPages; page++) {
@@ -87,16 +90,23 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
                 }
                 LOG.trace("Retaining page {} of the original document", page);
                 onRetain(page);
-                extractor.retain(page, executionContext);
+                try (Timer timer = metrics.start(TaskMetrics.PAGES_IMPORT)) {
+                    extractor.retain(page, executionContext);
+                }
+                metrics.increment(TaskMetrics.PAGES);
                 notifyEvent(executionContext.notifiableTaskMetadata()).stepsCompleted(page).outOf(totalPages);
                 if (nextOutputStrategy().isClosing(page) || page == totalPages) {
                     onClose(page);
                     extractor.setVersion(parameters.getVersion());
                     extractor.setCompress(parameters.isCompress());
                     if (optimize) {
-                        extractor.optimize();
+                        try (Timer timer = metrics.start(TaskMetrics.OPTIMIZATION)) {
+                            extractor.optimize();
+                        }
+                    }
+                    try (Timer timer = metrics.start(TaskMetrics.SAVE)) {
+                        extractor.save(tmpFile, discardOutline);
                     }
-                    extractor.save(tmpFile, discardOutline);
                     extractor.reset();
                     LOG.debug("Ending split at page {} of the original document, generated document size is {}", page,
                             HumanReadableSize.toString(tmpFile.length()));
@@ -20,6 +20,7 @@ package org.sejda.impl.sambox;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
 import static org.junit.Assert.*;
 import static org.sejda.core.service.TestUtils.assertPageLabelIndexesAre;
 import static org.sejda.core.service.TestUtils.assertPageLabelRangeIs;
@@ -42,6 +43,7 @@ import org.sejda.impl.sambox.component.PdfTextExtractorByArea;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.ImageMergeInput;
 import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.outline.CatalogPageLabelsPolicy;
 import org.sejda.model.outline.OutlinePolicy;
 import org.sejda.model.output.ExistingOutputPolicy;
@@ -50,6 +52,7 @@ import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.form.AcroFormPolicy;
 import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskMetrics;
 import org.sejda.model.toc.ToCPolicy;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
@@ -101,6 +104,57 @@ public class MergeSamboxTaskTest extends BaseTaskTest<MergeParameters> {
         return input;
     }
 
+    @Test
+    public void deduplicateResources() throws IOException {
+        List<PdfMergeInput> input = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            input.add(new PdfMergeInput(customInput("pdf/shared_resource_dic_w_images.pdf")));
+        }
+        MergeParameters parameters = setUpParameters(input);
+        testContext.pdfOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        long[] sizes = new long[2];
+        testContext.forRawOutput(p -> sizes[0] = p.toFile().length());
+
+        input = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            input.add(new PdfMergeInput(customInput("pdf/shared_resource_dic_w_images.pdf")));
+        }
+        parameters = setUpParameters(input);
+        parameters.setDeduplicateResources(true);
+        testContext.pdfOutputTo(parameters);
+        execute(parameters);
+        PDDocument result = testContext.assertTaskCompleted();
+        testContext.forRawOutput(p -> sizes[1] = p.toFile().length());
+        assertEquals(6, result.getNumberOfPages());
+        assertTrue(sizes[1] * 2 < sizes[0]);
+    }
+
+    @Test
+    public void metrics() throws IOException {
+        List<PdfMergeInput> input = new ArrayList<>();
+        input.add(new PdfMergeInput(regularInput()));
+        input.add(new PdfMergeInput(customInputAsFileSource("pdf/test-pdf.pdf")));
+        MergeParameters parameters = setUpParameters(input);
+        testContext.pdfOutputTo(parameters);
+        TaskMetrics[] metrics = new TaskMetrics[1];
+        ThreadLocalNotificationContext.getContext().addListener(TaskExecutionCompletedEvent.class,
+                e -> metrics[0] = e.getMetrics());
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        assertEquals(2, metrics[0].counter(TaskMetrics.SOURCES));
+        assertEquals(22, metrics[0].counter(TaskMetrics.PAGES));
+        assertEquals(1, metrics[0].counter(TaskMetrics.OUTPUTS));
+        assertTrue(metrics[0].counter(TaskMetrics.BYTES_READ) > 0);
+        testContext.forRawOutput(p -> {
+            assertEquals(p.toFile().length(), metrics[0].counter(TaskMetrics.BYTES_WRITTEN));
+            assertEquals(p.toFile().length(), metrics[0].counter(TaskMetrics.PEAK_TEMP_SPACE));
+        });
+        assertThat(metrics[0].phases().keySet(), hasItems(TaskMetrics.PARSING, TaskMetrics.PAGES_IMPORT,
+                TaskMetrics.OUTLINE, TaskMetrics.ANNOTATIONS, TaskMetrics.FORMS, TaskMetrics.SAVE));
+    }
+
     @Test
     public void executeMergeAllWithOutlineRetainingOutline() throws IOException {
         doExecuteMergeAll(true, 311, setUpParameters(getInputWithOutline()));
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox;
+
+import org.sejda.core.service.OptimizeImagesTaskTest;
+import org.sejda.model.parameter.OptimizeImagesParameters;
+import org.sejda.model.task.Task;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class OptimizeImagesSamboxTaskTest extends OptimizeImagesTaskTest {
+
+    @Override
+    public Task<OptimizeImagesParameters> getTask() {
+        return new OptimizeImagesTask();
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BilevelConverterTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThreshold() {
+        new BilevelConverter(256, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void grayIsExpected() {
+        BilevelConverter.DEFAULT.convert(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+    }
+
+    @Test
+    public void threshold() {
+        BufferedImage gray = new BufferedImage(11, 3, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = gray.getRaster();
+        for (int x = 0; x < 11; x++) {
+            raster.setSample(x, 1, 0, x * 25);
+        }
+        BufferedImage result = new BilevelConverter(100, false).convert(gray);
+        assertEquals(BufferedImage.TYPE_BYTE_BINARY, result.getType());
+        assertEquals(11, result.getWidth());
+        assertEquals(3, result.getHeight());
+        for (int x = 0; x < 11; x++) {
+            assertEquals(x * 25 >= 100 ? 1 : 0, result.getRaster().getSample(x, 1, 0));
+            assertEquals(0, result.getRaster().getSample(x, 0, 0));
+        }
+    }
+
+    @Test
+    public void dithering() {
+        BufferedImage gray = new BufferedImage(100, 100, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = gray.getRaster();
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 100; x++) {
+                raster.setSample(x, y, 0, 64);
+            }
+        }
+        assertEquals(0, whitePixels(BilevelConverter.DEFAULT.convert(gray)));
+        int white = whitePixels(new BilevelConverter(128, true).convert(gray));
+        // a quarter of the pixels, give or take
+        assertTrue(white > 2300 && white < 2700);
+    }
+
+    private static int whitePixels(BufferedImage image) {
+        int white = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                white += image.getRaster().getSample(x, y, 0);
+            }
+        }
+        return white;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.sejda.io.SeekableSource;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ByteBufferSeekableSourceTest {
+
+    private static ByteBuffer buffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.put(new byte[] { 'x', 'a', 'b', 'c', 'd', 'e', 'f', 'y' });
+        // the source is the content between position and limit
+        buffer.position(1);
+        buffer.limit(7);
+        return buffer;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullBuffer() {
+        new ByteBufferSeekableSource(null);
+    }
+
+    @Test
+    public void read() throws IOException {
+        ByteBuffer buffer = buffer();
+        SeekableSource victim = new ByteBufferSeekableSource(buffer);
+        assertEquals(6, victim.size());
+        assertEquals('a', victim.read());
+        ByteBuffer dst = ByteBuffer.allocate(3);
+        assertEquals(3, victim.read(dst));
+        assertEquals("bcd", new String(dst.array()));
+        assertEquals(4, victim.position());
+        dst.clear();
+        assertEquals(2, victim.read(dst));
+        assertEquals(-1, victim.read(dst));
+        assertEquals(-1, victim.read());
+        assertEquals(1, buffer.position());
+        assertEquals(7, buffer.limit());
+    }
+
+    @Test
+    public void position() throws IOException {
+        SeekableSource victim = new ByteBufferSeekableSource(buffer());
+        victim.position(3);
+        assertEquals('d', victim.read());
+        victim.position(100);
+        assertEquals(6, victim.position());
+        assertEquals(-1, victim.read());
+    }
+
+    @Test
+    public void view() throws IOException {
+        SeekableSource victim = new ByteBufferSeekableSource(buffer());
+        SeekableSource view = victim.view(2, 10);
+        assertEquals(4, view.size());
+        assertEquals('c', view.read());
+        assertEquals(victim.id(), view.id());
+    }
+
+    @Test
+    public void uniqueIds() {
+        ByteBuffer buffer = buffer();
+        assertNotEquals(new ByteBufferSeekableSource(buffer).id(), new ByteBufferSeekableSource(buffer).id());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readClosed() throws IOException {
+        SeekableSource victim = new ByteBufferSeekableSource(buffer());
+        victim.close();
+        assertFalse(victim.isOpen());
+        victim.read();
+    }
+}
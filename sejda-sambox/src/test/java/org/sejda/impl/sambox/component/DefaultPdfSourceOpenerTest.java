@@ -26,10 +26,13 @@ import org.junit.Test;
 import org.sejda.core.support.io.IOUtils;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskWrongPasswordException;
+import org.sejda.model.input.PdfByteArraySource;
+import org.sejda.model.input.PdfByteBufferSource;
 import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfStreamSource;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 
 /**
  * @author Andrea Vacondio
@@ -84,4 +87,64 @@ public class DefaultPdfSourceOpenerTest {
                 getClass().getClassLoader().getResourceAsStream("pdf/not_a_pdf.pdf"), "my source"));
 
     }
+
+    @Test
+    public void openByteArray() throws TaskIOException, IOException {
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener()
+                .open(PdfByteArraySource.newInstanceNoPassword(bytes("pdf/test_file.pdf"), "my source"))) {
+            assertEquals(4, handler.getNumberOfPages());
+        }
+    }
+
+    @Test
+    public void openByteBuffer() throws TaskIOException, IOException {
+        byte[] bytes = bytes("pdf/encrypted_AES128_user_pwd.pdf");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener()
+                .open(PdfByteBufferSource.newInstanceWithPassword(buffer, "my source", "test"))) {
+            assertNotNull(handler.getUnderlyingPDDocument());
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void openByteArrayWrongPassword() throws TaskIOException, IOException {
+        try {
+            new DefaultPdfSourceOpener().open(
+                    PdfByteArraySource.newInstanceNoPassword(bytes("pdf/encrypted_AES128_user_pwd.pdf"), "my source"));
+            fail("Exception expected");
+        } catch (TaskWrongPasswordException e) {
+            assertEquals("Unable to open 'my source' due to a wrong password.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void streamLargerThanThreshold() throws TaskIOException, IOException {
+        System.setProperty(DefaultPdfSourceOpener.IN_MEMORY_THRESHOLD_PROPERTY, "100");
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener().open(PdfStreamSource.newInstanceNoPassword(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"), "my source"))) {
+            assertEquals(4, handler.getNumberOfPages());
+        } finally {
+            System.clearProperty(DefaultPdfSourceOpener.IN_MEMORY_THRESHOLD_PROPERTY);
+        }
+    }
+
+    @Test
+    public void streamInDirectBuffer() throws TaskIOException, IOException {
+        System.setProperty(DefaultPdfSourceOpener.IN_MEMORY_DIRECT_PROPERTY, "true");
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener().open(PdfStreamSource.newInstanceNoPassword(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"), "my source"))) {
+            assertEquals(4, handler.getNumberOfPages());
+        } finally {
+            System.clearProperty(DefaultPdfSourceOpener.IN_MEMORY_DIRECT_PROPERTY);
+        }
+    }
+
+    private byte[] bytes(String resource) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            return org.apache.commons.io.IOUtils.toByteArray(in);
+        }
+    }
 }
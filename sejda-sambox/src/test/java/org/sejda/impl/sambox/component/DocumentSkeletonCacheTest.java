@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class DocumentSkeletonCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File copyOf(String resource) throws IOException {
+        File file = folder.newFile();
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    private static PDDocument parse(File file) throws IOException {
+        return PDFParser.parse(SeekableSources.seekableSourceFrom(file));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaxBytes() {
+        new DocumentSkeletonCache(1, 0);
+    }
+
+    @Test
+    public void skeleton() throws IOException {
+        File file = copyOf("pdf/test_outline.pdf");
+        try (PDDocument document = parse(file)) {
+            DocumentSkeleton skeleton = DocumentSkeleton.of(document);
+            assertEquals(document.getNumberOfPages(), skeleton.pages());
+            assertEquals(OutlineUtils.getFlatOutline(document).size(), skeleton.outline().size());
+            assertTrue(skeleton.estimatedSize() > 0);
+        }
+    }
+
+    @Test
+    public void cached() throws IOException {
+        DocumentSkeletonCache victim = new DocumentSkeletonCache(10, 1024 * 1024);
+        File file = copyOf("pdf/test_outline.pdf");
+        DocumentSkeleton skeleton;
+        try (PDDocument document = parse(file)) {
+            skeleton = victim.skeleton(file, file.length(), file.lastModified(), document);
+        }
+        try (PDDocument document = parse(file)) {
+            assertSame(skeleton, victim.skeleton(file, file.length(), file.lastModified(), document));
+        }
+        assertEquals(1, victim.size());
+        assertEquals(skeleton.estimatedSize(), victim.bytes());
+    }
+
+    @Test
+    public void changedFile() throws IOException {
+        DocumentSkeletonCache victim = new DocumentSkeletonCache(10, 1024 * 1024);
+        File file = copyOf("pdf/test_outline.pdf");
+        try (PDDocument document = parse(file)) {
+            victim.skeleton(file, file.length(), file.lastModified(), document);
+        }
+        assertTrue(file.setLastModified(file.lastModified() - 10_000));
+        assertFalse(victim.get(file).isPresent());
+        assertEquals(0, victim.size());
+        assertEquals(0, victim.bytes());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        DocumentSkeletonCache victim = new DocumentSkeletonCache(2, 1024 * 1024);
+        File first = copyOf("pdf/test_outline.pdf");
+        File second = copyOf("pdf/test_no_outline.pdf");
+        File third = copyOf("pdf/test_file.pdf");
+        for (File file : new File[] { first, second }) {
+            try (PDDocument document = parse(file)) {
+                victim.skeleton(file, file.length(), file.lastModified(), document);
+            }
+        }
+        assertTrue(victim.get(first).isPresent());
+        try (PDDocument document = parse(third)) {
+            victim.skeleton(third, third.length(), third.lastModified(), document);
+        }
+        assertEquals(2, victim.size());
+        assertTrue(victim.get(first).isPresent());
+        assertFalse(victim.get(second).isPresent());
+        assertTrue(victim.get(third).isPresent());
+    }
+
+    @Test
+    public void memoryLimit() throws IOException {
+        File file = copyOf("pdf/test_outline.pdf");
+        File other = copyOf("pdf/test_no_outline.pdf");
+        try (PDDocument document = parse(file); PDDocument otherDocument = parse(other)) {
+            DocumentSkeleton skeleton = DocumentSkeleton.of(document);
+            DocumentSkeleton otherSkeleton = DocumentSkeleton.of(otherDocument);
+            DocumentSkeletonCache victim = new DocumentSkeletonCache(10, skeleton.estimatedSize());
+            victim.put(other, other.length(), other.lastModified(), otherSkeleton);
+            victim.put(file, file.length(), file.lastModified(), skeleton);
+            assertEquals(1, victim.size());
+            assertTrue(victim.get(file).isPresent());
+            victim.put(other, other.length(), other.lastModified(), otherSkeleton);
+            assertFalse(victim.get(file).isPresent());
+
+            DocumentSkeletonCache tiny = new DocumentSkeletonCache(10, 1);
+            tiny.put(file, file.length(), file.lastModified(), skeleton);
+            assertEquals(0, tiny.size());
+        }
+    }
+
+    @Test
+    public void opener() throws Exception {
+        DocumentSkeletonCache cache = new DocumentSkeletonCache(10, 1024 * 1024);
+        PdfFileSource source = PdfFileSource.newInstanceNoPassword(copyOf("pdf/test_outline.pdf"));
+        DocumentSkeleton skeleton;
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(cache).open(source)) {
+            skeleton = handler.getDocumentSkeleton();
+        }
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(cache).open(source)) {
+            assertSame(skeleton, handler.getDocumentSkeleton());
+        }
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(null).open(source)) {
+            assertEquals(skeleton.outline().size(), handler.getDocumentSkeleton().outline().size());
+        }
+    }
+
+    @Test
+    public void openerCachesTheParsedFile() throws Exception {
+        DocumentSkeletonCache cache = new DocumentSkeletonCache(10, 1024 * 1024);
+        File file = copyOf("pdf/test_outline.pdf");
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(cache)
+                .open(PdfFileSource.newInstanceNoPassword(file))) {
+            // changed after the document was parsed but before its skeleton is computed
+            assertTrue(file.setLastModified(file.lastModified() - 10_000));
+            handler.getDocumentSkeleton();
+        }
+        assertFalse(cache.get(file).isPresent());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSource;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class FileHandlesPoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMax() {
+        new FileHandlesPool(0);
+    }
+
+    @Test
+    public void reopensReleasedFiles() throws IOException {
+        FileHandlesPool victim = new FileHandlesPool(1);
+        try (SeekableSource first = victim.source(file("first", "ABCDEF"));
+                SeekableSource second = victim.source(file("second", "123456"))) {
+            assertEquals(0, victim.openFiles());
+            assertEquals('A', first.read());
+            assertEquals('1', second.read());
+            assertEquals(1, victim.openFiles());
+            assertEquals('B', first.read());
+            assertEquals(1, victim.openFiles());
+            assertEquals('5', second.position(4).read());
+            assertEquals("CDEF", text(first.position(2), 10));
+        }
+        assertEquals(0, victim.openFiles());
+    }
+
+    @Test
+    public void views() throws IOException {
+        FileHandlesPool victim = new FileHandlesPool(1);
+        try (SeekableSource first = victim.source(file("first", "ABCDEF"));
+                SeekableSource second = victim.source(file("second", "123456"))) {
+            SeekableSource view = first.view(1, 3);
+            assertEquals('2', second.position(1).read());
+            assertEquals(3, view.size());
+            assertEquals("BCD", text(view, 10));
+            assertEquals(-1, view.read());
+            assertEquals("CD", text(view.view(1, 5), 10));
+            assertEquals(1, victim.openFiles());
+        }
+    }
+
+    @Test
+    public void readPastEnd() throws IOException {
+        FileHandlesPool victim = new FileHandlesPool(2);
+        try (SeekableSource source = victim.source(file("first", "AB"))) {
+            assertEquals(-1, source.position(5).read());
+        }
+    }
+
+    private File file(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static String text(SeekableSource source, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (source.read(buffer) > 0) {
+            // keep reading
+        }
+        buffer.flip();
+        return StandardCharsets.US_ASCII.decode(buffer).toString();
+    }
+}
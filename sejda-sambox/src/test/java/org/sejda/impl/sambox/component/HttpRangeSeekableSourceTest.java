@@ -0,0 +1,318 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSource;
+import org.sejda.model.input.PdfURLSource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class HttpRangeSeekableSourceTest {
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private byte[] content;
+    private boolean ranges = true;
+    private String etag;
+    private String ifRange;
+    private long delay;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * A stand-in for an HTTP server optionally supporting single range requests, conditional to the ETag if any
+     */
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            if (ranges) {
+                exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+            }
+            if (etag != null) {
+                exchange.getResponseHeaders().add("ETag", etag);
+            }
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().add("Content-Length", Integer.toString(content.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            requests.incrementAndGet();
+            Thread.sleep(delay);
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+            Matcher matcher = RANGE.matcher(range == null ? "" : range);
+            if (ranges && matcher.matches() && (ifRange == null || ifRange.equals(etag))) {
+                int start = Integer.parseInt(matcher.group(1));
+                int end = Math.min(Integer.parseInt(matcher.group(2)), content.length - 1);
+                exchange.getResponseHeaders().add("Content-Range",
+                        String.format("bytes %d-%d/%d", start, end, content.length));
+                write(exchange, 206, start, end - start + 1);
+            } else {
+                write(exchange, 200, 0, content.length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void write(HttpExchange exchange, int status, int offset, int length) throws IOException {
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content, offset, length);
+        }
+        sent.addAndGet(length);
+    }
+
+    private URL url() throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + "/document.pdf");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBlockSize() throws IOException {
+        new HttpRangeSeekableSource(url(), 10, 0, 1);
+    }
+
+    @Test
+    public void probe() throws IOException {
+        HttpRangeSeekableSource victim = HttpRangeSeekableSource.probe(url());
+        assertNotNull(victim);
+        assertEquals(content.length, victim.size());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void probeRangesNotSupported() throws IOException {
+        ranges = false;
+        assertNull(HttpRangeSeekableSource.probe(url()));
+    }
+
+    @Test
+    public void probeNotHttp() throws IOException {
+        File file = folder.newFile();
+        assertNull(HttpRangeSeekableSource.probe(file.toURI().toURL()));
+    }
+
+    @Test
+    public void read() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 4)) {
+            victim.position(950);
+            assertEquals(950 % 256, victim.read());
+            assertEquals(1, victim.requests());
+            assertEquals(100, victim.downloaded());
+            victim.position(10);
+            ByteBuffer dst = ByteBuffer.allocate(20);
+            assertEquals(20, victim.read(dst));
+            assertEquals(10, dst.get(0));
+            assertEquals(30, victim.position());
+            assertEquals(2, victim.requests());
+            victim.position(995);
+            dst.clear();
+            assertEquals(5, victim.read(dst));
+            assertEquals(-1, victim.read(dst));
+            assertEquals(-1, victim.read());
+            assertEquals(2, victim.requests());
+            assertEquals(200, sent.get());
+        }
+    }
+
+    @Test
+    public void contiguousBlocksInOneRequest() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 20)) {
+            victim.position(250);
+            victim.read();
+            ByteBuffer dst = ByteBuffer.allocate(content.length);
+            victim.position(0);
+            assertEquals(content.length, victim.read(dst));
+            assertArrayEquals(content, dst.array());
+            // before and after the cached block
+            assertEquals(3, victim.requests());
+            assertEquals(content.length, victim.downloaded());
+        }
+    }
+
+    @Test
+    public void evictedBlocksAreDownloadedAgain() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 2)) {
+            victim.position(0).read();
+            victim.position(100).read();
+            victim.position(200).read();
+            assertEquals(3, victim.requests());
+            victim.position(200).read();
+            assertEquals(3, victim.requests());
+            victim.position(0).read();
+            assertEquals(4, victim.requests());
+        }
+    }
+
+    @Test
+    public void readLargerThanTheCache() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 2)) {
+            ByteBuffer dst = ByteBuffer.allocate(content.length);
+            assertEquals(content.length, victim.read(dst));
+            assertArrayEquals(content, dst.array());
+            assertEquals(1, victim.requests());
+            assertEquals(content.length, victim.downloaded());
+        }
+    }
+
+    @Test
+    public void ifRange() throws IOException {
+        etag = "\"v1\"";
+        try (HttpRangeSeekableSource victim = HttpRangeSeekableSource.probe(url())) {
+            assertEquals(0, victim.read());
+            assertEquals("\"v1\"", ifRange);
+        }
+    }
+
+    @Test
+    public void weakETagIsNotSentAsIfRange() throws IOException {
+        etag = "W/\"v1\"";
+        try (HttpRangeSeekableSource victim = HttpRangeSeekableSource.probe(url())) {
+            assertEquals(0, victim.read());
+            assertNull(ifRange);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void changedResource() throws IOException {
+        etag = "\"v1\"";
+        try (HttpRangeSeekableSource victim = HttpRangeSeekableSource.probe(url())) {
+            etag = "\"v2\"";
+            victim.read();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void changedSize() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 4)) {
+            content = new byte[2000];
+            victim.read();
+        }
+    }
+
+    @Test(expected = SocketTimeoutException.class)
+    public void readTimeout() throws IOException {
+        System.setProperty(DefaultPdfSourceOpener.HTTP_RANGES_READ_TIMEOUT_PROPERTY, "100");
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 4)) {
+            delay = 1000;
+            victim.read();
+        } finally {
+            System.clearProperty(DefaultPdfSourceOpener.HTTP_RANGES_READ_TIMEOUT_PROPERTY);
+        }
+    }
+
+    @Test
+    public void view() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 4)) {
+            SeekableSource view = victim.view(190, 20);
+            assertEquals(20, view.size());
+            assertEquals(victim.id(), view.id());
+            assertEquals(190, view.read());
+            ByteBuffer dst = ByteBuffer.allocate(100);
+            assertEquals(19, view.read(dst));
+            assertEquals(209 % 256, dst.get(18) & 0xFF);
+            assertEquals(-1, view.read());
+            assertEquals(0, victim.position());
+            assertEquals(2, victim.requests());
+            SeekableSource nested = view.view(5, 100);
+            assertEquals(15, nested.size());
+            assertEquals(195, nested.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rangeIgnoredByTheServer() throws IOException {
+        try (HttpRangeSeekableSource victim = new HttpRangeSeekableSource(url(), content.length, 100, 4)) {
+            ranges = false;
+            victim.read();
+        }
+    }
+
+    @Test
+    public void openDownloadsOnlyTheNeededParts() throws Exception {
+        content = Files.readAllBytes(new SyntheticDocumentGenerator(SyntheticDocumentGenerator.SMALL, 1)
+                .generate(folder.newFile("synthetic.pdf")).toPath());
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener()
+                .open(PdfURLSource.newInstanceNoPassword(url(), "document.pdf"))) {
+            assertEquals(200, handler.getNumberOfPages());
+            assertNotNull(handler.getPage(1).getContents());
+        }
+        assertTrue(sent.get() < content.length);
+    }
+
+    @Test
+    public void openRangesNotSupported() throws Exception {
+        ranges = false;
+        content = Files.readAllBytes(new File(getClass().getClassLoader().getResource("pdf/test_file.pdf").toURI())
+                .toPath());
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener()
+                .open(PdfURLSource.newInstanceNoPassword(url(), "document.pdf"))) {
+            assertEquals(4, handler.getNumberOfPages());
+        }
+        assertEquals(content.length, sent.get());
+    }
+}
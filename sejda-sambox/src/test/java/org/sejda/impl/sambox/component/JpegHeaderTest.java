@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class JpegHeaderTest {
+
+    @Test
+    public void read() throws IOException {
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("image/no_exif.JPG")) {
+            JpegHeader victim = JpegHeader.read(stream);
+            assertEquals(3264, victim.getWidth());
+            assertEquals(2448, victim.getHeight());
+            assertEquals(3, victim.getComponents());
+            assertEquals(8, victim.getPrecision());
+            assertEquals(PDDeviceRGB.INSTANCE, victim.getColorSpace());
+            assertTrue(victim.isPassthroughSupported());
+        }
+    }
+
+    @Test
+    public void notAJpeg() throws IOException {
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("image/draft.tiff")) {
+            assertNull(JpegHeader.read(stream));
+        }
+    }
+
+    @Test
+    public void truncated() throws IOException {
+        assertNull(JpegHeader.read(new ByteArrayInputStream(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF,
+                (byte) 0xE0, 0x00, 0x10, 0x4A })));
+    }
+
+    @Test
+    public void passthroughNotSupported() {
+        // arithmetic coding
+        assertFalse(new JpegHeader(0xC9, 8, 10, 10, 3).isPassthroughSupported());
+        // 12 bits
+        assertFalse(new JpegHeader(0xC1, 12, 10, 10, 3).isPassthroughSupported());
+        // CMYK
+        assertFalse(new JpegHeader(0xC0, 8, 10, 10, 4).isPassthroughSupported());
+        // height defined by a DNL marker
+        assertFalse(new JpegHeader(0xC0, 8, 10, 0, 3).isPassthroughSupported());
+        assertTrue(new JpegHeader(0xC2, 8, 10, 10, 1).isPassthroughSupported());
+    }
+}
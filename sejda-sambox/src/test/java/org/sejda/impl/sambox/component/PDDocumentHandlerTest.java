@@ -20,9 +20,17 @@ package org.sejda.impl.sambox.component;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.CancellationException;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.core.support.util.Cancellation;
 import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
@@ -34,6 +42,7 @@ import org.sejda.sambox.pdmodel.font.PDFont;
 import org.sejda.sambox.pdmodel.interactive.pagenavigation.PDThreadBead;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author Andrea Vacondio
@@ -41,6 +50,9 @@ import static org.junit.Assert.*;
  */
 public class PDDocumentHandlerTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void discardBeads() throws IOException {
         try (PDDocument document = testDoc("pdf/one_page.pdf")) {
@@ -115,6 +127,26 @@ public class PDDocumentHandlerTest {
         assertNotNull(font);
     }
 
+    @Test(expected = CancellationException.class)
+    public void saveWhenCancelled() throws IOException, TaskException {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        context.cancelTask();
+        try (PDDocumentHandler handler = new PDDocumentHandler(testDoc("pdf/alphabet.pdf"));
+                Cancellation.Scope scope = Cancellation.bind(context)) {
+            handler.savePDDocument(folder.newFile());
+        }
+    }
+
+    @Test(expected = CancellationException.class)
+    public void renderWhenCancelled() throws IOException, TaskException {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        context.cancelTask();
+        try (PDDocumentHandler handler = new PDDocumentHandler(testDoc("pdf/alphabet.pdf"));
+                Cancellation.Scope scope = Cancellation.bind(context)) {
+            handler.renderImage(1, 72, ImageColorType.COLOR_RGB);
+        }
+    }
+
     private PDDocument testDoc(String resourceName) throws IOException {
         return PDFParser.parse(SeekableSources
                 .inMemorySeekableSourceFrom(getClass().getClassLoader().getResourceAsStream(resourceName)));
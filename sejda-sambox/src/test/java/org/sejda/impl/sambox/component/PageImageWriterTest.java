@@ -22,10 +22,13 @@ import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.io.IOException;
+
 import org.apache.commons.io.FilenameUtils;
 import org.junit.Test;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.StreamSource;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
 
 public class PageImageWriterTest {
@@ -36,6 +39,15 @@ public class PageImageWriterTest {
         assertThat(result.getHeight(), is(103));
     }
 
+    @Test
+    public void jpegIsEmbeddedAsItIs() throws TaskIOException, IOException {
+        PDImageXObject result = PageImageWriter.toPDXImageObject(customNonPdfInput("image/no_exif.JPG"));
+        assertThat(result.getWidth(), is(3264));
+        assertThat(result.getHeight(), is(2448));
+        assertThat(result.getCOSObject().getFilteredLength(), is(971218L));
+        assertThat(result.getCOSObject().getItem(COSName.FILTER), is(COSName.DCT_DECODE));
+    }
+
     public StreamSource customNonPdfInput(String path) {
         String extension = FilenameUtils.getExtension(path);
         return StreamSource.newInstance(getClass().getClassLoader().getResourceAsStream(path),
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.font.PDFont;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineNode;
+import org.sejda.sambox.pdmodel.interactive.form.PDAcroForm;
+import org.sejda.sambox.pdmodel.interactive.form.PDField;
+import org.sejda.sambox.pdmodel.interactive.form.PDTextField;
+
+/**
+ * Generates synthetic documents to be used as input of load and scalability tests. Documents have a configurable
+ * number of pages with some text, an outline tree with a configurable depth and fanout, a configurable number of text
+ * fields and a form xobject and a font that are shared by all the pages through a single resource dictionary. The
+ * generated content only depends on the {@link Profile} and on the seed, so the same document can be reproduced.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class SyntheticDocumentGenerator {
+
+    /**
+     * Hundreds of pages, a couple of outline levels and some fields
+     */
+    public static final Profile SMALL = new Profile(200, 2, 5, 50);
+    /**
+     * Ten thousand pages, a deep outline and thousands of fields
+     */
+    public static final Profile LARGE = new Profile(10_000, 4, 8, 2_000);
+    /**
+     * Hundred thousand pages, a deep outline and tens of thousands of fields
+     */
+    public static final Profile HUGE = new Profile(100_000, 5, 8, 20_000);
+
+    private static final String[] WORDS = { "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua" };
+    private static final PDFont FONT = PDType1Font.HELVETICA;
+    private static final int FIELDS_PER_COLUMN = 30;
+
+    private final Profile profile;
+    private final long seed;
+
+    public SyntheticDocumentGenerator(Profile profile, long seed) {
+        requireNotNullArg(profile, "Profile cannot be null");
+        this.profile = profile;
+        this.seed = seed;
+    }
+
+    /**
+     * @return a handler of a newly generated document that the caller is responsible to close
+     * @throws TaskException
+     */
+    public PDDocumentHandler generate() throws TaskException {
+        Random random = new Random(seed);
+        PDDocumentHandler handler = new PDDocumentHandler();
+        try {
+            PDDocument document = handler.getUnderlyingPDDocument();
+            PDResources resources = new PDResources();
+            PDFormXObject stamp = stamp(document);
+            resources.add(stamp);
+            COSName fontName = resources.add(FONT);
+            PDAcroForm form = new PDAcroForm(document);
+            PDResources formResources = new PDResources();
+            formResources.put(fontName, FONT);
+            form.setDefaultResources(formResources);
+            form.setDefaultAppearance("/" + fontName.getName() + " 10 Tf 0 g");
+            List<PDField> fields = new ArrayList<>(profile.fields);
+
+            PageTextWriter writer = new PageTextWriter(document);
+            for (int i = 0; i < profile.pages; i++) {
+                PDPage page = handler.addPage(new PDPage(PDRectangle.A4));
+                page.setResources(resources);
+                try (PDPageContentStream contents = new PDPageContentStream(document, page)) {
+                    contents.drawForm(stamp);
+                }
+                writer.write(page, new Point2D.Double(50, 780), "Page " + (i + 1) + " " + sentence(random, 8), FONT,
+                        12d, Color.BLACK);
+                addFields(form, page, fields, fieldsOf(i), random);
+            }
+            form.setFields(fields);
+            handler.setDocumentAcroForm(form);
+
+            PDDocumentOutline outline = new PDDocumentOutline();
+            addOutlineItems(outline, 1, new int[] { 0 }, outlineItems(), handler, random);
+            handler.setDocumentOutline(outline);
+            return handler;
+        } catch (IOException | RuntimeException e) {
+            nullSafeCloseQuietly(handler);
+            throw new TaskIOException("Unable to generate the synthetic document", e);
+        }
+    }
+
+    /**
+     * Generates the document and saves it to the given file
+     *
+     * @param destination
+     * @return the destination
+     * @throws TaskException
+     * @throws IOException
+     */
+    public File generate(File destination) throws TaskException, IOException {
+        try (PDDocumentHandler handler = generate()) {
+            handler.savePDDocument(destination);
+        }
+        return destination;
+    }
+
+    private PDFormXObject stamp(PDDocument document) throws IOException {
+        PDFormXObject stamp = new PDFormXObject();
+        stamp.setBBox(new PDRectangle(0, 0, PDRectangle.A4.getWidth(), 40));
+        stamp.setResources(new PDResources());
+        try (PDPageContentStream contents = new PDPageContentStream(document, stamp)) {
+            contents.setNonStrokingColor(Color.LIGHT_GRAY);
+            contents.addRect(20, 10, PDRectangle.A4.getWidth() - 40, 20);
+            contents.fill();
+        }
+        return stamp;
+    }
+
+    /**
+     * @return the number of fields on the page at the given zero based index, fields are evenly distributed among pages
+     */
+    private int fieldsOf(int pageIndex) {
+        return (int) (((long) pageIndex + 1) * profile.fields / profile.pages
+                - ((long) pageIndex) * profile.fields / profile.pages);
+    }
+
+    private static void addFields(PDAcroForm form, PDPage page, List<PDField> fields, int count, Random random)
+            throws IOException {
+        if (count > 0) {
+            List<PDAnnotation> annotations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                PDTextField field = new PDTextField(form);
+                field.setPartialName("field" + (fields.size() + 1));
+                PDAnnotationWidget widget = field.getWidgets().get(0);
+                widget.setRectangle(new PDRectangle(50 + 130 * ((i / FIELDS_PER_COLUMN) % 4),
+                        740 - 22 * (i % FIELDS_PER_COLUMN), 120, 18));
+                widget.setPage(page);
+                widget.setPrinted(true);
+                annotations.add(widget);
+                fields.add(field);
+                field.setValue(sentence(random, 2));
+            }
+            page.setAnnotations(annotations);
+        }
+    }
+
+    /**
+     * @return the total number of outline items, fanout to the power of the level, summed over all the levels
+     */
+    private long outlineItems() {
+        long items = 0;
+        long level = 1;
+        for (int i = 0; i < profile.outlineDepth; i++) {
+            level *= profile.outlineFanout;
+            items += level;
+        }
+        return items;
+    }
+
+    /**
+     * Adds a subtree of items to the given node, items are added depth first pointing to increasing pages
+     */
+    private void addOutlineItems(PDOutlineNode parent, int level, int[] counter, long total,
+            PDDocumentHandler handler, Random random) {
+        if (level <= profile.outlineDepth) {
+            for (int i = 0; i < profile.outlineFanout; i++) {
+                PDOutlineItem item = new PDOutlineItem();
+                item.setTitle(sentence(random, 3));
+                item.setDestination(handler.getPage((int) ((long) counter[0] * profile.pages / total) + 1));
+                counter[0]++;
+                parent.addLast(item);
+                addOutlineItems(item, level + 1, counter, total, handler, random);
+            }
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    /**
+     * Size of a synthetic document
+     */
+    public static class Profile {
+        private final int pages;
+        private final int outlineDepth;
+        private final int outlineFanout;
+        private final int fields;
+
+        /**
+         * @param pages
+         *            number of pages
+         * @param outlineDepth
+         *            number of levels of the outline tree, 0 for no outline
+         * @param outlineFanout
+         *            number of children of every outline node
+         * @param fields
+         *            number of text fields
+         */
+        public Profile(int pages, int outlineDepth, int outlineFanout, int fields) {
+            requireArg(pages > 0, "Pages must be a positive number");
+            requireArg(outlineDepth >= 0 && outlineFanout > 0, "Invalid outline size");
+            requireArg(fields >= 0, "Fields cannot be negative");
+            this.pages = pages;
+            this.outlineDepth = outlineDepth;
+            this.outlineFanout = outlineFanout;
+            this.fields = fields;
+        }
+
+        /**
+         * @param pages
+         * @return a profile with the same outline and a proportional number of fields but the given number of pages
+         */
+        public Profile withPages(int pages) {
+            return new Profile(pages, outlineDepth, outlineFanout, (int) ((long) fields * pages / this.pages));
+        }
+
+        public int pages() {
+            return pages;
+        }
+
+        public int outlineDepth() {
+            return outlineDepth;
+        }
+
+        public int outlineFanout() {
+            return outlineFanout;
+        }
+
+        public int fields() {
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.impl.sambox.component.SyntheticDocumentGenerator.Profile;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskException;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineNode;
+import org.sejda.sambox.pdmodel.interactive.form.PDField;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SyntheticDocumentGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generate() throws IOException, TaskException {
+        Profile profile = new Profile(50, 3, 3, 70);
+        File file = new SyntheticDocumentGenerator(profile, 1).generate(folder.newFile());
+        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(file))) {
+            assertEquals(50, document.getNumberOfPages());
+            assertEquals(3 + 9 + 27, titles(document.getDocumentCatalog().getDocumentOutline()).size());
+            assertEquals(3, depth(document.getDocumentCatalog().getDocumentOutline()));
+            assertEquals(70, document.getDocumentCatalog().getAcroForm().getFields().size());
+            int annotations = 0;
+            for (PDPage page : document.getPages()) {
+                annotations += page.getAnnotations().size();
+                assertSame(document.getPage(0).getResources().getCOSObject(), page.getResources().getCOSObject());
+                assertEquals(1, page.getResources().getCOSObject()
+                        .getDictionaryObject(COSName.XOBJECT, COSDictionary.class).size());
+            }
+            assertEquals(70, annotations);
+        }
+    }
+
+    @Test
+    public void sameSeedSameDocument() throws TaskException, IOException {
+        Profile profile = new Profile(20, 2, 4, 20);
+        try (PDDocumentHandler first = new SyntheticDocumentGenerator(profile, 7).generate();
+                PDDocumentHandler second = new SyntheticDocumentGenerator(profile, 7).generate();
+                PDDocumentHandler other = new SyntheticDocumentGenerator(profile, 8).generate()) {
+            assertEquals(contents(first), contents(second));
+            assertNotEquals(contents(first), contents(other));
+        }
+    }
+
+    @Test
+    public void withPages() {
+        Profile profile = SyntheticDocumentGenerator.LARGE.withPages(40_000);
+        assertEquals(40_000, profile.pages());
+        assertEquals(8_000, profile.fields());
+        assertEquals(SyntheticDocumentGenerator.LARGE.outlineDepth(), profile.outlineDepth());
+    }
+
+    private static List<String> contents(PDDocumentHandler handler) {
+        PDDocument document = handler.getUnderlyingPDDocument();
+        List<String> contents = titles(document.getDocumentCatalog().getDocumentOutline());
+        for (PDField field : document.getDocumentCatalog().getAcroForm().getFields()) {
+            contents.add(field.getFullyQualifiedName() + "=" + field.getValueAsString());
+        }
+        return contents;
+    }
+
+    private static List<String> titles(PDOutlineNode node) {
+        List<String> titles = new ArrayList<>();
+        for (PDOutlineItem item : node.children()) {
+            titles.add(item.getTitle());
+            titles.addAll(titles(item));
+        }
+        return titles;
+    }
+
+    private static int depth(PDOutlineNode node) {
+        int depth = 0;
+        for (PDOutlineItem item : node.children()) {
+            depth = Math.max(depth, depth(item) + 1);
+        }
+        return depth;
+    }
+}
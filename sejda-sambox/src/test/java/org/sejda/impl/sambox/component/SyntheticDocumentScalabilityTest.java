@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.impl.sambox.component.SyntheticDocumentGenerator.Profile;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskException;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * Scalability tests on large synthetic documents. They are slow so they only run when the
+ * {@value #ENABLED_PROPERTY} system property is set to true. Allocation during the parsing is measured by
+ * SyntheticDocumentOpenBenchmark, these tests assert on the heap the opened documents retain.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class SyntheticDocumentScalabilityTest {
+
+    public static final String ENABLED_PROPERTY = "sejda.test.scalability";
+    /**
+     * Heap an opened document is allowed to retain per page, whatever the size of the document. Objects are lazily
+     * parsed so what's retained is mostly the cross reference entries, a loaded page with its resources, annotations
+     * and fields retains several times more.
+     */
+    private static final long BYTES_PER_PAGE = 1_024;
+    private static final int MEASUREMENTS = 3;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    @Test
+    public void retainedHeapPerPage() throws IOException, TaskException {
+        for (Profile profile : new Profile[] { SyntheticDocumentGenerator.SMALL, SyntheticDocumentGenerator.LARGE }) {
+            File file = new SyntheticDocumentGenerator(profile, 1).generate(folder.newFile());
+            // the first parsing loads classes and caches that are not retained by the document
+            retainedHeap(file, profile.pages(), false);
+            long retained = retainedHeap(file, profile.pages(), false);
+            assertTrue(String.format("Retained heap %d bytes for %d pages", retained, profile.pages()),
+                    retained < BYTES_PER_PAGE * profile.pages());
+        }
+    }
+
+    @Test
+    public void openedRetainsLessThanLoaded() throws IOException, TaskException {
+        Profile profile = SyntheticDocumentGenerator.LARGE;
+        File file = new SyntheticDocumentGenerator(profile, 1).generate(folder.newFile());
+        retainedHeap(file, profile.pages(), false);
+        long opened = retainedHeap(file, profile.pages(), false);
+        long loaded = retainedHeap(file, profile.pages(), true);
+        assertTrue(String.format("Retained heap %d bytes opened, %d bytes loaded", opened, loaded),
+                opened < loaded / 2);
+    }
+
+    /**
+     * @param load
+     *            if pages, fields and outline should be loaded before measuring
+     * @return the minimum, over a few measurements, of the heap used after a GC while the document is open minus the
+     *         heap used after a GC before opening it
+     */
+    private static long retainedHeap(File file, int pages, boolean load) throws IOException {
+        long retained = Long.MAX_VALUE;
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            long before = usedHeapAfterGC();
+            try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(file))) {
+                if (load) {
+                    for (PDPage page : document.getPages()) {
+                        page.getAnnotations();
+                    }
+                    document.getDocumentCatalog().getAcroForm().getFields();
+                    OutlineUtils.getFlatOutline(document);
+                }
+                long after = usedHeapAfterGC();
+                // keeps the document reachable until after the measurement
+                assertEquals(pages, document.getNumberOfPages());
+                retained = Math.min(retained, after - before);
+            }
+        }
+        return retained;
+    }
+
+    private static long usedHeapAfterGC() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // repeat until a GC doesn't free anything more
+        for (int i = 0; i < 10; i++) {
+            memory.gc();
+            long current = memory.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
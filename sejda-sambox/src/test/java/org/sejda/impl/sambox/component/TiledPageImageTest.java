@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.rendering.ImageType;
+import org.sejda.sambox.rendering.PDFRenderer;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TiledPageImageTest {
+
+    private PDDocument document;
+
+    @Before
+    public void setUp() throws IOException {
+        document = new PDDocument();
+        PDPage page = new PDPage(new PDRectangle(200, 300));
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+            content.setNonStrokingColor(Color.RED);
+            content.addRect(20, 30, 100, 200);
+            content.fill();
+            content.setNonStrokingColor(Color.BLUE);
+            content.addRect(50, 100, 120, 50);
+            content.fill();
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Test
+    public void sameAsRendered() throws IOException {
+        assertSameAsRendered(ImageType.RGB);
+    }
+
+    @Test
+    public void sameAsRenderedRotated() throws IOException {
+        document.getPage(0).setRotation(90);
+        assertSameAsRendered(ImageType.RGB);
+    }
+
+    @Test
+    public void binaryBands() {
+        TiledPageImage victim = new TiledPageImage(document, 0, 72, ImageType.BINARY, 200 * 70,
+                new BilevelConverter(128, true));
+        assertEquals(1, victim.getColorModel().getPixelSize());
+        Raster band = victim.getTile(0, 1);
+        assertEquals(70, band.getMinY());
+        assertEquals(1, band.getSampleModel().getSampleSize(0));
+    }
+
+    @Test
+    public void bands() {
+        TiledPageImage victim = new TiledPageImage(document, 0, 72, ImageType.RGB, 200 * 70);
+        assertEquals(200, victim.getTileWidth());
+        assertEquals(70, victim.getTileHeight());
+        assertEquals(5, victim.getNumYTiles());
+        assertEquals(280, victim.getTile(0, 4).getMinY());
+    }
+
+    private void assertSameAsRendered(ImageType type) throws IOException {
+        BufferedImage expected = new PDFRenderer(document).renderImageWithDPI(0, 72, type);
+        TiledPageImage victim = new TiledPageImage(document, 0, 72, type, expected.getWidth() * 35);
+        assertEquals(expected.getWidth(), victim.getWidth());
+        assertEquals(expected.getHeight(), victim.getHeight());
+        Raster data = victim.getData();
+        for (int y = 0; y < expected.getHeight(); y++) {
+            assertArrayEquals(expected.getRaster().getPixels(0, y, expected.getWidth(), 1, (int[]) null),
+                    data.getPixels(0, y, expected.getWidth(), 1, (int[]) null));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfSourceOpener;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class WorkerDocumentsTest {
+
+    private PdfSource<?> source;
+    private PdfSourceOpener<PDDocumentHandler> opener;
+    private PDDocumentHandler document;
+    private PDDocumentHandler workerDocument;
+    private ExecutorService worker;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws TaskException {
+        source = mock(PdfSource.class);
+        opener = mock(PdfSourceOpener.class);
+        document = mock(PDDocumentHandler.class);
+        workerDocument = mock(PDDocumentHandler.class);
+        when(source.open(opener)).thenReturn(workerDocument);
+        worker = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    public void ownerUsesItsDocument() throws TaskException {
+        try (WorkerDocuments<PDDocumentHandler> victim = new WorkerDocuments<>(source, opener, document,
+                Function.identity())) {
+            assertSame(document, victim.get());
+            verify(source, never()).open(opener);
+        }
+    }
+
+    @Test
+    public void workersOpenTheirDocumentOnce() throws Exception {
+        WorkerDocuments<PDDocumentHandler> victim = new WorkerDocuments<>(source, opener, document,
+                Function.identity());
+        assertSame(workerDocument, worker.submit(victim::get).get());
+        assertNotSame(document, worker.submit(victim::get).get());
+        verify(source, times(1)).open(opener);
+        victim.close();
+        verify(workerDocument).close();
+        verify(document, never()).close();
+    }
+
+    @Test
+    public void workersOpenAgainAfterClose() throws Exception {
+        WorkerDocuments<PDDocumentHandler> victim = new WorkerDocuments<>(source, opener, document,
+                Function.identity());
+        worker.submit(victim::get).get();
+        victim.close();
+        worker.submit(victim::get).get();
+        verify(source, times(2)).open(opener);
+    }
+}
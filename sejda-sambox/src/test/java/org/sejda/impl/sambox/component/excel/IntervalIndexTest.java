@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 by Eduard Weissmann (edi.weissmann@gmail.com).
+ *
+ * This file is part of the Sejda source code
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.excel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class IntervalIndexTest {
+
+    @Test
+    public void disjoint() {
+        IntervalIndex victim = new IntervalIndex(3);
+        victim.add(2, 20, 30);
+        victim.add(0, 0, 10);
+        victim.add(1, 10, 20);
+        victim.build();
+        assertThat(containing(victim, 5), is(new int[] { 0 }));
+        assertThat(containing(victim, 10), is(new int[] { 1 }));
+        assertThat(containing(victim, 29.9), is(new int[] { 2 }));
+        assertThat(containing(victim, 30), is(new int[0]));
+        assertThat(containing(victim, -1), is(new int[0]));
+    }
+
+    @Test
+    public void overlapping() {
+        IntervalIndex victim = new IntervalIndex(4);
+        victim.add(0, 0, 100);
+        victim.add(1, 9, 21);
+        victim.add(2, 19, 31);
+        victim.add(3, 40, 50);
+        victim.build();
+        assertThat(containing(victim, 20), is(new int[] { 0, 1, 2 }));
+        assertThat(containing(victim, 35), is(new int[] { 0 }));
+        assertThat(containing(victim, 45), is(new int[] { 0, 3 }));
+    }
+
+    @Test
+    public void emptyIntervalsAreIgnored() {
+        IntervalIndex victim = new IntervalIndex(2);
+        victim.add(0, 0, 0);
+        victim.add(1, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        victim.build();
+        assertThat(containing(victim, 0), is(new int[0]));
+    }
+
+    private static int[] containing(IntervalIndex index, double value) {
+        int[] results = new int[4];
+        return Arrays.copyOf(results, index.containing(value, results));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimization;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ResourcesDeduplicatorTest {
+
+    @Test
+    public void sameDocumentTwice() throws IOException {
+        try (PDDocument first = load(); PDDocument second = load()) {
+            ResourcesDeduplicator victim = new ResourcesDeduplicator();
+            first.getPages().forEach(victim::deduplicate);
+            int replacedInFirst = victim.replaced();
+            second.getPages().forEach(victim::deduplicate);
+            assertTrue(victim.replaced() > replacedInFirst);
+
+            COSName image = xobjectNames(first.getPage(0)).iterator().next();
+            assertSame(xobject(first.getPage(0), image), xobject(second.getPage(0), image));
+        }
+    }
+
+    @Test
+    public void notDeduplicated() throws IOException {
+        try (PDDocument first = load(); PDDocument second = load()) {
+            COSName image = xobjectNames(first.getPage(0)).iterator().next();
+            assertNotSame(xobject(first.getPage(0), image), xobject(second.getPage(0), image));
+        }
+    }
+
+    private PDDocument load() throws IOException {
+        return PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/shared_resource_dic_w_images.pdf")));
+    }
+
+    private static Set<COSName> xobjectNames(PDPage page) {
+        return page.getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class).keySet();
+    }
+
+    private static COSBase xobject(PDPage page, COSName name) {
+        return page.getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class)
+                .getDictionaryObject(name);
+    }
+}